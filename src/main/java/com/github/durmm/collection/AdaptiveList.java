@@ -0,0 +1,657 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * List that watches its own operation mix and moves its elements to the
+ * storage layout that suits it best.
+ * <p>
+ * Three layouts are available, see {@link Mode}: a flat array (a
+ * {@link MyList}) for append-mostly use, a ring buffer for queues that add or
+ * remove at the front, and tiered blocks for insertions and removals in the
+ * middle. Every operation is classified as a front, back or middle mutation,
+ * or as a sequential or random read, and counted. At the end of each sampling
+ * window the counts elect a preferred layout; when two consecutive windows
+ * elect the same layout and it differs from the current one, the elements
+ * are migrated. A window lasts at least {@value #MIN_WINDOW} operations and
+ * at least an eighth of the list size, so the linear cost of a migration is
+ * spread over the operations that triggered it.
+ * <p>
+ * {@link #mode()} and {@link #migrationCount()} expose the outcome. This list
+ * is not thread safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class AdaptiveList<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * Storage layout of an {@link AdaptiveList}.
+     */
+    public enum Mode {
+        /**
+         * Contiguous array: fastest reads and appends, linear front and middle
+         * mutations.
+         */
+        FLAT,
+        /**
+         * Circular array: constant time mutations at both ends and reads,
+         * middle mutations shift the shorter side.
+         */
+        RING,
+        /**
+         * Array of bounded blocks: middle mutations shift within one block
+         * only, random reads pay a binary search over the blocks.
+         */
+        TIERED
+    }
+
+    /**
+     * Minimum number of operations between two layout elections.
+     */
+    static final int MIN_WINDOW = 1024;
+
+    private Storage<E> storage;
+    private final boolean adaptive;
+    private long migrationCount;
+
+    private int frontMutations;
+    private int backMutations;
+    private int middleMutations;
+    private int sequentialReads;
+    private int randomReads;
+    private int lastRead = -2;
+    private int operations;
+    private int window = MIN_WINDOW;
+    private Mode elected;
+
+    /**
+     * Creates an empty list starting in {@link Mode#FLAT} mode.
+     */
+    public AdaptiveList() {
+        this(Mode.FLAT, true);
+    }
+
+    /**
+     * Creates an empty list starting in {@code mode}.
+     *
+     * @param mode     initial storage layout
+     * @param adaptive whether to migrate to another layout when the workload
+     *                 calls for it; {@code false} pins {@code mode}
+     * @throws NullPointerException if {@code mode} is null
+     */
+    public AdaptiveList(Mode mode, boolean adaptive) {
+        if (mode == null)
+            throw new NullPointerException();
+        this.storage = newStorage(mode, new Object[0]);
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Returns the current storage layout.
+     *
+     * @return the current storage layout
+     */
+    public Mode mode() {
+        return storage.mode();
+    }
+
+    /**
+     * Returns how many times the elements were moved to another layout.
+     *
+     * @return the number of migrations so far
+     */
+    public long migrationCount() {
+        return migrationCount;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    @Override
+    public int size() {
+        return storage.size();
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size());
+        recordRead(index);
+        return storage.get(index);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size());
+        recordRead(index);
+        return storage.set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size() + 1);
+        recordMutation(index, size());
+        storage.add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size());
+        recordMutation(index, size() - 1);
+        E removed = storage.remove(index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        storage = newStorage(storage.mode(), new Object[0]);
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements in this list in proper sequence.
+     * Iteration reads the storage directly and is not sampled.
+     *
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= size())
+                throw new NoSuchElementException();
+            lastReturned = cursor;
+            return storage.get(cursor++);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            AdaptiveList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Scans the storage directly, without sampling.
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0, n = size(); i < n; i++)
+            if (Objects.equals(o, storage.get(i)))
+                return i;
+        return -1;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        for (int i = 0; modCount == expectedModCount && i < size(); i++)
+            action.accept(storage.get(i));
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate by rebuilding the current storage from the survivors, in
+     * linear time.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        Object[] elements = storage.toArray();
+        int w = 0;
+        for (Object e : elements)
+            if (!filter.test((E) e))
+                elements[w++] = e;
+        if (w == elements.length)
+            return false;
+        storage = newStorage(storage.mode(), Arrays.copyOf(elements, w));
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(e -> !c.contains(e));
+    }
+
+    private void recordRead(int index) {
+        if (index == lastRead + 1 || index == lastRead - 1)
+            sequentialReads++;
+        else
+            randomReads++;
+        lastRead = index;
+        sampled();
+    }
+
+    private void recordMutation(int index, int last) {
+        if (index == last)
+            backMutations++;
+        else if (index == 0)
+            frontMutations++;
+        else
+            middleMutations++;
+        sampled();
+    }
+
+    private void sampled() {
+        if (++operations < window || !adaptive)
+            return;
+        Mode preferred = preferredMode();
+        if (preferred == elected && preferred != storage.mode())
+            migrate(preferred);
+        elected = preferred;
+        frontMutations = backMutations = middleMutations = sequentialReads = randomReads = 0;
+        operations = 0;
+        window = Math.max(MIN_WINDOW, size() >>> 3);
+    }
+
+    /**
+     * Elects the layout for the last window. Middle mutations call for tiered
+     * blocks unless random reads, which tiered blocks make slower, outnumber
+     * them by far; front mutations call for a ring; anything else is served
+     * best by a flat array. Sequential reads are cheap in every layout and do
+     * not take part.
+     */
+    private Mode preferredMode() {
+        int ends = frontMutations + backMutations;
+        if (middleMutations > ends && middleMutations * 8 >= randomReads)
+            return Mode.TIERED;
+        if (frontMutations * 4 >= ends + middleMutations && frontMutations > 0)
+            return Mode.RING;
+        return Mode.FLAT;
+    }
+
+    private void migrate(Mode mode) {
+        storage = newStorage(mode, storage.toArray());
+        migrationCount++;
+    }
+
+    private static <E> Storage<E> newStorage(Mode mode, Object[] elements) {
+        switch (mode) {
+            case RING:
+                return new RingStorage<>(elements);
+            case TIERED:
+                return new TieredStorage<>(elements);
+            default:
+                return new FlatStorage<>(elements);
+        }
+    }
+
+    /**
+     * One storage layout. Indices are checked by the list.
+     */
+    private interface Storage<E> {
+        Mode mode();
+
+        int size();
+
+        E get(int index);
+
+        E set(int index, E element);
+
+        void add(int index, E element);
+
+        E remove(int index);
+
+        /**
+         * Returns the elements in order, in an array {@link #size()} long.
+         */
+        Object[] toArray();
+    }
+
+    private static final class FlatStorage<E> implements Storage<E> {
+        private final MyList<E> list;
+
+        FlatStorage(Object[] elements) {
+            list = new MyList<>(Math.max(elements.length, 1));
+            list.addAll((List<E>) Arrays.asList(elements));
+        }
+
+        @Override
+        public Mode mode() {
+            return Mode.FLAT;
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        @Override
+        public E get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return list.set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            list.add(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            return list.remove(index);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return list.toArray();
+        }
+    }
+
+    private static final class RingStorage<E> implements Storage<E> {
+        private Object[] buffer;
+        private int head;
+        private int size;
+
+        RingStorage(Object[] elements) {
+            buffer = new Object[capacityFor(elements.length)];
+            System.arraycopy(elements, 0, buffer, 0, elements.length);
+            size = elements.length;
+        }
+
+        private static int capacityFor(int size) {
+            return Math.max(16, Integer.highestOneBit(Math.max(size, 1) - 1) << 1);
+        }
+
+        private int slot(int index) {
+            return head + index & buffer.length - 1;
+        }
+
+        @Override
+        public Mode mode() {
+            return Mode.RING;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public E get(int index) {
+            return (E) buffer[slot(index)];
+        }
+
+        @Override
+        public E set(int index, E element) {
+            int slot = slot(index);
+            E old = (E) buffer[slot];
+            buffer[slot] = element;
+            return old;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            if (size == buffer.length) {
+                Object[] grown = new Object[buffer.length * 2];
+                copyTo(grown);
+                buffer = grown;
+                head = 0;
+            }
+            int mask = buffer.length - 1;
+            if (index < size - index) {
+                head = head - 1 & mask;
+                for (int i = 0; i < index; i++)
+                    buffer[head + i & mask] = buffer[head + i + 1 & mask];
+            } else {
+                for (int i = size; i > index; i--)
+                    buffer[head + i & mask] = buffer[head + i - 1 & mask];
+            }
+            buffer[head + index & mask] = element;
+            size++;
+        }
+
+        @Override
+        public E remove(int index) {
+            int mask = buffer.length - 1;
+            E removed = (E) buffer[head + index & mask];
+            if (index < size - 1 - index) {
+                for (int i = index; i > 0; i--)
+                    buffer[head + i & mask] = buffer[head + i - 1 & mask];
+                buffer[head] = null;
+                head = head + 1 & mask;
+            } else {
+                for (int i = index; i < size - 1; i++)
+                    buffer[head + i & mask] = buffer[head + i + 1 & mask];
+                buffer[head + size - 1 & mask] = null;
+            }
+            size--;
+            return removed;
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] elements = new Object[size];
+            copyTo(elements);
+            return elements;
+        }
+
+        private void copyTo(Object[] target) {
+            int first = Math.min(size, buffer.length - head);
+            System.arraycopy(buffer, head, target, 0, first);
+            System.arraycopy(buffer, 0, target, first, size - first);
+        }
+    }
+
+    private static final class TieredStorage<E> implements Storage<E> {
+        /**
+         * Maximum number of elements of one block; a full block is split in
+         * two halves.
+         */
+        private static final int BLOCK_SIZE = 1024;
+
+        private Object[][] blocks;
+        private int[] counts;
+        /**
+         * Index of the first element of every block, for the binary search.
+         */
+        private int[] starts;
+        private int blockCount;
+        private int size;
+        /**
+         * Block of the last lookup, tried first so that sequential access
+         * skips the binary search.
+         */
+        private int lastBlock;
+
+        TieredStorage(Object[] elements) {
+            int size = elements.length;
+            int capacity = Math.max(4, (size + BLOCK_SIZE / 2 - 1) / (BLOCK_SIZE / 2) + 1);
+            blocks = new Object[capacity][];
+            counts = new int[capacity];
+            starts = new int[capacity];
+            blocks[0] = new Object[BLOCK_SIZE];
+            blockCount = 1;
+            for (int from = 0; from < size; from += BLOCK_SIZE / 2) {
+                int count = Math.min(BLOCK_SIZE / 2, size - from);
+                if (from > 0)
+                    blocks[blockCount++] = new Object[BLOCK_SIZE];
+                System.arraycopy(elements, from, blocks[blockCount - 1], 0, count);
+                counts[blockCount - 1] = count;
+                starts[blockCount - 1] = from;
+            }
+            this.size = size;
+        }
+
+        /**
+         * Returns the block holding {@code index}; an index equal to the size
+         * maps to the last block.
+         */
+        private int blockOf(int index) {
+            int b = lastBlock;
+            if (b < blockCount && index >= starts[b] && index < starts[b] + counts[b])
+                return b;
+            if (b + 1 < blockCount && index >= starts[b + 1] && index < starts[b + 1] + counts[b + 1])
+                return lastBlock = b + 1;
+            if (index >= size)
+                return blockCount - 1;
+            int low = 0;
+            int high = blockCount - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (starts[mid] <= index)
+                    low = mid;
+                else
+                    high = mid - 1;
+            }
+            return lastBlock = low;
+        }
+
+        private void updateStarts(int fromBlock) {
+            starts[0] = 0;
+            for (int b = Math.max(fromBlock, 1); b < blockCount; b++)
+                starts[b] = starts[b - 1] + counts[b - 1];
+        }
+
+        @Override
+        public Mode mode() {
+            return Mode.TIERED;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public E get(int index) {
+            int b = blockOf(index);
+            return (E) blocks[b][index - starts[b]];
+        }
+
+        @Override
+        public E set(int index, E element) {
+            int b = blockOf(index);
+            Object[] block = blocks[b];
+            E old = (E) block[index - starts[b]];
+            block[index - starts[b]] = element;
+            return old;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            int b = blockOf(index);
+            if (counts[b] == BLOCK_SIZE) {
+                split(b);
+                if (index - starts[b] > counts[b])
+                    b++;
+            }
+            Object[] block = blocks[b];
+            int offset = index - starts[b];
+            System.arraycopy(block, offset, block, offset + 1, counts[b] - offset);
+            block[offset] = element;
+            counts[b]++;
+            size++;
+            updateStarts(b + 1);
+        }
+
+        @Override
+        public E remove(int index) {
+            int b = blockOf(index);
+            Object[] block = blocks[b];
+            int offset = index - starts[b];
+            E removed = (E) block[offset];
+            System.arraycopy(block, offset + 1, block, offset, counts[b] - offset - 1);
+            block[--counts[b]] = null;
+            size--;
+            if (counts[b] == 0 && blockCount > 1) {
+                System.arraycopy(blocks, b + 1, blocks, b, blockCount - b - 1);
+                System.arraycopy(counts, b + 1, counts, b, blockCount - b - 1);
+                System.arraycopy(starts, b + 1, starts, b, blockCount - b - 1);
+                blocks[--blockCount] = null;
+                lastBlock = 0;
+            }
+            updateStarts(b);
+            return removed;
+        }
+
+        /**
+         * Moves the upper half of the full block {@code b} into a new block
+         * right after it.
+         */
+        private void split(int b) {
+            if (blockCount == blocks.length) {
+                blocks = Arrays.copyOf(blocks, blockCount * 2);
+                counts = Arrays.copyOf(counts, blockCount * 2);
+                starts = Arrays.copyOf(starts, blockCount * 2);
+            }
+            System.arraycopy(blocks, b + 1, blocks, b + 2, blockCount - b - 1);
+            System.arraycopy(counts, b + 1, counts, b + 2, blockCount - b - 1);
+            System.arraycopy(starts, b + 1, starts, b + 2, blockCount - b - 1);
+            blockCount++;
+            int half = BLOCK_SIZE / 2;
+            Object[] upper = new Object[BLOCK_SIZE];
+            System.arraycopy(blocks[b], half, upper, 0, BLOCK_SIZE - half);
+            Arrays.fill(blocks[b], half, BLOCK_SIZE, null);
+            blocks[b + 1] = upper;
+            counts[b] = half;
+            counts[b + 1] = BLOCK_SIZE - half;
+            starts[b + 1] = starts[b] + half;
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] elements = new Object[size];
+            for (int b = 0; b < blockCount; b++)
+                System.arraycopy(blocks[b], 0, elements, starts[b], counts[b]);
+            return elements;
+        }
+    }
+}
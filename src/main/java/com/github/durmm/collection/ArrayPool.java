@@ -0,0 +1,219 @@
+package com.github.durmm.collection;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of {@code Object[]} arrays, recycling the backing arrays of
+ * {@link MyList}s instead of leaving them to the garbage collector.
+ * <p>
+ * Arrays are bucketed by length, which is always a power of two between
+ * {@value #MIN_LENGTH} and the configured maximum; {@link #borrow(int)}
+ * rounds the requested length up to the next bucket. Each thread first uses
+ * a private tier holding at most one array per bucket, which needs no
+ * synchronization. Beyond that, arrays go to a shared tier split into
+ * stripes, each guarded by its own lock; a thread always uses the same
+ * stripe, so threads rarely contend. A borrow that finds nothing in either
+ * tier allocates a new array and counts as a miss.
+ * <p>
+ * Returned arrays are cleared before they are pooled, so a pooled array
+ * never keeps elements alive. The private tier of a thread holds less than
+ * {@code 2 * maxLength} slots in total. The shared tier is accounted at
+ * {@value #SLOT_BYTES} bytes per slot, an upper bound for a reference, and
+ * arrays that would take it over the retained memory limit are dropped. This
+ * class is thread safe.
+ */
+public final class ArrayPool {
+    /**
+     * Shortest pooled array.
+     */
+    public static final int MIN_LENGTH = 16;
+
+    /**
+     * Bytes accounted per array slot.
+     */
+    static final int SLOT_BYTES = 8;
+
+    private static final int ARRAYS_PER_STRIPE_BUCKET = 8;
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_LENGTH);
+
+    private final int maxLength;
+    private final long maxRetainedBytes;
+    private final ThreadLocal<Object[][]> local;
+    private final Stripe[] stripes;
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a pool of arrays up to {@code maxLength} slots, retaining at
+     * most {@code maxRetainedBytes} bytes of idle arrays.
+     *
+     * @param maxLength        longest pooled array; longer arrays are
+     *                         allocated and dropped as usual
+     * @param maxRetainedBytes upper bound on the memory of idle arrays in the
+     *                         shared tier
+     * @throws IllegalArgumentException if {@code maxLength} is not a power of
+     *                                  two of at least {@link #MIN_LENGTH}, or
+     *                                  {@code maxRetainedBytes} is negative
+     */
+    public ArrayPool(int maxLength, long maxRetainedBytes) {
+        if (maxLength < MIN_LENGTH || Integer.bitCount(maxLength) != 1)
+            throw new IllegalArgumentException(
+                    "The maxLength should be power of two not less than " + MIN_LENGTH
+            );
+        if (maxRetainedBytes < 0)
+            throw new IllegalArgumentException(
+                    "The maxRetainedBytes should be non negative"
+            );
+        this.maxLength = maxLength;
+        this.maxRetainedBytes = maxRetainedBytes;
+        int buckets = bucketOf(maxLength) + 1;
+        this.local = ThreadLocal.withInitial(() -> new Object[buckets][]);
+        int stripeCount = 1;
+        while (stripeCount < Runtime.getRuntime().availableProcessors())
+            stripeCount <<= 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+            stripes[i] = new Stripe(buckets);
+    }
+
+    /**
+     * Shared tier of one stripe: a bounded stack of arrays per bucket.
+     */
+    private static final class Stripe {
+        final Object[][][] arrays;
+        final int[] counts;
+
+        Stripe(int buckets) {
+            arrays = new Object[buckets][ARRAYS_PER_STRIPE_BUCKET][];
+            counts = new int[buckets];
+        }
+    }
+
+    private static int bucketOf(int length) {
+        return Integer.numberOfTrailingZeros(length) - MIN_SHIFT;
+    }
+
+    private Stripe stripe() {
+        return stripes[(int) Thread.currentThread().getId() & stripes.length - 1];
+    }
+
+    /**
+     * Returns a cleared array of at least {@code minLength} slots, a pooled
+     * one when available. Lengths up to the maximum are rounded up to the
+     * next power of two.
+     *
+     * @param minLength the number of slots needed
+     * @return an array of only {@code null}s, at least {@code minLength} long
+     * @throws IllegalArgumentException if {@code minLength} is negative
+     */
+    public Object[] borrow(int minLength) {
+        if (minLength < 0)
+            throw new IllegalArgumentException(
+                    "The minLength should be non negative integer"
+            );
+        if (minLength > maxLength) {
+            misses.increment();
+            return new Object[minLength];
+        }
+        int length = Math.max(MIN_LENGTH, Integer.highestOneBit(Math.max(minLength, 1) - 1) << 1);
+        int bucket = bucketOf(length);
+        Object[][] mine = local.get();
+        Object[] array = mine[bucket];
+        if (array != null) {
+            mine[bucket] = null;
+            hits.increment();
+            return array;
+        }
+        Stripe stripe = stripe();
+        synchronized (stripe) {
+            if (stripe.counts[bucket] > 0) {
+                int top = --stripe.counts[bucket];
+                array = stripe.arrays[bucket][top];
+                stripe.arrays[bucket][top] = null;
+            }
+        }
+        if (array == null) {
+            misses.increment();
+            return new Object[length];
+        }
+        retainedBytes.addAndGet(-(long) length * SLOT_BYTES);
+        hits.increment();
+        return array;
+    }
+
+    /**
+     * Clears {@code array} and keeps it for a later {@link #borrow(int)}.
+     * Arrays of a length that is not a bucket, and arrays exceeding the
+     * retained memory limit, are dropped.
+     *
+     * @param array the array to recycle; must not be used afterwards
+     * @throws NullPointerException if {@code array} is null
+     */
+    public void giveBack(Object[] array) {
+        int length = array.length;
+        if (length < MIN_LENGTH || length > maxLength || Integer.bitCount(length) != 1)
+            return;
+        Arrays.fill(array, null);
+        int bucket = bucketOf(length);
+        Object[][] mine = local.get();
+        if (mine[bucket] == null) {
+            mine[bucket] = array;
+            return;
+        }
+        long bytes = (long) length * SLOT_BYTES;
+        if (retainedBytes.addAndGet(bytes) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-bytes);
+            return;
+        }
+        Stripe stripe = stripe();
+        synchronized (stripe) {
+            if (stripe.counts[bucket] < ARRAYS_PER_STRIPE_BUCKET) {
+                stripe.arrays[bucket][stripe.counts[bucket]++] = array;
+                return;
+            }
+        }
+        retainedBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * Returns the number of borrows served from the pool.
+     *
+     * @return the number of hits
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of borrows that had to allocate.
+     *
+     * @return the number of misses
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the fraction of borrows served from the pool, or 0 if nothing
+     * was borrowed yet.
+     *
+     * @return the hit rate, between 0 and 1
+     */
+    public double hitRate() {
+        long hits = hitCount();
+        long total = hits + missCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the memory accounted to idle arrays in the shared tier.
+     *
+     * @return the retained bytes
+     */
+    public long retainedBytes() {
+        return retainedBytes.get();
+    }
+}
@@ -0,0 +1,344 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Append-oriented list indexed by {@code long}, for more elements than an
+ * array can hold.
+ * <p>
+ * Elements live in fixed-size segments referenced from a directory. Growing
+ * the list allocates one more segment and never copies elements; only the
+ * directory, a few bytes per segment, is reallocated as it fills up. The
+ * default segment of {@value #DEFAULT_SEGMENT_SIZE} references stays well
+ * below the size at which G1 allocates an object as humongous, so even a
+ * list of billions of elements is made of ordinary young-generation
+ * allocations. Index {@code i} is found with a shift and a mask.
+ * <p>
+ * Since a {@code long} size does not fit the {@link java.util.Collection}
+ * interface, this class is only {@link Iterable}; {@link #asList()} gives an
+ * {@code int} indexed {@link List} view while the list is small enough.
+ * Iterators are fail-fast. This list is not thread safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class BigList<E> implements Iterable<E> {
+    /**
+     * Segment size used by {@link #BigList()}.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 15;
+
+    private final int segmentShift;
+    private final int segmentMask;
+    private Object[][] segments = new Object[8][];
+    private int segmentCount;
+    private long size;
+    private int modCount;
+
+    /**
+     * Creates list with {@link #DEFAULT_SEGMENT_SIZE} elements segments
+     */
+    public BigList() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates list with {@code segmentSize} elements segments
+     *
+     * @param segmentSize number of elements of one segment
+     * @throws IllegalArgumentException if {@code segmentSize} is not a
+     *                                  positive power of two
+     */
+    public BigList(int segmentSize) {
+        if (segmentSize <= 0 || Integer.bitCount(segmentSize) != 1)
+            throw new IllegalArgumentException(
+                    "The segmentSize should be positive power of two"
+            );
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        this.segmentMask = segmentSize - 1;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the number of elements in this list
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this list contains no elements.
+     *
+     * @return {@code true} if this list contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    public E get(long index) {
+        checkIndex(index);
+        return (E) segments[(int) (index >>> segmentShift)][(int) index & segmentMask];
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the
+     * specified element.
+     *
+     * @param index   index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    public E set(long index, E element) {
+        checkIndex(index);
+        Object[] segment = segments[(int) (index >>> segmentShift)];
+        int offset = (int) index & segmentMask;
+        E old = (E) segment[offset];
+        segment[offset] = element;
+        return old;
+    }
+
+    /**
+     * Appends the specified element to the end of this list, adding a segment
+     * when the last one is full.
+     *
+     * @param e element to be appended to this list
+     * @return {@code true}
+     */
+    public boolean add(E e) {
+        int segment = (int) (size >>> segmentShift);
+        if (segment == segmentCount)
+            addSegment();
+        segments[segment][(int) size & segmentMask] = e;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Appends all of the elements of {@code elements} to the end of this
+     * list, in iteration order.
+     *
+     * @param elements elements to be appended to this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws NullPointerException if {@code elements} is null
+     */
+    public boolean addAll(Iterable<? extends E> elements) {
+        if (elements == null)
+            throw new NullPointerException();
+        long before = size;
+        for (E e : elements)
+            add(e);
+        return size != before;
+    }
+
+    private void addSegment() {
+        if (segmentCount == segments.length)
+            segments = Arrays.copyOf(segments, segmentCount * 2);
+        segments[segmentCount++] = new Object[segmentMask + 1];
+    }
+
+    /**
+     * Removes and returns the last element of this list. A segment emptied
+     * by the removal is kept as a spare; any further one is released.
+     *
+     * @return the removed element
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        long index = --size;
+        Object[] segment = segments[(int) (index >>> segmentShift)];
+        int offset = (int) index & segmentMask;
+        E removed = (E) segment[offset];
+        segment[offset] = null;
+        int needed = (int) ((size + segmentMask) >>> segmentShift);
+        if (segmentCount > needed + 1)
+            segments[--segmentCount] = null;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes all of the elements from this list and releases its segments.
+     */
+    public void clear() {
+        segments = new Object[8][];
+        segmentCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element in
+     * this list, or -1 if this list does not contain the element.
+     *
+     * @param o element to search for
+     * @return the index of the first occurrence, or -1
+     */
+    public long indexOf(Object o) {
+        long base = 0;
+        for (int s = 0; s < segmentCount && base < size; s++, base += segmentMask + 1) {
+            Object[] segment = segments[s];
+            int length = (int) Math.min(segment.length, size - base);
+            for (int i = 0; i < length; i++)
+                if (Objects.equals(o, segment[i]))
+                    return base + i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if this list contains the specified element.
+     *
+     * @param o element whose presence in this list is to be tested
+     * @return {@code true} if this list contains the specified element
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Number of allocated segments.
+     */
+    int segmentCount() {
+        return segmentCount;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        long base = 0;
+        for (int s = 0; s < segmentCount && base < size; s++, base += segmentMask + 1) {
+            Object[] segment = segments[s];
+            int length = (int) Math.min(segment.length, size - base);
+            for (int i = 0; i < length && modCount == expectedModCount; i++)
+                action.accept((E) segment[i]);
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private long cursor;
+        private Object[] segment;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= size)
+                throw new NoSuchElementException();
+            int offset = (int) cursor & segmentMask;
+            if (offset == 0 || segment == null)
+                segment = segments[(int) (cursor >>> segmentShift)];
+            cursor++;
+            return (E) segment[offset];
+        }
+    }
+
+    /**
+     * Returns an {@code int} indexed view of this list. The view reads and
+     * writes through to this list, and supports appending and removing at the
+     * end; each of its operations fails with {@link IllegalStateException}
+     * once this list holds more than {@code Integer.MAX_VALUE} elements.
+     *
+     * @return a {@link List} view of this list
+     * @throws IllegalStateException if this list holds more than
+     *                               {@code Integer.MAX_VALUE} elements
+     */
+    public List<E> asList() {
+        checkIntSize();
+        return new ListView();
+    }
+
+    private int checkIntSize() {
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalStateException("BigList of " + size + " elements has no int indexed view");
+        return (int) size;
+    }
+
+    private class ListView extends AbstractList<E> implements RandomAccess {
+        @Override
+        public int size() {
+            return checkIntSize();
+        }
+
+        @Override
+        public E get(int index) {
+            checkIntSize();
+            return BigList.this.get(index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            checkIntSize();
+            return BigList.this.set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            int n = checkIntSize();
+            if (index < 0 || index > n)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + n);
+            if (index != n)
+                throw new UnsupportedOperationException("BigList view only appends");
+            if (size == Integer.MAX_VALUE)
+                throw new IllegalStateException("BigList view is full");
+            BigList.this.add(element);
+            modCount++;
+        }
+
+        @Override
+        public E remove(int index) {
+            checkIntSize();
+            checkIndex(index);
+            if (index != size - 1)
+                throw new UnsupportedOperationException("BigList view only removes its last element");
+            modCount++;
+            return removeLast();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            checkIntSize();
+            return BigList.this.iterator();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.durmm.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Bloom filter over {@link Object#hashCode()}, answering whether an element
+ * may have been added or was definitely not.
+ * <p>
+ * The filter is sized from the expected number of elements {@code n} and
+ * the target false positive rate {@code p}: it takes
+ * {@code m = -n ln p / (ln 2)^2} bits and sets {@code k = m / n ln 2} of them
+ * per element, derived from the element's hash code by double hashing.
+ * Since equal elements have equal hash codes, {@link #mightContain(Object)}
+ * never returns {@code false} for an element equal to one that was added.
+ * Elements cannot be removed; callers rebuild the filter instead. This class
+ * is not thread safe.
+ */
+public final class BloomFilter {
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int expectedElements;
+    private int insertions;
+
+    /**
+     * Creates a filter for {@code expectedElements} elements at the given
+     * false positive rate.
+     *
+     * @param expectedElements  number of elements the filter is sized for
+     * @param falsePositiveRate false positive rate at that number of elements
+     * @throws IllegalArgumentException if {@code expectedElements} is not
+     *                                  positive or {@code falsePositiveRate}
+     *                                  is not in {@code (0, 1)}
+     */
+    public BloomFilter(int expectedElements, double falsePositiveRate) {
+        if (expectedElements <= 0)
+            throw new IllegalArgumentException(
+                    "The expectedElements should be positive integer"
+            );
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException(
+                    "The falsePositiveRate should be in (0, 1)"
+            );
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedElements * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Math.max(m, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedElements * ln2));
+        this.bits = new long[(bitCount + Long.SIZE - 1) / Long.SIZE];
+        this.expectedElements = expectedElements;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ h >>> 16;
+    }
+
+    /**
+     * Records {@code o} in this filter.
+     *
+     * @param o element to add, may be {@code null}
+     */
+    public void add(Object o) {
+        int h1 = mix(Objects.hashCode(o));
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2 & Integer.MAX_VALUE) % bitCount;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * Returns {@code false} if {@code o} was definitely never added, and
+     * {@code true} if it may have been.
+     *
+     * @param o element to test, may be {@code null}
+     * @return whether {@code o} may have been added
+     */
+    public boolean mightContain(Object o) {
+        int h1 = mix(Objects.hashCode(o));
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2 & Integer.MAX_VALUE) % bitCount;
+            if ((bits[bit >>> 6] & 1L << bit) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Forgets every element added so far.
+     */
+    public void clear() {
+        Arrays.fill(bits, 0);
+        insertions = 0;
+    }
+
+    /**
+     * Returns the number of elements the filter was sized for.
+     *
+     * @return the expected number of elements
+     */
+    public int expectedElements() {
+        return expectedElements;
+    }
+
+    /**
+     * Returns the number of {@link #add(Object)} calls since creation or the
+     * last {@link #clear()}, duplicates included.
+     *
+     * @return the number of insertions
+     */
+    public int insertionCount() {
+        return insertions;
+    }
+
+    /**
+     * Returns the probability that {@link #mightContain(Object)} answers
+     * {@code true} for an element never added, estimated from the number of
+     * insertions as {@code (1 - e^(-k insertions / m))^k}.
+     *
+     * @return the estimated false positive rate
+     */
+    public double falsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+    }
+
+    /**
+     * Returns the number of bits of the filter.
+     *
+     * @return the size of the filter in bits
+     */
+    public int bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Returns the number of hash functions per element.
+     *
+     * @return the number of bits set per element
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Returns the memory taken by the bits of the filter.
+     *
+     * @return the size of the filter in bytes
+     */
+    public long memoryBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,382 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * List of at most a fixed number of elements that evicts its oldest element
+ * to make room for a new one, for sliding windows such as "the last N
+ * events".
+ * <p>
+ * Elements are kept in a ring buffer: index 0 is the oldest element and
+ * {@code size() - 1} the newest, and iteration goes from oldest to newest.
+ * Appending to a full list overwrites the oldest element in {@code O(1)}
+ * instead of shifting every element like {@code remove(0)} on an array list
+ * would. Removing the oldest element is {@code O(1)} as well, and other
+ * insertions and removals shift the shorter side of the ring. The ring grows
+ * on demand up to the capacity, so a large capacity costs nothing until it
+ * is used.
+ * <p>
+ * An optional eviction listener is called with every element pushed out by
+ * an append, oldest first, after the list has been updated. Elements removed
+ * explicitly or by {@link #clear()} are not reported. {@link #appendAll}
+ * evicts in bulk and copies the appended elements with at most two array
+ * copies. This list is not thread safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class BoundedList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int defaultListSize = 10;
+
+    private final int capacity;
+    private final Consumer<? super E> evictionListener;
+    private Object[] elements;
+    /**
+     * Position of the oldest element in {@link #elements}
+     */
+    private int head;
+    private int size;
+
+    /**
+     * Creates an empty list holding at most {@code capacity} elements
+     *
+     * @param capacity maximum number of elements
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public BoundedList(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates an empty list holding at most {@code capacity} elements and
+     * reporting evicted elements to {@code evictionListener}
+     *
+     * @param capacity         maximum number of elements
+     * @param evictionListener called with every evicted element, or
+     *                         {@code null}
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public BoundedList(int capacity, Consumer<? super E> evictionListener) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException(
+                    "The capacity should be positive integer"
+            );
+        this.capacity = capacity;
+        this.evictionListener = evictionListener;
+        this.elements = new Object[Math.min(capacity, defaultListSize)];
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Returns the position in {@link #elements} of the element at
+     * {@code index}.
+     */
+    private int position(int index) {
+        int position = head + index;
+        return position >= elements.length ? position - elements.length : position;
+    }
+
+    /**
+     * Grows the ring towards the capacity, moving the oldest element to the
+     * start of the array.
+     */
+    private void grow() {
+        Object[] grown = new Object[(int) Math.min(capacity, elements.length * 2L)];
+        copyTo(grown, 0, size);
+        elements = grown;
+        head = 0;
+    }
+
+    /**
+     * Copies the elements at {@code [from, to)} to {@code target}, starting
+     * at index 0.
+     */
+    private void copyTo(Object[] target, int from, int to) {
+        int start = position(from);
+        int first = Math.min(to - from, elements.length - start);
+        System.arraycopy(elements, start, target, 0, first);
+        System.arraycopy(elements, 0, target, first, to - from - first);
+    }
+
+    /**
+     * Returns the maximum number of elements of this list.
+     *
+     * @return the capacity of this list
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns {@code true} if the next append will evict the oldest element.
+     *
+     * @return whether this list holds {@link #capacity()} elements
+     */
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size);
+        return (E) elements[position(index)];
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        int position = position(index);
+        E old = (E) elements[position];
+        elements[position] = element;
+        return old;
+    }
+
+    /**
+     * Appends {@code e} as the newest element, evicting the oldest one if
+     * this list is full.
+     *
+     * @param e element to be appended to this list
+     * @return {@code true} (as specified by {@link Collection#add})
+     */
+    @Override
+    public boolean add(E e) {
+        if (size == capacity) {
+            E evicted = (E) elements[head];
+            elements[head] = e;
+            head = position(1);
+            modCount++;
+            if (evictionListener != null)
+                evictionListener.accept(evicted);
+            return true;
+        }
+        if (size == elements.length)
+            grow();
+        elements[position(size)] = e;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts {@code element} at {@code index}, shifting the shorter side of
+     * the list. A full list only accepts appends, which evict the oldest
+     * element.
+     *
+     * @param index   index at which the element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index > size()})
+     * @throws IllegalStateException     if this list is full and
+     *                                   {@code index < size()}
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            add(element);
+            return;
+        }
+        if (size == capacity)
+            throw new IllegalStateException("The list is full");
+        if (size == elements.length)
+            grow();
+        if (index < size / 2) {
+            head = position(elements.length - 1);
+            for (int i = 0; i < index; i++)
+                elements[position(i)] = elements[position(i + 1)];
+        } else {
+            for (int i = size; i > index; i--)
+                elements[position(i)] = elements[position(i - 1)];
+        }
+        elements[position(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the element at {@code index}, shifting the shorter side of the
+     * list; removing the oldest element is {@code O(1)}.
+     *
+     * @param index the index of the element to be removed
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size);
+        E removed = (E) elements[position(index)];
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--)
+                elements[position(i)] = elements[position(i - 1)];
+            elements[head] = null;
+            head = position(1);
+        } else {
+            for (int i = index; i < size - 1; i++)
+                elements[position(i)] = elements[position(i + 1)];
+            elements[position(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        elements = new Object[Math.min(capacity, defaultListSize)];
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Appends the elements of {@code c} in iteration order, as repeated
+     * {@link #add(Object)} calls would, but evicting the overflowing oldest
+     * elements at once and copying the new elements into the ring with at
+     * most two array copies. If {@code c} holds more elements than the
+     * capacity, only its newest ones are kept and the others are reported
+     * as evicted as well.
+     *
+     * @param c collection containing elements to be appended to this list
+     * @return the number of evicted elements
+     * @throws NullPointerException if {@code c} is null
+     */
+    public int appendAll(Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        int n = added.length;
+        if (n == 0)
+            return 0;
+        int evictions = Math.max(0, size + n - capacity);
+        Object[] evicted = null;
+        if (evictions > 0 && evictionListener != null) {
+            evicted = new Object[evictions];
+            int fromList = Math.min(evictions, size);
+            copyTo(evicted, 0, fromList);
+            System.arraycopy(added, 0, evicted, fromList, evictions - fromList);
+        }
+        if (n >= capacity) {
+            if (elements.length < capacity)
+                elements = new Object[capacity];
+            System.arraycopy(added, n - capacity, elements, 0, capacity);
+            head = 0;
+            size = capacity;
+        } else {
+            for (int i = 0; i < evictions; i++)
+                elements[position(i)] = null;
+            head = position(evictions);
+            size -= evictions;
+            if (size + n > elements.length) {
+                Object[] grown = new Object[(int) Math.min(capacity, Math.max(elements.length * 2L, size + n))];
+                copyTo(grown, 0, size);
+                elements = grown;
+                head = 0;
+            }
+            int start = position(size);
+            int first = Math.min(n, elements.length - start);
+            System.arraycopy(added, 0, elements, start, first);
+            System.arraycopy(added, first, elements, 0, n - first);
+            size += n;
+        }
+        modCount++;
+        if (evicted != null)
+            for (Object e : evicted)
+                evictionListener.accept((E) e);
+        return evictions;
+    }
+
+    /**
+     * Appends the elements of {@code c} with {@link #appendAll(Collection)}.
+     *
+     * @param c collection containing elements to be appended to this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws NullPointerException if {@code c} is null
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (c == null)
+            throw new NullPointerException();
+        int before = modCount;
+        appendAll(c);
+        return modCount != before;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        copyTo(result, 0, size);
+        return result;
+    }
+
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate. Matches are marked in a bitmap before the ring is compacted,
+     * so a predicate that throws leaves the list as it was.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        long[] removed = new long[(size + 63) >>> 6];
+        boolean any = false;
+        for (int i = 0; i < size; i++) {
+            if (filter.test((E) elements[position(i)])) {
+                removed[i >>> 6] |= 1L << i;
+                any = true;
+            }
+        }
+        if (!any)
+            return false;
+        int w = 0;
+        for (int r = 0; r < size; r++)
+            if ((removed[r >>> 6] & 1L << r) == 0)
+                elements[position(w++)] = elements[position(r)];
+        for (int i = w; i < size; i++)
+            elements[position(i)] = null;
+        size = w;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        for (int i = 0; modCount == expectedModCount && i < size; i++)
+            action.accept((E) elements[position(i)]);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+}
@@ -0,0 +1,871 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * List of records stored column by column: every column of a {@link Schema}
+ * is a primitive {@code int[]}, {@code long[]} or {@code double[]} array,
+ * and a record is the same index in all of them.
+ * <p>
+ * No object is kept per record, so a million records of an {@code int}, a
+ * {@code long} and a {@code double} take 20 MB of arrays instead of a
+ * million objects with headers and references. Columns are accessed by
+ * position with the typed {@code get}/{@code set} methods, scanned with
+ * {@link #forEachInt(int, IntConsumer)} and friends, and aggregated with
+ * {@link #summarizeLong(int)}, {@link #summarizeDouble(int)} and the sums,
+ * none of which creates objects per record.
+ * <p>
+ * For the {@link List} interface the elements are {@link Row}s:
+ * lightweight views of one position, created on demand. A row reflects the
+ * current content of its position, so inserting or removing before it makes
+ * it refer to another record; {@link #set(int, Row)} and
+ * {@link #remove(int)} therefore return a detached copy. Adding a row
+ * copies its values, which must come from the same schema.
+ * {@link #forEachRow(Consumer)} scans with a single reused flyweight row.
+ * <p>
+ * Arrays grow and shrink like those of {@link MyList}. This list is not
+ * thread safe.
+ */
+public class ColumnarList extends AbstractList<ColumnarList.Row> implements RandomAccess {
+    /**
+     * Primitive type of a column.
+     */
+    public enum ColumnType {
+        INT, LONG, DOUBLE
+    }
+
+    /**
+     * Ordered, named and typed columns of a {@link ColumnarList}. Schemas are
+     * immutable and compared by value.
+     */
+    public static final class Schema {
+        private final String[] names;
+        private final ColumnType[] types;
+        private final Map<String, Integer> indexes;
+
+        private Schema(Map<String, ColumnType> columns) {
+            names = columns.keySet().toArray(new String[0]);
+            types = columns.values().toArray(new ColumnType[0]);
+            Map<String, Integer> byName = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++)
+                byName.put(names[i], i);
+            indexes = Collections.unmodifiableMap(byName);
+        }
+
+        /**
+         * Returns a builder of a new schema.
+         *
+         * @return a builder without columns
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Returns the number of columns.
+         *
+         * @return the number of columns
+         */
+        public int columnCount() {
+            return names.length;
+        }
+
+        /**
+         * Returns the name of {@code column}.
+         *
+         * @param column position of the column
+         * @return the column name
+         * @throws IndexOutOfBoundsException if there is no such column
+         */
+        public String name(int column) {
+            return names[column];
+        }
+
+        /**
+         * Returns the type of {@code column}.
+         *
+         * @param column position of the column
+         * @return the column type
+         * @throws IndexOutOfBoundsException if there is no such column
+         */
+        public ColumnType type(int column) {
+            return types[column];
+        }
+
+        /**
+         * Returns the position of the column named {@code name}.
+         *
+         * @param name column name
+         * @return the position of the column
+         * @throws IllegalArgumentException if there is no such column
+         */
+        public int indexOf(String name) {
+            Integer index = indexes.get(name);
+            if (index == null)
+                throw new IllegalArgumentException("No column " + name);
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Schema))
+                return false;
+            Schema other = (Schema) o;
+            return Arrays.equals(names, other.names) && Arrays.equals(types, other.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(names) + Arrays.hashCode(types);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < names.length; i++)
+                sb.append(i == 0 ? "" : ", ").append(names[i]).append(' ').append(types[i]);
+            return sb.append(')').toString();
+        }
+
+        /**
+         * Builder of a {@link Schema}; columns are numbered in the order they
+         * are added.
+         */
+        public static final class Builder {
+            private final Map<String, ColumnType> columns = new LinkedHashMap<>();
+
+            private Builder() {
+            }
+
+            /**
+             * Adds a column of {@code type} named {@code name}.
+             *
+             * @param name column name
+             * @param type column type
+             * @return this builder
+             * @throws NullPointerException     if an argument is null
+             * @throws IllegalArgumentException if the name is already taken
+             */
+            public Builder column(String name, ColumnType type) {
+                if (name == null || type == null)
+                    throw new NullPointerException();
+                if (columns.putIfAbsent(name, type) != null)
+                    throw new IllegalArgumentException("Duplicate column " + name);
+                return this;
+            }
+
+            /**
+             * Adds an {@code INT} column named {@code name}.
+             *
+             * @param name column name
+             * @return this builder
+             */
+            public Builder intColumn(String name) {
+                return column(name, ColumnType.INT);
+            }
+
+            /**
+             * Adds a {@code LONG} column named {@code name}.
+             *
+             * @param name column name
+             * @return this builder
+             */
+            public Builder longColumn(String name) {
+                return column(name, ColumnType.LONG);
+            }
+
+            /**
+             * Adds a {@code DOUBLE} column named {@code name}.
+             *
+             * @param name column name
+             * @return this builder
+             */
+            public Builder doubleColumn(String name) {
+                return column(name, ColumnType.DOUBLE);
+            }
+
+            /**
+             * Returns the schema of the columns added so far.
+             *
+             * @return a new schema
+             * @throws IllegalStateException if no column was added
+             */
+            public Schema build() {
+                if (columns.isEmpty())
+                    throw new IllegalStateException("Schema without columns");
+                return new Schema(columns);
+            }
+        }
+    }
+
+    /**
+     * View of the record at one position of a {@link ColumnarList}. Rows are
+     * equal when their schemas and values are.
+     */
+    public static final class Row {
+        private final ColumnarList list;
+        private int index;
+
+        private Row(ColumnarList list, int index) {
+            this.list = list;
+            this.index = index;
+        }
+
+        /**
+         * Returns the schema of this row.
+         *
+         * @return the schema of this row
+         */
+        public Schema schema() {
+            return list.schema;
+        }
+
+        /**
+         * Returns the position of this row in its list.
+         *
+         * @return the position of this row
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * Same as {@link ColumnarList#getInt(int, int)} for this row.
+         */
+        public int getInt(int column) {
+            return list.getInt(index, column);
+        }
+
+        /**
+         * Same as {@link ColumnarList#getLong(int, int)} for this row.
+         */
+        public long getLong(int column) {
+            return list.getLong(index, column);
+        }
+
+        /**
+         * Same as {@link ColumnarList#getDouble(int, int)} for this row.
+         */
+        public double getDouble(int column) {
+            return list.getDouble(index, column);
+        }
+
+        /**
+         * Same as {@link ColumnarList#setInt(int, int, int)} for this row.
+         */
+        public void setInt(int column, int value) {
+            list.setInt(index, column, value);
+        }
+
+        /**
+         * Same as {@link ColumnarList#setLong(int, int, long)} for this row.
+         */
+        public void setLong(int column, long value) {
+            list.setLong(index, column, value);
+        }
+
+        /**
+         * Same as {@link ColumnarList#setDouble(int, int, double)} for this row.
+         */
+        public void setDouble(int column, double value) {
+            list.setDouble(index, column, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Row))
+                return false;
+            Row other = (Row) o;
+            if (!schema().equals(other.schema()))
+                return false;
+            for (int c = 0; c < schema().columnCount(); c++)
+                if (list.bits(index, c) != other.list.bits(other.index, c))
+                    return false;
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 1;
+            for (int c = 0; c < schema().columnCount(); c++)
+                hash = 31 * hash + Long.hashCode(list.bits(index, c));
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("(");
+            for (int c = 0; c < schema().columnCount(); c++) {
+                sb.append(c == 0 ? "" : ", ");
+                switch (schema().type(c)) {
+                    case INT:
+                        sb.append(getInt(c));
+                        break;
+                    case LONG:
+                        sb.append(getLong(c));
+                        break;
+                    default:
+                        sb.append(getDouble(c));
+                }
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    private static final int defaultListSize = 10;
+
+    private final Schema schema;
+    /**
+     * One {@code int[]}, {@code long[]} or {@code double[]} per column, all of
+     * the same length.
+     */
+    private final Object[] columns;
+    private int capacity;
+    private int size;
+
+    /**
+     * Creates an empty list of records of {@code schema}.
+     *
+     * @param schema the columns of the records
+     * @throws NullPointerException if {@code schema} is null
+     */
+    public ColumnarList(Schema schema) {
+        this(schema, defaultListSize);
+    }
+
+    private ColumnarList(Schema schema, int initialCapacity) {
+        if (schema == null)
+            throw new NullPointerException();
+        this.schema = schema;
+        this.columns = new Object[schema.columnCount()];
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Returns the schema of the records.
+     *
+     * @return the schema of the records
+     */
+    public Schema schema() {
+        return schema;
+    }
+
+    private void allocate(int newCapacity) {
+        for (int c = 0; c < columns.length; c++) {
+            Object column = columns[c];
+            switch (schema.type(c)) {
+                case INT:
+                    columns[c] = column == null ? new int[newCapacity] : Arrays.copyOf((int[]) column, newCapacity);
+                    break;
+                case LONG:
+                    columns[c] = column == null ? new long[newCapacity] : Arrays.copyOf((long[]) column, newCapacity);
+                    break;
+                default:
+                    columns[c] = column == null ? new double[newCapacity] : Arrays.copyOf((double[]) column, newCapacity);
+            }
+        }
+        capacity = newCapacity;
+    }
+
+    /**
+     * Grows the columns two times when they are full.
+     */
+    private void maximizeColumns() {
+        if (size == capacity)
+            allocate(capacity * 2);
+    }
+
+    /**
+     * Shrinks the columns by a quarter when they are three or more times
+     * larger than the size, but not below {@code defaultListSize}.
+     */
+    private void minimizeColumns() {
+        if (capacity <= defaultListSize || capacity <= 3 * size)
+            return;
+        allocate(Math.max((int) (capacity * 0.75), defaultListSize));
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private void checkType(int column, ColumnType type) {
+        if (schema.type(column) != type)
+            throw new IllegalArgumentException(
+                    "Column " + schema.name(column) + " is " + schema.type(column) + ", not " + type);
+    }
+
+    /**
+     * Raw bits of a value, for copying and comparing regardless of type.
+     */
+    private long bits(int row, int column) {
+        Object values = columns[column];
+        switch (schema.type(column)) {
+            case INT:
+                return ((int[]) values)[row];
+            case LONG:
+                return ((long[]) values)[row];
+            default:
+                return Double.doubleToLongBits(((double[]) values)[row]);
+        }
+    }
+
+    private void setBits(int row, int column, long bits) {
+        Object values = columns[column];
+        switch (schema.type(column)) {
+            case INT:
+                ((int[]) values)[row] = (int) bits;
+                break;
+            case LONG:
+                ((long[]) values)[row] = bits;
+                break;
+            default:
+                ((double[]) values)[row] = Double.longBitsToDouble(bits);
+        }
+    }
+
+    // Typed access
+
+    /**
+     * Returns the value of the {@code INT} column {@code column} of record
+     * {@code row}.
+     *
+     * @param row    position of the record
+     * @param column position of the column
+     * @return the value
+     * @throws IndexOutOfBoundsException if there is no such record or column
+     * @throws IllegalArgumentException  if the column is not an {@code INT} one
+     */
+    public int getInt(int row, int column) {
+        checkIndex(row, size);
+        checkType(column, ColumnType.INT);
+        return ((int[]) columns[column])[row];
+    }
+
+    /**
+     * Returns the value of the {@code LONG} column {@code column} of record
+     * {@code row}.
+     *
+     * @param row    position of the record
+     * @param column position of the column
+     * @return the value
+     * @throws IndexOutOfBoundsException if there is no such record or column
+     * @throws IllegalArgumentException  if the column is not a {@code LONG} one
+     */
+    public long getLong(int row, int column) {
+        checkIndex(row, size);
+        checkType(column, ColumnType.LONG);
+        return ((long[]) columns[column])[row];
+    }
+
+    /**
+     * Returns the value of the {@code DOUBLE} column {@code column} of record
+     * {@code row}.
+     *
+     * @param row    position of the record
+     * @param column position of the column
+     * @return the value
+     * @throws IndexOutOfBoundsException if there is no such record or column
+     * @throws IllegalArgumentException  if the column is not a {@code DOUBLE} one
+     */
+    public double getDouble(int row, int column) {
+        checkIndex(row, size);
+        checkType(column, ColumnType.DOUBLE);
+        return ((double[]) columns[column])[row];
+    }
+
+    /**
+     * Replaces the value of the {@code INT} column {@code column} of record
+     * {@code row}.
+     *
+     * @param row    position of the record
+     * @param column position of the column
+     * @param value  the new value
+     * @throws IndexOutOfBoundsException if there is no such record or column
+     * @throws IllegalArgumentException  if the column is not an {@code INT} one
+     */
+    public void setInt(int row, int column, int value) {
+        checkIndex(row, size);
+        checkType(column, ColumnType.INT);
+        ((int[]) columns[column])[row] = value;
+    }
+
+    /**
+     * Replaces the value of the {@code LONG} column {@code column} of record
+     * {@code row}.
+     *
+     * @param row    position of the record
+     * @param column position of the column
+     * @param value  the new value
+     * @throws IndexOutOfBoundsException if there is no such record or column
+     * @throws IllegalArgumentException  if the column is not a {@code LONG} one
+     */
+    public void setLong(int row, int column, long value) {
+        checkIndex(row, size);
+        checkType(column, ColumnType.LONG);
+        ((long[]) columns[column])[row] = value;
+    }
+
+    /**
+     * Replaces the value of the {@code DOUBLE} column {@code column} of record
+     * {@code row}.
+     *
+     * @param row    position of the record
+     * @param column position of the column
+     * @param value  the new value
+     * @throws IndexOutOfBoundsException if there is no such record or column
+     * @throws IllegalArgumentException  if the column is not a {@code DOUBLE} one
+     */
+    public void setDouble(int row, int column, double value) {
+        checkIndex(row, size);
+        checkType(column, ColumnType.DOUBLE);
+        ((double[]) columns[column])[row] = value;
+    }
+
+    /**
+     * Appends a record with all values zero and returns its position, to be
+     * filled with the typed setters.
+     *
+     * @return the position of the new record
+     */
+    public int addRow() {
+        maximizeColumns();
+        for (int c = 0; c < columns.length; c++)
+            setBits(size, c, 0);
+        modCount++;
+        return size++;
+    }
+
+    /**
+     * Appends the records of {@code other}, which has the same schema, with
+     * one copy per column.
+     */
+    void appendAll(ColumnarList other) {
+        if (size + other.size > capacity)
+            allocate(Math.max(capacity * 2, size + other.size));
+        for (int c = 0; c < columns.length; c++)
+            System.arraycopy(other.columns[c], 0, columns[c], size, other.size);
+        size += other.size;
+        modCount++;
+    }
+
+    // List operations
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Row get(int index) {
+        checkIndex(index, size);
+        return new Row(this, index);
+    }
+
+    /**
+     * Copies the values of {@code row} into position {@code index}.
+     *
+     * @return a detached copy of the replaced record
+     * @throws IllegalArgumentException if {@code row} has another schema
+     */
+    @Override
+    public Row set(int index, Row row) {
+        checkIndex(index, size);
+        checkSchema(row);
+        Row old = detach(index);
+        copy(row, index);
+        return old;
+    }
+
+    /**
+     * Inserts a copy of the values of {@code row} at {@code index}.
+     *
+     * @throws IllegalArgumentException if {@code row} has another schema
+     */
+    @Override
+    public void add(int index, Row row) {
+        checkIndex(index, size + 1);
+        checkSchema(row);
+        maximizeColumns();
+        long[] values = values(row);
+        for (Object column : columns)
+            System.arraycopy(column, index, column, index + 1, size - index);
+        for (int c = 0; c < columns.length; c++)
+            setBits(index, c, values[c]);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the record at {@code index}.
+     *
+     * @return a detached copy of the removed record
+     */
+    @Override
+    public Row remove(int index) {
+        checkIndex(index, size);
+        Row removed = detach(index);
+        for (Object column : columns)
+            System.arraycopy(column, index + 1, column, index, size - index - 1);
+        size--;
+        modCount++;
+        minimizeColumns();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+        minimizeColumns();
+    }
+
+    /**
+     * Removes all of the records that satisfy the given predicate in a single
+     * compacting pass. The predicate sees one reused flyweight row.
+     *
+     * @param filter a predicate which returns {@code true} for records to be
+     *               removed
+     * @return {@code true} if any records were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Row> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        Row cursor = new Row(this, 0);
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            cursor.index = r;
+            if (filter.test(cursor))
+                continue;
+            if (w != r)
+                for (int c = 0; c < columns.length; c++)
+                    setBits(w, c, bits(r, c));
+            w++;
+        }
+        if (w == size)
+            return false;
+        size = w;
+        modCount++;
+        minimizeColumns();
+        return true;
+    }
+
+    /**
+     * Performs {@code action} for every record in order, passing one reused
+     * flyweight row moved from record to record. The row must not be kept
+     * after the call.
+     *
+     * @param action the action to be performed for each record
+     * @throws NullPointerException if {@code action} is null
+     */
+    public void forEachRow(Consumer<? super Row> action) {
+        if (action == null)
+            throw new NullPointerException();
+        Row cursor = new Row(this, 0);
+        for (int r = 0; r < size; r++) {
+            cursor.index = r;
+            action.accept(cursor);
+        }
+    }
+
+    private void checkSchema(Row row) {
+        if (!schema.equals(row.schema()))
+            throw new IllegalArgumentException("Row of schema " + row.schema() + " in list of " + schema);
+    }
+
+    private long[] values(Row row) {
+        long[] values = new long[columns.length];
+        for (int c = 0; c < columns.length; c++)
+            values[c] = row.list.bits(row.index, c);
+        return values;
+    }
+
+    private void copy(Row row, int index) {
+        long[] values = values(row);
+        for (int c = 0; c < columns.length; c++)
+            setBits(index, c, values[c]);
+    }
+
+    /**
+     * Returns the record at {@code index} as the only row of a new list of
+     * capacity one.
+     */
+    private Row detach(int index) {
+        ColumnarList single = new ColumnarList(schema, 1);
+        for (int c = 0; c < columns.length; c++)
+            single.setBits(0, c, bits(index, c));
+        single.size = 1;
+        return new Row(single, 0);
+    }
+
+    // Column scans and aggregates
+
+    /**
+     * Passes every value of the {@code INT} column {@code column} to
+     * {@code action}, in record order, straight from the column array.
+     *
+     * @param column position of the column
+     * @param action the action to be performed for each value
+     * @throws IllegalArgumentException if the column is not an {@code INT} one
+     */
+    public void forEachInt(int column, IntConsumer action) {
+        checkType(column, ColumnType.INT);
+        int[] values = (int[]) columns[column];
+        for (int r = 0; r < size; r++)
+            action.accept(values[r]);
+    }
+
+    /**
+     * Passes every value of the {@code LONG} column {@code column} to
+     * {@code action}, in record order, straight from the column array.
+     *
+     * @param column position of the column
+     * @param action the action to be performed for each value
+     * @throws IllegalArgumentException if the column is not a {@code LONG} one
+     */
+    public void forEachLong(int column, LongConsumer action) {
+        checkType(column, ColumnType.LONG);
+        long[] values = (long[]) columns[column];
+        for (int r = 0; r < size; r++)
+            action.accept(values[r]);
+    }
+
+    /**
+     * Passes every value of the {@code DOUBLE} column {@code column} to
+     * {@code action}, in record order, straight from the column array.
+     *
+     * @param column position of the column
+     * @param action the action to be performed for each value
+     * @throws IllegalArgumentException if the column is not a {@code DOUBLE} one
+     */
+    public void forEachDouble(int column, DoubleConsumer action) {
+        checkType(column, ColumnType.DOUBLE);
+        double[] values = (double[]) columns[column];
+        for (int r = 0; r < size; r++)
+            action.accept(values[r]);
+    }
+
+    /**
+     * Returns the sum of an {@code INT} or {@code LONG} column, overflowing
+     * silently like {@code long} arithmetic.
+     *
+     * @param column position of the column
+     * @return the sum of the column
+     * @throws IllegalArgumentException if the column is a {@code DOUBLE} one
+     */
+    public long sumAsLong(int column) {
+        long sum = 0;
+        switch (schema.type(column)) {
+            case INT:
+                int[] ints = (int[]) columns[column];
+                for (int r = 0; r < size; r++)
+                    sum += ints[r];
+                return sum;
+            case LONG:
+                long[] longs = (long[]) columns[column];
+                for (int r = 0; r < size; r++)
+                    sum += longs[r];
+                return sum;
+            default:
+                throw new IllegalArgumentException("Column " + schema.name(column) + " is not integral");
+        }
+    }
+
+    /**
+     * Returns the sum of a column of any type, as a {@code double}.
+     *
+     * @param column position of the column
+     * @return the sum of the column
+     */
+    public double sumAsDouble(int column) {
+        if (schema.type(column) != ColumnType.DOUBLE)
+            return sumAsLong(column);
+        double[] doubles = (double[]) columns[column];
+        double sum = 0;
+        for (int r = 0; r < size; r++)
+            sum += doubles[r];
+        return sum;
+    }
+
+    /**
+     * Returns count, sum, minimum, maximum and average of an {@code INT} or
+     * {@code LONG} column in one pass.
+     *
+     * @param column position of the column
+     * @return the statistics of the column
+     * @throws IllegalArgumentException if the column is a {@code DOUBLE} one
+     */
+    public LongSummaryStatistics summarizeLong(int column) {
+        LongSummaryStatistics statistics = new LongSummaryStatistics();
+        switch (schema.type(column)) {
+            case INT:
+                forEachInt(column, statistics::accept);
+                return statistics;
+            case LONG:
+                forEachLong(column, statistics);
+                return statistics;
+            default:
+                throw new IllegalArgumentException("Column " + schema.name(column) + " is not integral");
+        }
+    }
+
+    /**
+     * Returns count, sum, minimum, maximum and average of a {@code DOUBLE}
+     * column in one pass.
+     *
+     * @param column position of the column
+     * @return the statistics of the column
+     * @throws IllegalArgumentException if the column is not a {@code DOUBLE}
+     *                                  one
+     */
+    public DoubleSummaryStatistics summarizeDouble(int column) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        forEachDouble(column, statistics);
+        return statistics;
+    }
+
+    /**
+     * Returns the positions of the records matching {@code filter}, tested on
+     * one reused flyweight row.
+     *
+     * @param filter the condition records must meet
+     * @return the matching positions, in ascending order
+     * @throws NullPointerException if {@code filter} is null
+     */
+    public int[] indexesWhere(Predicate<? super Row> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        Row cursor = new Row(this, 0);
+        int[] matches = new int[Math.min(size, 16)];
+        int count = 0;
+        for (int r = 0; r < size; r++) {
+            cursor.index = r;
+            if (filter.test(cursor)) {
+                if (count == matches.length)
+                    matches = Arrays.copyOf(matches, count * 2);
+                matches[count++] = r;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+}
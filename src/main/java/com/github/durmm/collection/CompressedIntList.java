@@ -0,0 +1,383 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Sorted list of {@code int}s compressed with delta and varint encoding,
+ * for large posting lists of ids.
+ * <p>
+ * Values are stored in blocks of {@value #BLOCK_SIZE}. The first value of a
+ * block is kept uncompressed in a skip index together with the offset of the
+ * block in a byte array; every other value is stored as the difference to
+ * its predecessor, written as an unsigned varint of seven bits per byte. Ids
+ * that are close to each other thus take one or two bytes instead of the
+ * twenty or so of a boxed {@code Integer} in a list.
+ * <p>
+ * {@link #getInt(int)} decodes at most one block; {@link #containsInt(int)}
+ * and {@link #indexOfInt(int)} binary search the skip index and decode one
+ * block. Iteration decodes the blocks as a stream. {@link #intersect} and
+ * {@link #union} merge two lists in one pass; the intersection jumps over
+ * whole blocks of the longer list using the skip index, so intersecting a
+ * short list with a long one decodes only the blocks that may match.
+ * <p>
+ * Values must be appended in non-decreasing order; only appending and
+ * {@link #clear()} modify the list. The {@link java.util.List} methods box
+ * the values and {@code add} appends. This list is not thread
+ * safe.
+ */
+public class CompressedIntList extends AbstractList<Integer> {
+    /**
+     * Number of values per block of the skip index.
+     */
+    public static final int BLOCK_SIZE = 128;
+
+    private static final int defaultListSize = 10;
+
+    private byte[] data = new byte[64];
+    private int dataLength;
+    private int[] blockFirst = new int[defaultListSize];
+    private int[] blockOffset = new int[defaultListSize];
+    private int size;
+    private int last;
+
+    /**
+     * Creates an empty list
+     */
+    public CompressedIntList() {
+    }
+
+    /**
+     * Creates list of the given values
+     *
+     * @param values values in non-decreasing order
+     * @return a new list of {@code values}
+     * @throws IllegalArgumentException if {@code values} are not sorted
+     */
+    public static CompressedIntList of(int... values) {
+        CompressedIntList list = new CompressedIntList();
+        for (int value : values)
+            list.addInt(value);
+        return list;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private int blockCount() {
+        return (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Returns the number of bytes taken by the encoded values and the skip
+     * index.
+     *
+     * @return the compressed size in bytes
+     */
+    public long compressedBytes() {
+        return dataLength + (long) blockCount() * 2 * Integer.BYTES;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends {@code value} to the end of this list.
+     *
+     * @param value value to be appended
+     * @throws IllegalArgumentException if {@code value} is less than the
+     *                                  last value of this list
+     */
+    public void addInt(int value) {
+        if (size > 0 && value < last)
+            throw new IllegalArgumentException(
+                    "The value should not be less than the last one"
+            );
+        if (size % BLOCK_SIZE == 0) {
+            int block = size / BLOCK_SIZE;
+            if (block == blockFirst.length) {
+                blockFirst = Arrays.copyOf(blockFirst, block * 2);
+                blockOffset = Arrays.copyOf(blockOffset, block * 2);
+            }
+            blockFirst[block] = value;
+            blockOffset[block] = dataLength;
+        } else {
+            writeVarint(value - last);
+        }
+        last = value;
+        size++;
+        modCount++;
+    }
+
+    private void writeVarint(int delta) {
+        if (dataLength + 5 > data.length)
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + 5));
+        while ((delta & ~0x7F) != 0) {
+            data[dataLength++] = (byte) (delta & 0x7F | 0x80);
+            delta >>>= 7;
+        }
+        data[dataLength++] = (byte) delta;
+    }
+
+    /**
+     * Returns the value at the specified position in this list, decoding at
+     * most one block.
+     *
+     * @param index index of the value to return
+     * @return the value at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        Cursor cursor = new Cursor();
+        cursor.seekBlock(index / BLOCK_SIZE);
+        for (int i = index % BLOCK_SIZE; i > 0; i--)
+            cursor.next();
+        return cursor.value;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        if (index != size)
+            throw new UnsupportedOperationException("CompressedIntList only appends");
+        addInt(element);
+    }
+
+    @Override
+    public void clear() {
+        data = new byte[64];
+        dataLength = 0;
+        blockFirst = new int[defaultListSize];
+        blockOffset = new int[defaultListSize];
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the last block from {@code fromBlock} on whose first value is
+     * less than {@code value}, or {@code fromBlock} if there is none. Since
+     * equal values may span blocks, the first value not less than
+     * {@code value} is never before that block.
+     */
+    private int blockBefore(int value, int fromBlock) {
+        int low = fromBlock + 1;
+        int high = blockCount() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blockFirst[mid] < value)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+        return Math.max(high, fromBlock);
+    }
+
+    /**
+     * Returns the index of the first occurrence of {@code value}, or -1 if
+     * this list does not contain it.
+     *
+     * @param value value to search for
+     * @return the index of the first occurrence, or -1
+     */
+    public int indexOfInt(int value) {
+        if (size == 0)
+            return -1;
+        Cursor cursor = new Cursor();
+        cursor.seekBlock(blockBefore(value, 0));
+        return cursor.advanceTo(value) && cursor.value == value ? cursor.index : -1;
+    }
+
+    /**
+     * Returns {@code true} if this list contains {@code value}.
+     *
+     * @param value value whose presence is to be tested
+     * @return {@code true} if this list contains {@code value}
+     */
+    public boolean containsInt(int value) {
+        return indexOfInt(value) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && containsInt((Integer) o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof Integer ? indexOfInt((Integer) o) : -1;
+    }
+
+    /**
+     * Returns an iterator decoding the values of this list in order.
+     *
+     * @return a streaming iterator over the values
+     */
+    public PrimitiveIterator.OfInt intIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private final Cursor cursor = new Cursor();
+            private final int expectedModCount = modCount;
+            private boolean started;
+
+            @Override
+            public boolean hasNext() {
+                return started ? cursor.hasNext() : size > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                if (started) {
+                    cursor.next();
+                } else {
+                    cursor.seekBlock(0);
+                    started = true;
+                }
+                return cursor.value;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return intIterator();
+    }
+
+    /**
+     * Returns the distinct values present in both this list and
+     * {@code other}, in ascending order. The longer list is advanced with
+     * its skip index, decoding only the blocks that may hold a match.
+     *
+     * @param other list to intersect with
+     * @return a new list of the common values
+     * @throws NullPointerException if {@code other} is null
+     */
+    public CompressedIntList intersect(CompressedIntList other) {
+        CompressedIntList shorter = size <= other.size ? this : other;
+        CompressedIntList longer = shorter == this ? other : this;
+        CompressedIntList result = new CompressedIntList();
+        if (shorter.size == 0)
+            return result;
+        Cursor probe = longer.new Cursor();
+        probe.seekBlock(0);
+        boolean exhausted = false;
+        for (PrimitiveIterator.OfInt values = shorter.intIterator(); values.hasNext() && !exhausted; ) {
+            int value = values.nextInt();
+            if (result.size > 0 && result.last == value)
+                continue;
+            exhausted = !probe.advanceTo(value);
+            if (!exhausted && probe.value == value)
+                result.addInt(value);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct values present in this list or {@code other}, in
+     * ascending order.
+     *
+     * @param other list to unite with
+     * @return a new list of the values of both lists
+     * @throws NullPointerException if {@code other} is null
+     */
+    public CompressedIntList union(CompressedIntList other) {
+        CompressedIntList result = new CompressedIntList();
+        PrimitiveIterator.OfInt a = intIterator();
+        PrimitiveIterator.OfInt b = other.intIterator();
+        boolean hasA = a.hasNext();
+        boolean hasB = b.hasNext();
+        int x = hasA ? a.nextInt() : 0;
+        int y = hasB ? b.nextInt() : 0;
+        while (hasA || hasB) {
+            int value;
+            if (hasA && (!hasB || x <= y)) {
+                value = x;
+                if (hasB && x == y) {
+                    hasB = b.hasNext();
+                    y = hasB ? b.nextInt() : 0;
+                }
+                hasA = a.hasNext();
+                x = hasA ? a.nextInt() : 0;
+            } else {
+                value = y;
+                hasB = b.hasNext();
+                y = hasB ? b.nextInt() : 0;
+            }
+            if (result.size == 0 || result.last != value)
+                result.addInt(value);
+        }
+        return result;
+    }
+
+    /**
+     * Decoding position: the value at {@code index} and the offset of the
+     * delta of the next one.
+     */
+    private final class Cursor {
+        int index;
+        int value;
+        int offset;
+
+        void seekBlock(int block) {
+            index = block * BLOCK_SIZE;
+            value = blockFirst[block];
+            offset = blockOffset[block];
+        }
+
+        boolean hasNext() {
+            return index + 1 < size;
+        }
+
+        void next() {
+            index++;
+            if (index % BLOCK_SIZE == 0) {
+                seekBlock(index / BLOCK_SIZE);
+                return;
+            }
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+        }
+
+        /**
+         * Moves forward to the first value not less than {@code target},
+         * jumping over blocks that end before it. Returns {@code false} if
+         * there is no such value.
+         */
+        boolean advanceTo(int target) {
+            if (value >= target)
+                return true;
+            int block = blockBefore(target, index / BLOCK_SIZE);
+            if (block > index / BLOCK_SIZE)
+                seekBlock(block);
+            while (value < target) {
+                if (!hasNext())
+                    return false;
+                next();
+            }
+            return true;
+        }
+    }
+}
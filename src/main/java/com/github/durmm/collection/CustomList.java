@@ -1,175 +1,13 @@
 package com.github.durmm.collection;
 
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
-import java.util.ListIterator;
-
 /**
- * TODO: Rename class to express its implementation main goal.
- * <p>
- * TODO: Write proper documentation.
+ * Former name of {@link UnrolledLinkedList}.
  *
  * @param <E> The type of elements in this list.
  * @author Gaya Gyulnazaryan
+ * @deprecated renamed to {@link UnrolledLinkedList}, which says what it is;
+ * this alias will be removed in a future release.
  */
-public class CustomList<E> implements List<E> {
-
-    private Object[] array = new Object[16];
-    private int size;
-
-    private void extendArrayLength() {
-        Object[] newArray = new Object[array.length * 2];
-        for (int i = 0; i < array.length; i++) {
-            newArray[i] = array[i];
-        }
-        array = newArray;
-    }
-
-    @Override
-    public int size() {
-        return size;
-    }
-
-    @Override
-    public boolean isEmpty() {
-        return size() == 0;
-    }
-
-    @Override
-    public boolean contains(Object o) {
-        Object o1;
-        for (int i = 0; i < size; i++) {
-            o1 = array[i];
-            if (o1 == null && o == null) {
-                return true;
-            } else if (o1 != null && o1.equals(o)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    @Override
-    public Iterator<E> iterator() {
-        return null;
-    }
-
-    @Override
-    public Object[] toArray() {
-        return new Object[0];
-    }
-
-    @Override
-    public <T> T[] toArray(T[] a) {
-        return null;
-    }
-
-    @Override
-    public boolean add(E e) {
-        if (size == array.length) {
-            extendArrayLength();
-        }
-        array[size++] = e;
-        return true;
-    }
-
-    @Override
-    public boolean remove(Object o) {
-        if (!contains(o)) {
-            return false;
-        }
-        return false;
-    }
-
-    @Override
-    public boolean containsAll(Collection<?> c) {
-        if (c == null) {
-            throw new NullPointerException("The collection cannot be null.");
-        }
-
-        for (Object o: c) {
-            if (!contains(o)) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
-    @Override
-    public boolean addAll(Collection<? extends E> c) {
-        return false;
-    }
-
-    @Override
-    public boolean addAll(int index, Collection<? extends E> c) {
-        return false;
-    }
-
-    @Override
-    public boolean removeAll(Collection<?> c) {
-        return false;
-    }
-
-    @Override
-    public boolean retainAll(Collection<?> c) {
-        return false;
-    }
-
-    @Override
-    public void clear() {
-
-    }
-
-    @SuppressWarnings("unchecked")
-    @Override
-    public E get(int index) {
-        if (index < 0 || index > size - 1) {
-            throw new IndexOutOfBoundsException();
-        }
-
-        return (E) array[index];
-    }
-
-    @Override
-    public E set(int index, E element) {
-        return null;
-    }
-
-    @Override
-    public void add(int index, E element) {
-
-    }
-
-    @Override
-    public E remove(int index) {
-        return null;
-    }
-
-    @Override
-    public int indexOf(Object o) {
-
-        return 0;
-    }
-
-    @Override
-    public int lastIndexOf(Object o) {
-        return 0;
-    }
-
-    @Override
-    public ListIterator<E> listIterator() {
-        return null;
-    }
-
-    @Override
-    public ListIterator<E> listIterator(int index) {
-        return null;
-    }
-
-    @Override
-    public List<E> subList(int fromIndex, int toIndex) {
-        return null;
-    }
+@Deprecated
+public class CustomList<E> extends UnrolledLinkedList<E> {
 }
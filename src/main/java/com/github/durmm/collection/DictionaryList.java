@@ -0,0 +1,391 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Dictionary encoded list, for elements drawn from a small set of distinct
+ * values.
+ * <p>
+ * Each distinct value is stored once in a dictionary and mapped to an
+ * {@code int} code; the list itself is an array of codes. Codes start out
+ * packed in a {@code byte[]} and the array is widened to {@code short[]}
+ * once more than 256 distinct values are present, then to {@code int[]}
+ * beyond 65536, so a list of a few dozen distinct strings takes one byte per
+ * element instead of a reference. Codes of values that leave the list are
+ * reused; the array is only narrowed again by {@link #clear()}.
+ * <p>
+ * Looking an element up hashes it once into the dictionary; {@link #indexOf},
+ * {@link #lastIndexOf} and {@link #removeAll(Object)} then compare codes
+ * instead of calling {@code equals} on every element. The list maintains the
+ * number of occurrences of every code, so {@link #contains} and
+ * {@link #frequency(Object)} are {@code O(1)}. Equal elements share the
+ * instance added first, and predicates passed to the bulk operations are
+ * tested once per distinct value. This list is not thread safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class DictionaryList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int defaultListSize = 10;
+
+    private int size;
+
+    /**
+     * Bytes per code: 1, 2 or 4. Only the array of that width is allocated.
+     */
+    private int width = 1;
+    private byte[] bytes = new byte[defaultListSize];
+    private short[] shorts;
+    private int[] ints;
+    private int capacity = defaultListSize;
+
+    private final Map<Object, Integer> codes = new HashMap<>();
+    private Object[] dictionary = new Object[defaultListSize];
+    private int[] frequencies = new int[defaultListSize];
+    private int nextCode;
+    private int[] freeCodes = new int[defaultListSize];
+    private int freeCount;
+
+    /**
+     * Creates an empty list
+     */
+    public DictionaryList() {
+    }
+
+    /**
+     * Creates list containing the elements of {@code c}, in iteration order
+     *
+     * @param c the collection whose elements are to be placed into this list
+     * @throws NullPointerException if {@code c} is null
+     */
+    public DictionaryList(Collection<? extends E> c) {
+        addAll(c);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Returns the number of distinct elements in this list.
+     *
+     * @return the number of distinct elements
+     */
+    public int cardinality() {
+        return codes.size();
+    }
+
+    /**
+     * Returns the number of bytes each element currently takes: 1, 2 or 4.
+     *
+     * @return the width of a code in bytes
+     */
+    public int codeWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of occurrences of {@code o} in this list, in
+     * {@code O(1)}.
+     *
+     * @param o element whose occurrences are counted
+     * @return the number of elements equal to {@code o}
+     */
+    public int frequency(Object o) {
+        Integer code = codes.get(o);
+        return code == null ? 0 : frequencies[code];
+    }
+
+    /**
+     * Returns the distinct elements of this list with their number of
+     * occurrences, in the order their codes were assigned.
+     *
+     * @return a new map from element to frequency
+     */
+    public Map<E, Integer> histogram() {
+        Map<E, Integer> histogram = new LinkedHashMap<>();
+        for (int code = 0; code < nextCode; code++)
+            if (frequencies[code] > 0)
+                histogram.put((E) dictionary[code], frequencies[code]);
+        return histogram;
+    }
+
+    // Codes
+
+    private int code(int index) {
+        if (width == 1)
+            return bytes[index] & 0xFF;
+        if (width == 2)
+            return shorts[index] & 0xFFFF;
+        return ints[index];
+    }
+
+    private void setCode(int index, int code) {
+        if (width == 1)
+            bytes[index] = (byte) code;
+        else if (width == 2)
+            shorts[index] = (short) code;
+        else
+            ints[index] = code;
+    }
+
+    private Object packed() {
+        return width == 1 ? bytes : width == 2 ? shorts : ints;
+    }
+
+    private void allocate(int newWidth, int newCapacity, boolean widen) {
+        Object old = packed();
+        int oldWidth = width;
+        byte[] oldBytes = bytes;
+        short[] oldShorts = shorts;
+        bytes = null;
+        shorts = null;
+        ints = null;
+        if (newWidth == 1)
+            bytes = new byte[newCapacity];
+        else if (newWidth == 2)
+            shorts = new short[newCapacity];
+        else
+            ints = new int[newCapacity];
+        width = newWidth;
+        capacity = newCapacity;
+        if (!widen) {
+            System.arraycopy(old, 0, packed(), 0, size);
+            return;
+        }
+        for (int i = 0; i < size; i++)
+            setCode(i, oldWidth == 1 ? oldBytes[i] & 0xFF : oldShorts[i] & 0xFFFF);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity)
+            allocate(width, Math.max(capacity * 2, minCapacity), false);
+    }
+
+    /**
+     * Returns the code of {@code e}, assigning one if it is not in the
+     * dictionary yet and widening the codes when it does not fit.
+     */
+    private int encode(E e) {
+        Integer known = codes.get(e);
+        if (known != null)
+            return known;
+        int code;
+        if (freeCount > 0) {
+            code = freeCodes[--freeCount];
+        } else {
+            code = nextCode++;
+            if (code == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, code * 2);
+                frequencies = Arrays.copyOf(frequencies, code * 2);
+            }
+        }
+        if (width == 1 && code > 0xFF)
+            allocate(2, capacity, true);
+        else if (width == 2 && code > 0xFFFF)
+            allocate(4, capacity, true);
+        dictionary[code] = e;
+        codes.put(e, code);
+        return code;
+    }
+
+    /**
+     * Drops one occurrence of {@code code}, freeing the code with its last
+     * occurrence.
+     */
+    private void release(int code) {
+        if (--frequencies[code] == 0) {
+            codes.remove(dictionary[code]);
+            dictionary[code] = null;
+            if (freeCount == freeCodes.length)
+                freeCodes = Arrays.copyOf(freeCodes, freeCount * 2);
+            freeCodes[freeCount++] = code;
+        }
+    }
+
+    // List operations
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size);
+        return (E) dictionary[code(index)];
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        int old = code(index);
+        E oldValue = (E) dictionary[old];
+        int code = encode(element);
+        frequencies[code]++;
+        setCode(index, code);
+        release(old);
+        return oldValue;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        int code = encode(element);
+        ensureCapacity(size + 1);
+        Object packed = packed();
+        System.arraycopy(packed, index, packed, index + 1, size - index);
+        setCode(index, code);
+        frequencies[code]++;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size);
+        int code = code(index);
+        E removed = (E) dictionary[code];
+        Object packed = packed();
+        System.arraycopy(packed, index + 1, packed, index, size - index - 1);
+        size--;
+        release(code);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        width = 1;
+        bytes = new byte[defaultListSize];
+        shorts = null;
+        ints = null;
+        capacity = defaultListSize;
+        codes.clear();
+        dictionary = new Object[defaultListSize];
+        frequencies = new int[defaultListSize];
+        nextCode = 0;
+        freeCount = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return codes.containsKey(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        Integer code = codes.get(o);
+        if (code == null)
+            return -1;
+        for (int i = 0; i < size; i++)
+            if (code(i) == code)
+                return i;
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        Integer code = codes.get(o);
+        if (code == null)
+            return -1;
+        for (int i = size - 1; i >= 0; i--)
+            if (code(i) == code)
+                return i;
+        return -1;
+    }
+
+    /**
+     * Removes all occurrences of the specified element from this list,
+     * comparing codes in a single pass.
+     *
+     * @param e element to be removed from this list, if present
+     * @return {@code true} if this list contained the specified element
+     */
+    public boolean removeAll(E e) {
+        Integer code = codes.get(e);
+        if (code == null)
+            return false;
+        boolean[] removed = new boolean[nextCode];
+        removed[code] = true;
+        return removeCodes(removed);
+    }
+
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate, testing each distinct element once.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        boolean[] removed = new boolean[nextCode];
+        boolean any = false;
+        for (int code = 0; code < nextCode; code++)
+            if (frequencies[code] > 0 && filter.test((E) dictionary[code]))
+                any = removed[code] = true;
+        return any && removeCodes(removed);
+    }
+
+    private boolean removeCodes(boolean[] removed) {
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            int code = code(r);
+            if (!removed[code])
+                setCode(w++, code);
+        }
+        if (w == size)
+            return false;
+        size = w;
+        for (int code = 0; code < removed.length; code++) {
+            if (removed[code]) {
+                frequencies[code] = 1;
+                release(code);
+            }
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        for (int i = 0; modCount == expectedModCount && i < size; i++)
+            action.accept((E) dictionary[code(i)]);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+}
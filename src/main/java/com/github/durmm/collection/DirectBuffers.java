@@ -0,0 +1,62 @@
+package com.github.durmm.collection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases the native memory of direct buffers without waiting for the
+ * garbage collector.
+ * <p>
+ * There is no public API for this, so the JDK internals are reached through
+ * reflection: {@code Unsafe.invokeCleaner} on Java 9 and later, the buffer's
+ * {@code cleaner()} on Java 8. If neither is accessible, {@link #free} does
+ * nothing and the memory is released when the buffer becomes unreachable.
+ */
+final class DirectBuffers {
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private DirectBuffers() {
+    }
+
+    /**
+     * Frees the memory of {@code buffer}, which must not be used afterwards.
+     * Heap buffers, duplicates and slices are ignored.
+     *
+     * @param buffer the buffer to release
+     */
+    static void free(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect())
+            return;
+        try {
+            if (INVOKE_CLEANER != null) {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } else {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null)
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // not releasable here: the garbage collector will do it
+        }
+    }
+}
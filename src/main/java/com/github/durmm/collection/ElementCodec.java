@@ -0,0 +1,60 @@
+package com.github.durmm.collection;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts single list elements to and from their binary form.
+ * <p>
+ * Codecs are either fixed width, when every element occupies exactly
+ * {@link #fixedLength()} bytes, or {@link #VARIABLE} width, in which case the
+ * caller stores the length returned by {@link #encodedLength(Object)} next to
+ * the payload and hands it back to {@link #decode(ByteBuffer, int)}.
+ *
+ * @param <E> the type of elements this codec handles
+ * @see ElementCodecs
+ */
+public interface ElementCodec<E> {
+    /**
+     * Value of {@link #fixedLength()} for codecs whose elements vary in size.
+     */
+    int VARIABLE = -1;
+
+    /**
+     * Returns the number of bytes every element occupies, or {@link #VARIABLE}
+     * if the size depends on the element.
+     *
+     * @return the fixed element width, or {@link #VARIABLE}
+     */
+    int fixedLength();
+
+    /**
+     * Returns the number of bytes {@link #encode(Object, ByteBuffer)} writes for
+     * {@code element}.
+     *
+     * @param element the element to measure
+     * @return the encoded length in bytes
+     * @throws NullPointerException if the codec does not support null elements
+     */
+    int encodedLength(E element);
+
+    /**
+     * Writes {@code element} at the position of {@code target}, advancing it by
+     * exactly {@link #encodedLength(Object)} bytes.
+     *
+     * @param element the element to write
+     * @param target  the buffer, with at least {@code encodedLength(element)}
+     *                bytes remaining
+     * @throws NullPointerException if the codec does not support null elements
+     */
+    void encode(E element, ByteBuffer target);
+
+    /**
+     * Reads one element of {@code length} bytes at the position of
+     * {@code source}, advancing it by exactly {@code length} bytes.
+     *
+     * @param source the buffer, with at least {@code length} bytes remaining
+     * @param length the encoded length of the element
+     * @return the decoded element
+     */
+    E decode(ByteBuffer source, int length);
+}
@@ -0,0 +1,206 @@
+package com.github.durmm.collection;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Ready made {@link ElementCodec} and {@link RecordCodec} implementations for
+ * common element types.
+ * <p>
+ * Numbers are stored big-endian in their natural width, strings as UTF-8
+ * encoded directly into the target buffer without an intermediate
+ * {@code byte[]}. None of the codecs accepts {@code null}; length-prefixed
+ * formats such as {@link MyListSerializer} record nulls themselves.
+ */
+public final class ElementCodecs {
+
+    private ElementCodecs() {
+    }
+
+    /**
+     * Returns a fixed width codec storing each {@link Integer} in 4 bytes.
+     *
+     * @return the integer codec
+     */
+    public static ElementCodec<Integer> integers() {
+        return IntegerCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a fixed width codec storing each {@link Long} in 8 bytes.
+     *
+     * @return the long codec
+     */
+    public static ElementCodec<Long> longs() {
+        return LongCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a record codec storing each {@link Integer} in 4 bytes.
+     *
+     * @return the integer record codec
+     */
+    public static RecordCodec<Integer> integerRecords() {
+        return IntegerCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a record codec storing each {@link Long} in 8 bytes.
+     *
+     * @return the long record codec
+     */
+    public static RecordCodec<Long> longRecords() {
+        return LongCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a variable width codec storing each {@link String} as UTF-8.
+     *
+     * @return the string codec
+     */
+    public static ElementCodec<String> strings() {
+        return StringCodec.INSTANCE;
+    }
+
+    private enum IntegerCodec implements ElementCodec<Integer>, RecordCodec<Integer> {
+        INSTANCE;
+
+        @Override
+        public int fixedLength() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public int encodedLength(Integer element) {
+            if (element == null)
+                throw new NullPointerException("Integer codec does not support null elements");
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer element, ByteBuffer target) {
+            target.putInt(element);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer source, int length) {
+            return source.getInt();
+        }
+
+        @Override
+        public int recordLength() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer element, ByteBuffer target, int offset) {
+            target.putInt(offset, element);
+        }
+
+        @Override
+        public Integer read(ByteBuffer source, int offset) {
+            return source.getInt(offset);
+        }
+    }
+
+    private enum LongCodec implements ElementCodec<Long>, RecordCodec<Long> {
+        INSTANCE;
+
+        @Override
+        public int fixedLength() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public int encodedLength(Long element) {
+            if (element == null)
+                throw new NullPointerException("Long codec does not support null elements");
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long element, ByteBuffer target) {
+            target.putLong(element);
+        }
+
+        @Override
+        public Long decode(ByteBuffer source, int length) {
+            return source.getLong();
+        }
+
+        @Override
+        public int recordLength() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long element, ByteBuffer target, int offset) {
+            target.putLong(offset, element);
+        }
+
+        @Override
+        public Long read(ByteBuffer source, int offset) {
+            return source.getLong(offset);
+        }
+    }
+
+    private enum StringCodec implements ElementCodec<String> {
+        INSTANCE;
+
+        @Override
+        public int fixedLength() {
+            return VARIABLE;
+        }
+
+        @Override
+        public int encodedLength(String element) {
+            int length = 0;
+            for (int i = 0; i < element.length(); i++) {
+                char c = element.charAt(i);
+                if (c < 0x80)
+                    length += 1;
+                else if (c < 0x800)
+                    length += 2;
+                else if (Character.isHighSurrogate(c) && i + 1 < element.length()
+                        && Character.isLowSurrogate(element.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else
+                    length += 3;
+            }
+            return length;
+        }
+
+        @Override
+        public void encode(String element, ByteBuffer target) {
+            for (int i = 0; i < element.length(); i++) {
+                char c = element.charAt(i);
+                if (c < 0x80) {
+                    target.put((byte) c);
+                } else if (c < 0x800) {
+                    target.put((byte) (0xC0 | c >> 6));
+                    target.put((byte) (0x80 | c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < element.length()
+                        && Character.isLowSurrogate(element.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, element.charAt(++i));
+                    target.put((byte) (0xF0 | cp >> 18));
+                    target.put((byte) (0x80 | cp >> 12 & 0x3F));
+                    target.put((byte) (0x80 | cp >> 6 & 0x3F));
+                    target.put((byte) (0x80 | cp & 0x3F));
+                } else {
+                    // a lone surrogate is kept as its 3 byte form and decodes to U+FFFD
+                    target.put((byte) (0xE0 | c >> 12));
+                    target.put((byte) (0x80 | c >> 6 & 0x3F));
+                    target.put((byte) (0x80 | c & 0x3F));
+                }
+            }
+        }
+
+        @Override
+        public String decode(ByteBuffer source, int length) {
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
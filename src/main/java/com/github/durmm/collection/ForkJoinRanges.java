@@ -0,0 +1,73 @@
+package com.github.durmm.collection;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits an index range into leaves of {@link #LEAF_SIZE} indices and
+ * processes them on the common fork/join pool.
+ * <p>
+ * Every leaf but the last starts at a multiple of {@link #LEAF_SIZE}, so
+ * {@code from / LEAF_SIZE} numbers the leaves and {@code from / 64} the
+ * {@code long} words of a bitmap over the range; since the leaf size is a
+ * multiple of 64, no two leaves ever share a bitmap word.
+ */
+final class ForkJoinRanges {
+    /**
+     * Number of indices processed sequentially by one task.
+     */
+    static final int LEAF_SIZE = 8192;
+
+    /**
+     * Work done on one leaf, {@code from} inclusive and {@code to} exclusive.
+     */
+    interface RangeAction {
+        void apply(int from, int to);
+    }
+
+    private ForkJoinRanges() {
+    }
+
+    /**
+     * Returns the number of leaves {@code [0, size)} is split into.
+     */
+    static int leafCount(int size) {
+        return (size + LEAF_SIZE - 1) / LEAF_SIZE;
+    }
+
+    /**
+     * Runs {@code action} on every leaf of {@code [0, size)} and waits for all
+     * of them. Ranges of a single leaf run on the calling thread.
+     */
+    static void forEachLeaf(int size, RangeAction action) {
+        if (size <= LEAF_SIZE) {
+            if (size > 0)
+                action.apply(0, size);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new LeafTask(0, size, action));
+    }
+
+    private static final class LeafTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final RangeAction action;
+
+        LeafTask(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            int leaves = leafCount(to - from);
+            if (leaves <= 1) {
+                action.apply(from, to);
+                return;
+            }
+            int mid = from + leaves / 2 * LEAF_SIZE;
+            invokeAll(new LeafTask(from, mid, action), new LeafTask(mid, to, action));
+        }
+    }
+}
@@ -0,0 +1,556 @@
+package com.github.durmm.collection;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * {@link MyList} whose mutations are recorded in a write-ahead journal, so
+ * the list survives a crash without being rewritten on every change.
+ * <p>
+ * The list lives in a directory holding two files. {@code snapshot} is a
+ * {@link MyListSerializer} image of the list at some point, and
+ * {@code journal} is an append-only log of every {@code add}, {@code set},
+ * {@code remove}, {@code addAll}, bulk removal and {@code clear} performed
+ * since. Each journal record carries its length and a CRC32, so a record
+ * torn by a crash is detected and dropped when the list is
+ * {@link #open opened} again, which replays the journal over the snapshot.
+ * <p>
+ * Records are committed in groups: they are buffered and written with a
+ * single {@code fsync} once {@code syncBatchSize} of them accumulated, or on
+ * {@link #sync()} and {@link #close()}. A crash may thus lose up to
+ * {@code syncBatchSize - 1} of the latest mutations, never earlier ones.
+ * When the journal outgrows {@code snapshotThreshold} bytes, a new snapshot
+ * is written and the journal truncated. Both files carry an epoch number
+ * so a journal left over from before the latest snapshot is never replayed
+ * twice.
+ * <p>
+ * An {@link UncheckedIOException} thrown by a mutation leaves the list
+ * changed in memory but possibly not on disk; such a list should be closed
+ * and reopened. This list is not thread safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class JournaledList<E> extends AbstractList<E> implements RandomAccess, Closeable {
+    /**
+     * Journal size after which {@link #open(Path, ElementCodec)} lists take a
+     * snapshot.
+     */
+    public static final long DEFAULT_SNAPSHOT_THRESHOLD = 64L << 20;
+
+    private static final String SNAPSHOT = "snapshot";
+    private static final String SNAPSHOT_TMP = "snapshot.tmp";
+    private static final String JOURNAL = "journal";
+
+    private static final int MAGIC = 0x4D794A6C; // "MyJl"
+    private static final int JOURNAL_HEADER_LENGTH = Integer.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER_LENGTH = 2 * Integer.BYTES;
+    private static final int NULL_LENGTH = -1;
+
+    private static final byte ADD = 1;
+    private static final byte SET = 2;
+    private static final byte REMOVE = 3;
+    private static final byte ADD_ALL = 4;
+    private static final byte CLEAR = 5;
+    private static final byte REMOVE_ALL = 6;
+
+    private final Path directory;
+    private final ElementCodec<E> codec;
+    private final MyListSerializer<E> serializer;
+    private final int syncBatchSize;
+    private final long snapshotThreshold;
+    private final FileChannel journal;
+    private final CRC32 crc = new CRC32();
+    private final MyList<E> list;
+    private ByteBuffer pending = ByteBuffer.allocate(4096);
+    private int pendingRecords;
+    private int recordStart;
+    private long epoch;
+
+    private JournaledList(Path directory, ElementCodec<E> codec, int syncBatchSize,
+                          long snapshotThreshold) throws IOException {
+        this.directory = directory;
+        this.codec = codec;
+        this.serializer = new MyListSerializer<>(codec);
+        this.syncBatchSize = syncBatchSize;
+        this.snapshotThreshold = snapshotThreshold;
+        this.list = readSnapshot();
+        this.journal = FileChannel.open(directory.resolve(JOURNAL), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            replayJournal();
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the list stored in {@code directory}, creating an empty one if
+     * there is none. Every mutation is synced before it returns.
+     *
+     * @param directory the directory holding the snapshot and the journal
+     * @param codec     codec for the list elements
+     * @param <E>       the type of elements in the list
+     * @return the list, as it was after the last synced mutation
+     * @throws StreamCorruptedException if the files do not hold a journaled list
+     * @throws IOException              if the files cannot be read or written
+     */
+    public static <E> JournaledList<E> open(Path directory, ElementCodec<E> codec) throws IOException {
+        return open(directory, codec, 1, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    /**
+     * Opens the list stored in {@code directory}, creating an empty one if
+     * there is none.
+     *
+     * @param directory         the directory holding the snapshot and the journal
+     * @param codec             codec for the list elements
+     * @param syncBatchSize     number of mutations committed by one {@code fsync}
+     * @param snapshotThreshold journal size in bytes that triggers a snapshot
+     * @param <E>               the type of elements in the list
+     * @return the list, as it was after the last synced mutation
+     * @throws IllegalArgumentException if {@code syncBatchSize} or
+     *                                  {@code snapshotThreshold} is not positive
+     * @throws StreamCorruptedException if the files do not hold a journaled list
+     * @throws IOException              if the files cannot be read or written
+     */
+    public static <E> JournaledList<E> open(Path directory, ElementCodec<E> codec, int syncBatchSize,
+                                            long snapshotThreshold) throws IOException {
+        if (directory == null || codec == null)
+            throw new NullPointerException();
+        if (syncBatchSize <= 0 || snapshotThreshold <= 0)
+            throw new IllegalArgumentException(
+                    "The syncBatchSize and snapshotThreshold should be positive"
+            );
+        Files.createDirectories(directory);
+        return new JournaledList<>(directory, codec, syncBatchSize, snapshotThreshold);
+    }
+
+    // Recovery
+
+    private MyList<E> readSnapshot() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT);
+        if (!Files.exists(snapshot)) {
+            epoch = 0;
+            return new MyList<>();
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+            if (!readFully(channel, header))
+                throw new EOFException("Truncated snapshot");
+            epoch = header.getLong(0);
+            return serializer.read(channel);
+        }
+    }
+
+    /**
+     * Applies every intact record of the journal, cuts off a torn tail and
+     * leaves the channel positioned for appending.
+     */
+    private void replayJournal() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_LENGTH);
+        boolean complete = readFully(journal, header);
+        if (header.position() >= Integer.BYTES && header.getInt(0) != MAGIC)
+            throw new StreamCorruptedException("Not a JournaledList journal");
+        if (!complete || header.getLong(Integer.BYTES) != epoch) {
+            // new, torn while being reset, or written before the current snapshot
+            resetJournal();
+            return;
+        }
+        long end = journal.position();
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+        while (readFully(journal, recordHeader)) {
+            int length = recordHeader.getInt(0);
+            if (length <= 0 || length > journal.size() - journal.position())
+                break;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            if (!readFully(journal, body))
+                break;
+            crc.reset();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != recordHeader.getInt(Integer.BYTES))
+                break;
+            body.flip();
+            apply(body);
+            end = journal.position();
+            recordHeader.clear();
+        }
+        journal.truncate(end);
+        journal.position(end);
+    }
+
+    private void apply(ByteBuffer record) {
+        byte op = record.get();
+        int index = record.getInt();
+        switch (op) {
+            case ADD:
+                list.add(index, readElement(record));
+                break;
+            case SET:
+                list.set(index, readElement(record));
+                break;
+            case REMOVE:
+                list.remove(index);
+                break;
+            case ADD_ALL:
+                int count = record.getInt();
+                MyList<E> elements = new MyList<>(Math.max(count, 1));
+                for (int i = 0; i < count; i++)
+                    elements.add(readElement(record));
+                list.addAll(index, elements);
+                break;
+            case CLEAR:
+                list.clear();
+                break;
+            case REMOVE_ALL:
+                int[] removed = new int[index];
+                for (int i = 0; i < index; i++)
+                    removed[i] = record.getInt();
+                removeIndices(removed, index);
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record type " + op);
+        }
+    }
+
+    private E readElement(ByteBuffer record) {
+        int length = record.getInt();
+        return length == NULL_LENGTH ? null : codec.decode(record, length);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer target) throws IOException {
+        while (target.hasRemaining())
+            if (channel.read(target) < 0)
+                return false;
+        return true;
+    }
+
+    private void resetJournal() throws IOException {
+        journal.truncate(0);
+        journal.position(0);
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_LENGTH);
+        header.putInt(MAGIC).putLong(epoch).flip();
+        while (header.hasRemaining())
+            journal.write(header);
+        journal.force(true);
+    }
+
+    // Journal writing
+
+    private void ensurePending(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    private void beginRecord(byte op, int index) {
+        ensurePending(RECORD_HEADER_LENGTH + 1 + Integer.BYTES);
+        recordStart = pending.position();
+        pending.position(recordStart + RECORD_HEADER_LENGTH);
+        pending.put(op).putInt(index);
+    }
+
+    private void writeElement(E e) {
+        int length = e == null ? NULL_LENGTH : codec.encodedLength(e);
+        ensurePending(Integer.BYTES + Math.max(length, 0));
+        pending.putInt(length);
+        if (length != NULL_LENGTH)
+            codec.encode(e, pending);
+    }
+
+    private void endRecord() {
+        int bodyStart = recordStart + RECORD_HEADER_LENGTH;
+        int length = pending.position() - bodyStart;
+        crc.reset();
+        crc.update(pending.array(), bodyStart, length);
+        pending.putInt(recordStart, length);
+        pending.putInt(recordStart + Integer.BYTES, (int) crc.getValue());
+        if (++pendingRecords >= syncBatchSize)
+            commit();
+    }
+
+    /**
+     * Writes the buffered records and waits for them to reach the disk, then
+     * takes a snapshot if the journal grew too large.
+     */
+    private void commit() {
+        try {
+            pending.flip();
+            while (pending.hasRemaining())
+                journal.write(pending);
+            pending.clear();
+            pendingRecords = 0;
+            journal.force(false);
+            if (journal.size() >= snapshotThreshold)
+                snapshot();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes every mutation performed so far durable.
+     *
+     * @throws UncheckedIOException if the journal cannot be written
+     */
+    public void sync() {
+        if (pendingRecords > 0)
+            commit();
+    }
+
+    /**
+     * Writes the whole list to a new snapshot and empties the journal. The
+     * snapshot replaces the previous one atomically, so a crash at any point
+     * leaves a consistent snapshot and journal pair behind.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    public void snapshot() throws IOException {
+        if (pendingRecords > 0) {
+            pending.flip();
+            while (pending.hasRemaining())
+                journal.write(pending);
+            pending.clear();
+            pendingRecords = 0;
+        }
+        Path tmp = directory.resolve(SNAPSHOT_TMP);
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+            header.putLong(epoch + 1).flip();
+            while (header.hasRemaining())
+                channel.write(header);
+            serializer.write(list, channel);
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        epoch++;
+        resetJournal();
+    }
+
+    /**
+     * Returns the current journal length in bytes, including records not
+     * yet synced.
+     *
+     * @return the journal length
+     * @throws IOException if the journal cannot be queried
+     */
+    public long journalBytes() throws IOException {
+        return journal.size() + pending.position();
+    }
+
+    // List operations
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public E get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return list.indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return list.lastIndexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return list.contains(o);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = list.set(index, element);
+        beginRecord(SET, index);
+        writeElement(element);
+        endRecord();
+        return previous;
+    }
+
+    @Override
+    public boolean add(E e) {
+        add(size(), e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        list.add(index, element);
+        modCount++;
+        beginRecord(ADD, index);
+        writeElement(element);
+        endRecord();
+    }
+
+    @Override
+    public E remove(int index) {
+        E e = list.remove(index);
+        modCount++;
+        beginRecord(REMOVE, index);
+        endRecord();
+        return e;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size(), c);
+    }
+
+    /**
+     * Inserts all of the elements of {@code c} at the specified position,
+     * journaled as a single record.
+     *
+     * @param index index at which to insert the first element
+     * @param c     collection containing elements to be added to this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index > size()})
+     * @throws NullPointerException      if the specified collection is null
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        if (index < 0 || index > size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        if (c == null)
+            throw new NullPointerException();
+        MyList<E> elements = new MyList<>(Math.max(c.size(), 1));
+        elements.addAll(c);
+        if (elements.isEmpty())
+            return false;
+        list.addAll(index, elements);
+        modCount++;
+        beginRecord(ADD_ALL, index);
+        ensurePending(Integer.BYTES);
+        pending.putInt(elements.size());
+        for (E e : elements)
+            writeElement(e);
+        endRecord();
+        return true;
+    }
+
+    /**
+     * Removes all of the elements that satisfy {@code filter}, journaled as
+     * a single record listing their indices.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        int[] removed = new int[size()];
+        int count = 0;
+        for (int i = 0; i < removed.length; i++)
+            if (filter.test(list.get(i)))
+                removed[count++] = i;
+        if (count == 0)
+            return false;
+        removeIndices(removed, count);
+        modCount++;
+        beginRecord(REMOVE_ALL, count);
+        ensurePending(count * Integer.BYTES);
+        for (int i = 0; i < count; i++)
+            pending.putInt(removed[i]);
+        endRecord();
+        return true;
+    }
+
+    /**
+     * Removes the elements at the first {@code count} indices of
+     * {@code removed}, which are ascending, in one pass.
+     */
+    private void removeIndices(int[] removed, int count) {
+        MyList<E> kept = new MyList<>(Math.max(list.size() - count, 1));
+        for (int i = 0, r = 0; i < list.size(); i++) {
+            if (r < count && removed[r] == i)
+                r++;
+            else
+                kept.add(list.get(i));
+        }
+        list.clear();
+        list.addAll(kept);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        for (int i = 0; modCount == expectedModCount && i < size(); i++)
+            action.accept(list.get(i));
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Removes all of the elements, journaled as a single record.
+     */
+    @Override
+    public void clear() {
+        list.clear();
+        modCount++;
+        beginRecord(CLEAR, 0);
+        endRecord();
+    }
+
+    /**
+     * Syncs pending mutations and closes the journal.
+     *
+     * @throws IOException if the journal cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } catch (UncheckedIOException e) {
+            journal.close();
+            throw e.getCause();
+        }
+        journal.close();
+    }
+}
@@ -0,0 +1,420 @@
+package com.github.durmm.collection;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Read-mostly list over a {@link MyListSerializer} snapshot file that decodes
+ * elements only when they are read.
+ * <p>
+ * Opening reads the header and the offset index trailer written by
+ * {@link #write(Collection, Path, ElementCodec)}, so it takes the same time
+ * for any list size. Fixed width elements need no index at all; a plain
+ * serializer file with variable width elements is indexed on open by
+ * skipping over the length prefixes, still without decoding anything.
+ * {@link #get(int)} reads and decodes one element and keeps it in a bounded
+ * least recently used cache. Iteration streams through the file and bypasses
+ * the cache.
+ * <p>
+ * The first modification reads the whole snapshot into a {@link MyList},
+ * closes the file, and from then on every operation goes to that list.
+ * I/O failures while reading are rethrown as {@link UncheckedIOException}.
+ * This list is not thread safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class LazySnapshotList<E> extends AbstractList<E> implements RandomAccess, Closeable {
+    /**
+     * Number of decoded elements cached by {@link #open(Path, ElementCodec)}.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final int INDEX_MAGIC = 0x4D79497A; // "MyIz"
+    private static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES;
+    private static final int READ_AHEAD = 256;
+
+    private final FileChannel channel;
+    private final ElementCodec<E> codec;
+    private final int fixedLength;
+    private final int size;
+    private final Map<Integer, E> cache;
+    private long indexPosition = -1;
+    private long[] offsets;
+    private ByteBuffer scratch = ByteBuffer.allocate(READ_AHEAD);
+    private MyList<E> promoted;
+
+    private LazySnapshotList(FileChannel channel, ElementCodec<E> codec, int cacheSize) throws IOException {
+        this.channel = channel;
+        this.codec = codec;
+        this.fixedLength = codec.fixedLength();
+        this.cache = new LinkedHashMap<Integer, E>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, E> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        ByteBuffer header = read(0, MyListSerializer.HEADER_LENGTH);
+        if (header.getInt() != MyListSerializer.MAGIC)
+            throw new StreamCorruptedException("Not a serialized MyList");
+        this.size = header.getInt();
+        if (size < 0)
+            throw new StreamCorruptedException("Negative list size " + size);
+        if (fixedLength == ElementCodec.VARIABLE && !readIndexTrailer())
+            offsets = scanOffsets();
+    }
+
+    /**
+     * Opens the snapshot in {@code file} with a cache of
+     * {@link #DEFAULT_CACHE_SIZE} elements.
+     *
+     * @param file  a file written by {@link #write(Collection, Path, ElementCodec)}
+     *              or by {@link MyListSerializer}
+     * @param codec the codec the file was written with
+     * @param <E>   the type of elements in the list
+     * @return the lazily decoded list
+     * @throws StreamCorruptedException if the file is not a serialized list
+     * @throws IOException              if the file cannot be read
+     */
+    public static <E> LazySnapshotList<E> open(Path file, ElementCodec<E> codec) throws IOException {
+        return open(file, codec, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens the snapshot in {@code file}, caching up to {@code cacheSize}
+     * decoded elements.
+     *
+     * @param file      a file written by {@link #write(Collection, Path, ElementCodec)}
+     *                  or by {@link MyListSerializer}
+     * @param codec     the codec the file was written with
+     * @param cacheSize maximum number of decoded elements kept
+     * @param <E>       the type of elements in the list
+     * @return the lazily decoded list
+     * @throws IllegalArgumentException if {@code cacheSize} is negative
+     * @throws StreamCorruptedException if the file is not a serialized list
+     * @throws IOException              if the file cannot be read
+     */
+    public static <E> LazySnapshotList<E> open(Path file, ElementCodec<E> codec, int cacheSize) throws IOException {
+        if (codec == null)
+            throw new NullPointerException();
+        if (cacheSize < 0)
+            throw new IllegalArgumentException(
+                    "The cacheSize should be non negative integer"
+            );
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new LazySnapshotList<>(channel, codec, cacheSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes {@code list} to {@code file} in the {@link MyListSerializer}
+     * format followed by an offset index, which lets {@link #open} skip
+     * indexing. The file remains readable by {@link MyListSerializer#read}.
+     *
+     * @param list  the elements to write
+     * @param file  the destination, replaced if it exists
+     * @param codec codec for the list elements
+     * @param <E>   the type of elements in the list
+     * @throws IOException if the file cannot be written
+     */
+    public static <E> void write(Collection<? extends E> list, Path file, ElementCodec<E> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            new MyListSerializer<>(codec).write(list, channel);
+            if (codec.fixedLength() != ElementCodec.VARIABLE)
+                return;
+            long indexPosition = channel.position();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(MyListSerializer.DEFAULT_BUFFER_SIZE);
+            long offset = MyListSerializer.HEADER_LENGTH;
+            for (E e : list) {
+                if (buffer.remaining() < Long.BYTES)
+                    writeFully(buffer, channel);
+                buffer.putLong(offset);
+                offset += Integer.BYTES + (e == null ? 0 : codec.encodedLength(e));
+            }
+            if (buffer.remaining() < TRAILER_LENGTH)
+                writeFully(buffer, channel);
+            buffer.putLong(indexPosition).putInt(INDEX_MAGIC);
+            writeFully(buffer, channel);
+        }
+    }
+
+    private static void writeFully(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // Snapshot access
+
+    /**
+     * Reads up to {@code length} bytes at {@code position} into the scratch
+     * buffer, or exactly {@code length} bytes when {@code exact}.
+     */
+    private ByteBuffer read(long position, int length, boolean exact) throws IOException {
+        if (scratch.capacity() < length)
+            scratch = ByteBuffer.allocate(length);
+        scratch.clear().limit(length);
+        while (scratch.hasRemaining()) {
+            int n = channel.read(scratch, position + scratch.position());
+            if (n < 0) {
+                if (exact)
+                    throw new EOFException();
+                break;
+            }
+        }
+        scratch.flip();
+        return scratch;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        return read(position, length, true);
+    }
+
+    private boolean readIndexTrailer() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < MyListSerializer.HEADER_LENGTH + TRAILER_LENGTH)
+            return false;
+        ByteBuffer trailer = read(fileSize - TRAILER_LENGTH, TRAILER_LENGTH);
+        long position = trailer.getLong();
+        if (trailer.getInt() != INDEX_MAGIC || position + (long) size * Long.BYTES != fileSize - TRAILER_LENGTH)
+            return false;
+        indexPosition = position;
+        return true;
+    }
+
+    private long[] scanOffsets() throws IOException {
+        long[] result = new long[size];
+        long offset = MyListSerializer.HEADER_LENGTH;
+        for (int i = 0; i < size; i++) {
+            result[i] = offset;
+            int length = read(offset, Integer.BYTES).getInt();
+            offset += Integer.BYTES + Math.max(length, 0);
+        }
+        return result;
+    }
+
+    private long offsetOf(int index) throws IOException {
+        if (fixedLength != ElementCodec.VARIABLE)
+            return MyListSerializer.HEADER_LENGTH + (long) index * fixedLength;
+        if (offsets != null)
+            return offsets[index];
+        return read(indexPosition + (long) index * Long.BYTES, Long.BYTES).getLong();
+    }
+
+    private E decodeAt(long offset) throws IOException {
+        if (fixedLength != ElementCodec.VARIABLE)
+            return codec.decode(read(offset, fixedLength), fixedLength);
+        ByteBuffer buffer = read(offset, READ_AHEAD, false);
+        int length = buffer.getInt();
+        if (length == MyListSerializer.NULL_LENGTH)
+            return null;
+        if (buffer.remaining() < length)
+            buffer = read(offset + Integer.BYTES, length);
+        return codec.decode(buffer, length);
+    }
+
+    // List operations
+
+    @Override
+    public int size() {
+        return promoted != null ? promoted.size() : size;
+    }
+
+    /**
+     * Returns the element at the specified position, decoding it from the
+     * snapshot unless it is cached.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws UncheckedIOException      if the snapshot cannot be read
+     */
+    @Override
+    public E get(int index) {
+        if (promoted != null)
+            return promoted.get(index);
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        E e = cache.get(index);
+        if (e == null && !cache.containsKey(index)) {
+            try {
+                e = decodeAt(offsetOf(index));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            cache.put(index, e);
+        }
+        return e;
+    }
+
+    /**
+     * Returns {@code true} until the first modification turns this list into
+     * a plain {@link MyList}.
+     *
+     * @return whether elements are still read from the snapshot
+     */
+    public boolean isLazy() {
+        return promoted == null;
+    }
+
+    /**
+     * Decodes the whole snapshot into a {@link MyList} that takes over all
+     * further operations, and releases the file.
+     */
+    private MyList<E> promote() {
+        if (promoted == null) {
+            try {
+                channel.position(0);
+                promoted = new MyListSerializer<>(codec).read(channel);
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            cache.clear();
+            offsets = null;
+        }
+        return promoted;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return promote().set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        promote().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E e = promote().remove(index);
+        modCount++;
+        return e;
+    }
+
+    @Override
+    public void clear() {
+        promote().clear();
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator that decodes the snapshot sequentially, without
+     * random index lookups and without filling the cache.
+     *
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return promoted != null ? super.iterator() : new SnapshotIterator();
+    }
+
+    private class SnapshotIterator implements Iterator<E> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+        private ByteBuffer window = ByteBuffer.allocate(MyListSerializer.DEFAULT_BUFFER_SIZE);
+        // file offset of window.position()
+        private long offset = MyListSerializer.HEADER_LENGTH;
+
+        SnapshotIterator() {
+            window.flip();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= size())
+                throw new NoSuchElementException();
+            lastReturned = cursor;
+            if (promoted != null)
+                return promoted.get(cursor++);
+            try {
+                int length = fixedLength;
+                if (length == ElementCodec.VARIABLE) {
+                    length = ensure(Integer.BYTES).getInt();
+                    offset += Integer.BYTES;
+                    if (length == MyListSerializer.NULL_LENGTH) {
+                        cursor++;
+                        return null;
+                    }
+                }
+                E e = codec.decode(ensure(length), length);
+                offset += length;
+                cursor++;
+                return e;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Refills the window from the file once fewer than {@code bytes}
+         * unread bytes are left in it.
+         */
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                if (window.capacity() < bytes)
+                    window = ByteBuffer.allocate(bytes);
+                window.clear();
+                while (window.hasRemaining() && channel.read(window, offset + window.position()) >= 0)
+                    ;
+                window.flip();
+                if (window.remaining() < bytes)
+                    throw new EOFException();
+            }
+            return window;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            LazySnapshotList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Releases the snapshot file. A promoted list is already detached from it
+     * and stays usable.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,591 @@
+package com.github.durmm.collection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel importer of text files with one record per line and fields
+ * separated by a delimiter, such as CSV without quoting.
+ * <p>
+ * The file is memory mapped and cut into chunks of {@code chunkSize} bytes,
+ * processed in parallel on the common fork/join pool. Each chunk moves its
+ * start past the first line break at or after it, and owns the lines that
+ * start before the next chunk does, so every line is parsed exactly once
+ * without a sequential scan for line boundaries. A chunk maps only its own
+ * bytes and a small slack for its last line, mapping a longer line again
+ * from its start, so the live mappings stay close to the file size. Each
+ * chunk fills a list of its own; the partial lists are then joined in file
+ * order into a result sized for all of them, with one bulk copy each.
+ * <p>
+ * Lines are split on {@code '\n'}, with a trailing {@code '\r'} dropped; a
+ * final line break does not start an empty line. Fields are parsed straight
+ * from the mapped bytes through a reused {@link Line} view, so
+ * {@link Line#intField(int)} and {@link Line#longField(int)} create no
+ * {@code String}; other formats plug in a {@link FieldParser}. The file must
+ * be UTF-8 (or ASCII) and no line may be longer than 2 GB. Instances are
+ * immutable and thread safe.
+ */
+public final class LineImporter {
+    /**
+     * Chunk size used by {@link #LineImporter(char)}.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Bytes mapped past the end of a chunk for the line crossing into the
+     * next one; a longer line is mapped again from its start.
+     */
+    private static final int LINE_SLACK = 64 << 10;
+
+    private final byte delimiter;
+    private final int chunkSize;
+
+    /**
+     * Creates importer splitting fields on {@code delimiter}, with chunks of
+     * {@link #DEFAULT_CHUNK_SIZE} bytes
+     *
+     * @param delimiter the field separator
+     * @throws IllegalArgumentException if {@code delimiter} is not an ASCII
+     *                                  character other than a line break
+     */
+    public LineImporter(char delimiter) {
+        this(delimiter, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates importer splitting fields on {@code delimiter}, with chunks of
+     * {@code chunkSize} bytes
+     *
+     * @param delimiter the field separator
+     * @param chunkSize number of bytes of the file per parallel task
+     * @throws IllegalArgumentException if {@code delimiter} is not an ASCII
+     *                                  character other than a line break, or
+     *                                  {@code chunkSize} is not positive
+     */
+    public LineImporter(char delimiter, int chunkSize) {
+        if (delimiter >= 0x80 || delimiter == '\n' || delimiter == '\r')
+            throw new IllegalArgumentException(
+                    "The delimiter should be an ASCII character other than a line break"
+            );
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException(
+                    "The chunkSize should be positive integer"
+            );
+        this.delimiter = (byte) delimiter;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Parses a field from the bytes of {@code buffer} between {@code from},
+     * inclusive, and {@code to}, exclusive.
+     *
+     * @param <T> the type of the parsed value
+     */
+    @FunctionalInterface
+    public interface FieldParser<T> {
+        /**
+         * Parses the bytes from {@code from} to {@code to} of {@code buffer},
+         * reading them with absolute gets.
+         *
+         * @param buffer the mapped bytes of the file
+         * @param from   index of the first byte of the field
+         * @param to     index after the last byte of the field
+         * @return the parsed value
+         */
+        T parse(ByteBuffer buffer, int from, int to);
+    }
+
+    /**
+     * View of the line being imported, splitting it into fields on first
+     * access. The view is reused for every line of a chunk and must not be
+     * kept past the call it was passed to.
+     */
+    public static final class Line {
+        private final byte delimiter;
+        private ByteBuffer buffer;
+        private int from;
+        private int to;
+        private int[] bounds = new int[16];
+        private int fieldCount = -1;
+
+        Line(byte delimiter) {
+            this.delimiter = delimiter;
+        }
+
+        void reset(ByteBuffer buffer, int from, int to) {
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.fieldCount = -1;
+        }
+
+        /**
+         * Records the start of every field and, after the last one, the end
+         * of the line plus one, so field {@code i} ends at
+         * {@code bounds[i + 1] - 1}.
+         */
+        private void split() {
+            int count = 0;
+            bounds[count++] = from;
+            for (int i = from; i < to; i++) {
+                if (buffer.get(i) == delimiter) {
+                    if (count + 1 == bounds.length)
+                        bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                    bounds[count++] = i + 1;
+                }
+            }
+            bounds[count] = to + 1;
+            fieldCount = count;
+        }
+
+        /**
+         * Returns the number of fields of the line; an empty line has one
+         * empty field.
+         *
+         * @return the number of fields
+         */
+        public int fieldCount() {
+            if (fieldCount < 0)
+                split();
+            return fieldCount;
+        }
+
+        private void checkField(int field) {
+            if (field < 0 || field >= fieldCount())
+                throw new IndexOutOfBoundsException("Field: " + field + ", Count: " + fieldCount);
+        }
+
+        /**
+         * Returns the mapped bytes holding the line, to be read with
+         * absolute gets between {@link #fieldStart} and {@link #fieldEnd}.
+         * The mapping stays valid as long as the buffer is referenced.
+         *
+         * @return the buffer holding the line
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * Returns the index in {@link #buffer()} of the first byte of field
+         * {@code field}.
+         *
+         * @param field position of the field
+         * @return the start of the field
+         * @throws IndexOutOfBoundsException if there is no such field
+         */
+        public int fieldStart(int field) {
+            checkField(field);
+            return bounds[field];
+        }
+
+        /**
+         * Returns the index in {@link #buffer()} after the last byte of field
+         * {@code field}.
+         *
+         * @param field position of the field
+         * @return the end of the field
+         * @throws IndexOutOfBoundsException if there is no such field
+         */
+        public int fieldEnd(int field) {
+            checkField(field);
+            return bounds[field + 1] - 1;
+        }
+
+        /**
+         * Parses field {@code field} with {@code parser}.
+         *
+         * @param field  position of the field
+         * @param parser parser of the field bytes
+         * @param <T>    the type of the parsed value
+         * @return the parsed value
+         * @throws IndexOutOfBoundsException if there is no such field
+         */
+        public <T> T field(int field, FieldParser<T> parser) {
+            return parser.parse(buffer, fieldStart(field), fieldEnd(field));
+        }
+
+        /**
+         * Parses field {@code field} as a decimal {@code int}, without
+         * creating a {@code String}.
+         *
+         * @param field position of the field
+         * @return the parsed value
+         * @throws IndexOutOfBoundsException if there is no such field
+         * @throws NumberFormatException     if the field is not an {@code int}
+         */
+        public int intField(int field) {
+            return parseInt(buffer, fieldStart(field), fieldEnd(field));
+        }
+
+        /**
+         * Parses field {@code field} as a decimal {@code long}, without
+         * creating a {@code String}.
+         *
+         * @param field position of the field
+         * @return the parsed value
+         * @throws IndexOutOfBoundsException if there is no such field
+         * @throws NumberFormatException     if the field is not a {@code long}
+         */
+        public long longField(int field) {
+            return parseLong(buffer, fieldStart(field), fieldEnd(field));
+        }
+
+        /**
+         * Parses field {@code field} as a {@code double}, see
+         * {@link LineImporter#parseDouble}.
+         *
+         * @param field position of the field
+         * @return the parsed value
+         * @throws IndexOutOfBoundsException if there is no such field
+         * @throws NumberFormatException     if the field is not a number
+         */
+        public double doubleField(int field) {
+            return parseDouble(buffer, fieldStart(field), fieldEnd(field));
+        }
+
+        /**
+         * Decodes field {@code field} into a new {@code String}.
+         *
+         * @param field position of the field
+         * @return the field text
+         * @throws IndexOutOfBoundsException if there is no such field
+         */
+        public String stringField(int field) {
+            return decode(buffer, fieldStart(field), fieldEnd(field));
+        }
+
+        /**
+         * Returns the whole line decoded into a new {@code String}.
+         */
+        @Override
+        public String toString() {
+            return decode(buffer, from, to);
+        }
+    }
+
+    private static String decode(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        ByteBuffer source = buffer.duplicate();
+        source.position(from);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static NumberFormatException invalid(ByteBuffer buffer, int from, int to) {
+        return new NumberFormatException("For input string: \"" + decode(buffer, from, to) + "\"");
+    }
+
+    /**
+     * Parses the decimal {@code long}, with an optional sign, written in the
+     * bytes of {@code buffer} from {@code from} to {@code to}.
+     *
+     * @param buffer bytes to parse
+     * @param from   index of the first byte
+     * @param to     index after the last byte
+     * @return the parsed value
+     * @throws NumberFormatException if the bytes are not a {@code long}
+     */
+    public static long parseLong(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+'))
+            negative = buffer.get(i++) == '-';
+        if (i == to)
+            throw invalid(buffer, from, to);
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10)
+                throw invalid(buffer, from, to);
+            result *= 10;
+            if (result < limit + digit)
+                throw invalid(buffer, from, to);
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses the decimal {@code int}, with an optional sign, written in the
+     * bytes of {@code buffer} from {@code from} to {@code to}.
+     *
+     * @param buffer bytes to parse
+     * @param from   index of the first byte
+     * @param to     index after the last byte
+     * @return the parsed value
+     * @throws NumberFormatException if the bytes are not an {@code int}
+     */
+    public static int parseInt(ByteBuffer buffer, int from, int to) {
+        long value = parseLong(buffer, from, to);
+        if (value != (int) value)
+            throw invalid(buffer, from, to);
+        return (int) value;
+    }
+
+    /**
+     * Parses the {@code double} written in the bytes of {@code buffer} from
+     * {@code from} to {@code to}. Plain decimals with at most 15 significant
+     * digits and a small exponent, the usual case, are converted exactly from
+     * the bytes; anything else goes through {@link Double#parseDouble}.
+     *
+     * @param buffer bytes to parse
+     * @param from   index of the first byte
+     * @param to     index after the last byte
+     * @return the parsed value
+     * @throws NumberFormatException if the bytes are not a number
+     */
+    public static double parseDouble(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+'))
+            negative = buffer.get(i++) == '-';
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean point = false;
+        boolean any = false;
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && !point) {
+                point = true;
+            } else if (b >= '0' && b <= '9') {
+                any = true;
+                if (mantissa == 0 && b == '0') {
+                    if (point)
+                        scale--;
+                    continue;
+                }
+                if (++digits > 15)
+                    return Double.parseDouble(decode(buffer, from, to));
+                mantissa = mantissa * 10 + (b - '0');
+                if (point)
+                    scale--;
+            } else {
+                break;
+            }
+        }
+        if (i < to && any && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            int exponentStart = ++i;
+            if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+'))
+                i++;
+            if (i == to || to - i > 3)
+                return Double.parseDouble(decode(buffer, from, to));
+            scale += parseInt(buffer, exponentStart, to);
+            i = to;
+        }
+        if (i != to || !any || scale < -22 || scale > 22)
+            return Double.parseDouble(decode(buffer, from, to));
+        double value = scale >= 0 ? mantissa * POWERS_OF_TEN[scale] : mantissa / POWERS_OF_TEN[-scale];
+        return negative ? -value : value;
+    }
+
+    // Import
+
+    /**
+     * Receives the lines of one chunk and gathers them into a partial result.
+     */
+    private interface ChunkSink<R> {
+        void accept(ByteBuffer buffer, int from, int to);
+
+        R result();
+    }
+
+    /**
+     * Imports every line of {@code file} as an element of a
+     * {@link PackedStringList}, copying the bytes without decoding them.
+     *
+     * @param file the file to read
+     * @return the lines of the file
+     * @throws IOException if an I/O error occurs
+     */
+    public PackedStringList importLines(Path file) throws IOException {
+        PackedStringList[] chunks = importChunks(file, PackedStringList[]::new, () -> new ChunkSink<PackedStringList>() {
+            private final PackedStringList lines = new PackedStringList();
+
+            @Override
+            public void accept(ByteBuffer buffer, int from, int to) {
+                lines.addUtf8(buffer, from, to);
+            }
+
+            @Override
+            public PackedStringList result() {
+                return lines;
+            }
+        });
+        PackedStringList result = new PackedStringList();
+        for (PackedStringList chunk : chunks)
+            result.appendAll(chunk);
+        return result;
+    }
+
+    /**
+     * Imports every line of {@code file} as the element {@code mapper}
+     * builds from it. The mapper runs in parallel and must be stateless; the
+     * {@link Line} it gets is only valid during the call.
+     *
+     * @param file   the file to read
+     * @param mapper function building an element from the fields of a line
+     * @param <E>    the type of the elements
+     * @return the elements in file order, in a list sized to fit them
+     * @throws IOException          if an I/O error occurs
+     * @throws NullPointerException if {@code mapper} is null
+     */
+    public <E> MyList<E> importRecords(Path file, Function<? super Line, ? extends E> mapper) throws IOException {
+        if (mapper == null)
+            throw new NullPointerException();
+        MyList<E>[] chunks = importChunks(file, MyList[]::new, () -> new ChunkSink<MyList<E>>() {
+            private final MyList<E> elements = new MyList<>();
+            private final Line line = new Line(delimiter);
+
+            @Override
+            public void accept(ByteBuffer buffer, int from, int to) {
+                line.reset(buffer, from, to);
+                elements.add(mapper.apply(line));
+            }
+
+            @Override
+            public MyList<E> result() {
+                return elements;
+            }
+        });
+        int total = 0;
+        for (MyList<E> chunk : chunks)
+            total += chunk.size();
+        MyList<E> result = new MyList<>(Math.max(total, 1));
+        for (MyList<E> chunk : chunks)
+            result.concat(chunk);
+        return result;
+    }
+
+    /**
+     * Imports every line of {@code file} as a record of a
+     * {@link ColumnarList}, field {@code i} going to column {@code i} and
+     * being parsed from the bytes according to the column type.
+     *
+     * @param file   the file to read
+     * @param schema the columns of the records
+     * @return the records in file order
+     * @throws IOException               if an I/O error occurs
+     * @throws NullPointerException      if {@code schema} is null
+     * @throws IndexOutOfBoundsException if a line has fewer fields than the
+     *                                   schema has columns
+     * @throws NumberFormatException     if a field does not parse as its
+     *                                   column type
+     */
+    public ColumnarList importColumns(Path file, ColumnarList.Schema schema) throws IOException {
+        if (schema == null)
+            throw new NullPointerException();
+        ColumnarList[] chunks = importChunks(file, ColumnarList[]::new, () -> new ChunkSink<ColumnarList>() {
+            private final ColumnarList records = new ColumnarList(schema);
+            private final Line line = new Line(delimiter);
+
+            @Override
+            public void accept(ByteBuffer buffer, int from, int to) {
+                line.reset(buffer, from, to);
+                int row = records.addRow();
+                for (int c = 0; c < schema.columnCount(); c++) {
+                    switch (schema.type(c)) {
+                        case INT:
+                            records.setInt(row, c, line.intField(c));
+                            break;
+                        case LONG:
+                            records.setLong(row, c, line.longField(c));
+                            break;
+                        default:
+                            records.setDouble(row, c, line.doubleField(c));
+                    }
+                }
+            }
+
+            @Override
+            public ColumnarList result() {
+                return records;
+            }
+        });
+        ColumnarList result = new ColumnarList(schema);
+        for (ColumnarList chunk : chunks)
+            result.appendAll(chunk);
+        return result;
+    }
+
+    private <R> R[] importChunks(Path file, IntFunction<R[]> arrays,
+                                 Supplier<ChunkSink<R>> sinks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            int chunkCount = (int) Math.max(1, (fileSize + chunkSize - 1) / chunkSize);
+            try {
+                return IntStream.range(0, chunkCount).parallel()
+                        .mapToObj(chunk -> importChunk(channel, fileSize, chunk, sinks.get()))
+                        .toArray(arrays);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private <R> R importChunk(FileChannel channel, long fileSize, int chunk, ChunkSink<R> sink) {
+        long start = (long) chunk * chunkSize;
+        if (start >= fileSize)
+            return sink.result();
+        long end = Math.min(fileSize, start + chunkSize);
+        long base = chunk == 0 ? 0 : start - 1;
+        MappedByteBuffer buffer = map(channel, base, Math.min(fileSize, end + LINE_SLACK) - base);
+        // The buffer reaches user code through Line and FieldParser, so it
+        // is left to the garbage collector to unmap rather than freed here.
+        int from = 0;
+        // A chunk other than the first starts one byte early and skips up
+        // to the first line break, the rest of a line of the chunk before
+        boolean skip = chunk > 0;
+        while (base + from < end) {
+            int lineEnd = from;
+            while (true) {
+                while (lineEnd < buffer.limit() && buffer.get(lineEnd) != '\n')
+                    lineEnd++;
+                long remaining = fileSize - (base + from);
+                if (lineEnd < buffer.limit() || lineEnd - from == remaining)
+                    break;
+                long length = Math.min(Math.min(remaining, Integer.MAX_VALUE),
+                        Math.max(end - (base + from) + LINE_SLACK, 2L * (lineEnd - from)));
+                if (length == lineEnd - from)
+                    break;
+                buffer = map(channel, base + from, length);
+                base += from;
+                lineEnd -= from;
+                from = 0;
+            }
+            if (!skip) {
+                int to = lineEnd > from && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                sink.accept(buffer, from, to);
+            }
+            skip = false;
+            from = lineEnd + 1;
+        }
+        return sink.result();
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.github.durmm.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of fixed width records stored in a memory mapped file.
+ * <p>
+ * The file starts with a 16 byte header (magic number, record length and
+ * element count) followed by the records back to back. The records are
+ * mapped in segments of equal size; the list grows by mapping one more
+ * segment past the end of the file, so existing records are never copied.
+ * Segments of an existing file are mapped lazily on first access, which
+ * makes {@link #open(Path, RecordCodec)} independent of the list size.
+ * <p>
+ * Writes reach the operating system page cache immediately, but are only
+ * guaranteed to survive a crash after {@link #force()}. Elements are
+ * compared through their records, see {@link RecordCodec}, and null
+ * elements are not supported. This list is not thread safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class MappedMyList<E> extends AbstractList<E> implements RandomAccess, Closeable {
+    /**
+     * Segment size used by {@link #open(Path, RecordCodec)}.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private static final int MAGIC = 0x4D794D61; // "MyMa"
+    private static final int HEADER_LENGTH = 16;
+    private static final int SIZE_OFFSET = 8;
+
+    private final FileChannel channel;
+    private final RecordCodec<E> codec;
+    private final int recordLength;
+    private final int segmentRecords;
+    private final MappedByteBuffer header;
+    private final ByteBuffer probe;
+    private MappedByteBuffer[] segments;
+    private int size;
+
+    private MappedMyList(FileChannel channel, RecordCodec<E> codec, int segmentSize) throws IOException {
+        this.channel = channel;
+        this.codec = codec;
+        this.recordLength = codec.recordLength();
+        this.segmentRecords = segmentSize / recordLength;
+        this.probe = ByteBuffer.allocate(recordLength);
+        boolean created = channel.size() == 0;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH);
+        if (created) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, recordLength);
+            header.putLong(SIZE_OFFSET, 0);
+        } else if (header.getInt(0) != MAGIC) {
+            throw new StreamCorruptedException("Not a MappedMyList file");
+        } else if (header.getInt(4) != recordLength) {
+            throw new StreamCorruptedException("File holds " + header.getInt(4)
+                    + " bytes records, codec expects " + recordLength);
+        }
+        this.size = (int) header.getLong(SIZE_OFFSET);
+        this.segments = new MappedByteBuffer[Math.max(1, segmentIndex(size) + 1)];
+    }
+
+    /**
+     * Opens the list stored in {@code file}, creating an empty one if the file
+     * does not exist or is empty. Segments are {@link #DEFAULT_SEGMENT_SIZE}
+     * bytes.
+     *
+     * @param file  the backing file
+     * @param codec codec for the records
+     * @param <E>   the type of elements in the list
+     * @return the opened list
+     * @throws StreamCorruptedException if the file is not a list written with a
+     *                                  codec of the same record length
+     * @throws IOException              if the file cannot be opened or mapped
+     */
+    public static <E> MappedMyList<E> open(Path file, RecordCodec<E> codec) throws IOException {
+        return open(file, codec, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the list stored in {@code file}, mapping it in segments of about
+     * {@code segmentSize} bytes (rounded down to whole records).
+     *
+     * @param file        the backing file
+     * @param codec       codec for the records
+     * @param segmentSize the size of one mapping
+     * @param <E>         the type of elements in the list
+     * @return the opened list
+     * @throws IllegalArgumentException if {@code segmentSize} cannot hold a record
+     * @throws StreamCorruptedException if the file is not a list written with a
+     *                                  codec of the same record length
+     * @throws IOException              if the file cannot be opened or mapped
+     */
+    public static <E> MappedMyList<E> open(Path file, RecordCodec<E> codec, int segmentSize) throws IOException {
+        if (codec == null)
+            throw new NullPointerException();
+        if (codec.recordLength() <= 0 || segmentSize < codec.recordLength())
+            throw new IllegalArgumentException(
+                    "The segmentSize should hold at least one record"
+            );
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedMyList<>(channel, codec, segmentSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private int segmentIndex(int index) {
+        return index / segmentRecords;
+    }
+
+    private int offset(int index) {
+        return (index % segmentRecords) * recordLength;
+    }
+
+    /**
+     * Returns the mapping holding record {@code index}, mapping it first if
+     * needed. Mapping past the end of the file extends the file.
+     */
+    private MappedByteBuffer segment(int index) {
+        int s = segmentIndex(index);
+        if (s >= segments.length)
+            segments = Arrays.copyOf(segments, Math.max(s + 1, segments.length * 2));
+        MappedByteBuffer segment = segments[s];
+        if (segment == null) {
+            long position = HEADER_LENGTH + (long) s * segmentRecords * recordLength;
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                        (long) segmentRecords * recordLength);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot map segment " + s, e);
+            }
+            segments[s] = segment;
+        }
+        return segment;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private void setSize(int newSize) {
+        size = newSize;
+        header.putLong(SIZE_OFFSET, newSize);
+    }
+
+    /**
+     * Moves the {@code count} records starting at {@code from} so that they
+     * start at {@code to}, with one bulk copy per range that stays within a
+     * segment on both sides. Moving up goes from the last record down, so
+     * the records are moved correctly when the ranges overlap.
+     */
+    private void moveRecords(int from, int to, int count) {
+        while (count > 0) {
+            int n;
+            if (to > from) {
+                int last = count - 1;
+                n = Math.min(count, Math.min((from + last) % segmentRecords, (to + last) % segmentRecords) + 1);
+                copyRecords(from + count - n, to + count - n, n);
+            } else {
+                n = Math.min(count, segmentRecords - Math.max(from % segmentRecords, to % segmentRecords));
+                copyRecords(from, to, n);
+                from += n;
+                to += n;
+            }
+            count -= n;
+        }
+    }
+
+    /**
+     * Copies {@code count} records from {@code from} to {@code to}, both
+     * ranges lying within one segment. Buffer to buffer copies behave as if
+     * the source was copied to an intermediate location first, so the ranges
+     * may overlap.
+     */
+    private void copyRecords(int from, int to, int count) {
+        ByteBuffer source = segment(from).duplicate();
+        ByteBuffer target = segment(to).duplicate();
+        source.limit(offset(from) + count * recordLength).position(offset(from));
+        target.position(offset(to));
+        target.put(source);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size);
+        return codec.read(segment(index), offset(index));
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        ByteBuffer segment = segment(index);
+        E previous = codec.read(segment, offset(index));
+        codec.write(element, segment, offset(index));
+        return previous;
+    }
+
+    @Override
+    public boolean add(E e) {
+        add(size, e);
+        return true;
+    }
+
+    /**
+     * Inserts the element at the specified position, shifting the records
+     * after it by one. Appending never moves records.
+     *
+     * @param index   index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index > size()})
+     * @throws NullPointerException      if the element is null
+     * @throws IllegalStateException     if the list already holds
+     *                                   {@code Integer.MAX_VALUE} elements
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        if (element == null)
+            throw new NullPointerException("MappedMyList does not support null elements");
+        if (size == Integer.MAX_VALUE)
+            throw new IllegalStateException("MappedMyList is full");
+        moveRecords(index, index + 1, size - index);
+        codec.write(element, segment(index), offset(index));
+        modCount++;
+        setSize(size + 1);
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size);
+        E e = get(index);
+        moveRecords(index + 1, index, size - index - 1);
+        modCount++;
+        setSize(size - 1);
+        return e;
+    }
+
+    /**
+     * Removes all elements. The file keeps its length and the mapped
+     * segments are reused by later additions.
+     */
+    @Override
+    public void clear() {
+        modCount++;
+        setSize(0);
+    }
+
+    /**
+     * Returns the index of the first record equal to the record of {@code o},
+     * comparing bytes without decoding the stored elements.
+     *
+     * @param o element to search for
+     * @return the index of the first occurrence, or -1 if there is none
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!encodeProbe(o))
+            return -1;
+        ByteBuffer view = null;
+        for (int i = 0; i < size; i++) {
+            if (view == null || offset(i) == 0)
+                view = segment(i).duplicate();
+            if (matchesProbe(view, i))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!encodeProbe(o))
+            return -1;
+        ByteBuffer view = null;
+        for (int i = size - 1; i >= 0; i--) {
+            if (view == null || offset(i + 1) == 0)
+                view = segment(i).duplicate();
+            if (matchesProbe(view, i))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean encodeProbe(Object o) {
+        if (o == null)
+            return false;
+        try {
+            codec.write((E) o, probe, 0);
+            return true;
+        } catch (ClassCastException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether record {@code index} equals the probe, comparing the
+     * record as a window of {@code view}, a duplicate of its segment.
+     */
+    private boolean matchesProbe(ByteBuffer view, int index) {
+        int offset = offset(index);
+        view.limit(offset + recordLength).position(offset);
+        return view.equals(probe);
+    }
+
+    /**
+     * Writes every modified record and the header to the storage device.
+     * Once this returns, the current contents survive a crash.
+     *
+     * @throws IOException if the file cannot be synchronized
+     */
+    public void force() throws IOException {
+        for (MappedByteBuffer segment : segments)
+            if (segment != null)
+                segment.force();
+        header.force();
+        channel.force(true);
+    }
+
+    /**
+     * Closes the backing file. The list must not be used afterwards; the
+     * mappings themselves are released when they are garbage collected.
+     * Changes not yet {@link #force() forced} are still written back by the
+     * operating system.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,12 +1,66 @@
 package com.github.durmm.collection;
 
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
 
 public class MyList<E> implements List<E> {
 
     private Object[] array;
     private static final int defaultListSize = 10;
+    private static final Object[] RELEASED = {};
     private int size;
+    /**
+     * Number of structural modifications, checked by iterators to fail fast
+     */
+    private int modCount;
+    /**
+     * Number of elements replaced in place, which change the contents
+     * without being structural modifications
+     */
+    private int writeCount;
+    /**
+     * Hash code of the contents at {@link #hashVersion}, valid only if
+     * {@link #hashed}
+     */
+    private int hash;
+    private long hashVersion;
+    private boolean hashed;
+    /**
+     * Registered aggregates with their cached results, or {@code null} if
+     * none was registered
+     */
+    private List<Memo<E>> memos;
+    /**
+     * Versions of the current run of appends: the list went from
+     * {@code appendBase} to {@code appendTip} by appending only
+     */
+    private long appendBase;
+    private long appendTip;
+    /**
+     * Source and sink of backing arrays, or {@code null} to allocate them
+     */
+    private final ArrayPool pool;
+    /**
+     * Filter over the elements answering definite misses of lookups, or
+     * {@code null} when disabled
+     */
+    private BloomFilter bloom;
+    private double bloomFalsePositiveRate;
+    /**
+     * Number of elements removed or overwritten since the filter was built,
+     * which it may still report as present
+     */
+    private int bloomStale;
+    /**
+     * Share of stale elements above which the filter is rebuilt
+     */
+    private static final double BLOOM_STALE_FRACTION = 0.25;
 
     /**
      * Creates list with {@code defaultListSize} initial size
@@ -28,6 +82,69 @@ public class MyList<E> implements List<E> {
             );
         size = 0;
         array = new Object[initialListSize];
+        pool = null;
+    }
+
+    /**
+     * Creates list taking its backing arrays from {@code pool}. Arrays are
+     * borrowed when the list grows and given back when it shrinks or is
+     * {@linkplain #release() released}; their lengths are powers of two.
+     *
+     * @param pool pool of backing arrays
+     * @throws NullPointerException if {@code pool} is null
+     */
+    MyList(ArrayPool pool) {
+        if (pool == null)
+            throw new NullPointerException();
+        this.pool = pool;
+        size = 0;
+        array = pool.borrow(defaultListSize);
+    }
+
+    /**
+     * Returns a {@code Collector} that accumulates the input elements into a
+     * new {@code MyList}, in encounter order.
+     *
+     * @param <T> the type of the input elements
+     * @return a collector gathering the elements into a {@code MyList}
+     * @see #toMyList(int)
+     */
+    public static <T> Collector<T, ?, MyList<T>> collector() {
+        return toMyList(defaultListSize);
+    }
+
+    /**
+     * Returns a {@code Collector} that accumulates the input elements into a
+     * new {@code MyList}, in encounter order.
+     * <p>
+     * In a parallel stream every chunk fills a list of its own and partial
+     * lists are joined with one {@code System.arraycopy} each, instead of
+     * element by element. The partial lists start small, at most
+     * {@code sizeHint} slots, since a parallel stream creates one per chunk;
+     * a join grows the left list once to the exact size of both. The
+     * collector keeps no state between evaluations and may be reused. The
+     * result is trimmed to its exact size.
+     *
+     * @param sizeHint expected number of elements, bounding the initial
+     *                 capacity of every partial list
+     * @param <T>      the type of the input elements
+     * @return a collector gathering the elements into a {@code MyList}
+     * @throws IllegalArgumentException if {@code sizeHint} is negative
+     */
+    public static <T> Collector<T, ?, MyList<T>> toMyList(int sizeHint) {
+        if (sizeHint < 0)
+            throw new IllegalArgumentException(
+                    "The sizeHint should be non negative integer"
+            );
+        int initialListSize = Math.max(Math.min(sizeHint, defaultListSize), 1);
+        return Collector.<T, MyList<T>, MyList<T>>of(
+                () -> new MyList<>(initialListSize),
+                MyList::add,
+                MyList::concat,
+                list -> {
+                    list.trimToSize();
+                    return list;
+                });
     }
 
     /**
@@ -72,9 +189,33 @@ public class MyList<E> implements List<E> {
         return indexOf(o) != -1;
     }
 
+    private void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Performs the given action for each element of this list, in order.
+     *
+     * @param action the action to be performed for each element
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the action structurally
+     *                                         modifies this list
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        for (int i = 0; modCount == expectedModCount && i < size(); i++)
+            action.accept((E) array[i]);
+        checkForComodification(expectedModCount);
+    }
+
     private class MyListIterator<E> implements Iterator<E> {
         private int index = 0;
         private boolean allowRemoveCall = false;
+        private int expectedModCount = modCount;
 
         /**
          * Returns {@code true} if the iteration has more elements.
@@ -94,10 +235,13 @@ public class MyList<E> implements List<E> {
          * Returns the next element in the iteration.
          *
          * @return the next element in the iteration
-         * @throws NoSuchElementException if the iteration has no more elements
+         * @throws NoSuchElementException          if the iteration has no more elements
+         * @throws ConcurrentModificationException if the list was structurally
+         *                                         modified other than through this iterator
          */
         @Override
         public E next() {
+            checkForComodification(expectedModCount);
             if (index >= size())
                 throw new NoSuchElementException();
             allowRemoveCall = true;
@@ -130,8 +274,10 @@ public class MyList<E> implements List<E> {
                 throw new IllegalStateException(" 'next' method has not\n" +
                         "yet been called, or the {@code remove} method has already\n" +
                         "been called after the last call to the 'next' method");
+            checkForComodification(expectedModCount);
             allowRemoveCall = false;
-            MyList.this.remove(index - 1);
+            MyList.this.remove(--index);
+            expectedModCount = modCount;
         }
     }
 
@@ -241,37 +387,102 @@ public class MyList<E> implements List<E> {
     }
 
     private void addElementToArray(E e) {
+        track(e);
         array[size()] = e;
         size++;
+        modCount++;
+        inserted(size - 1, size);
     }
 
     /**
      * Maximized array two times, and replaces old values in new resized array
      */
     private void maximizeArray() {
-        Object[] newArray = new Object[array.length * 2];
-        System.arraycopy(array, 0, newArray, 0, size());
-        array = newArray;
+        resize(Math.max(array.length * 2, defaultListSize));
     }
 
     /**
      * If the real size of array three or more times large then element count in list,
      * minimize array one and a half times, and replaces old values in new resized
-     * array. The minnimal size of the massive shoulb be {@code defaultListSize}
+     * array. The minnimal size of the massive shoulb be {@code defaultListSize},
+     * or {@link ArrayPool#MIN_LENGTH} for a pooled list since the pool never
+     * hands out shorter arrays
      */
     private void minimizeArray() {
-        if (array.length <= defaultListSize)
+        int minLength = pool == null ? defaultListSize : ArrayPool.MIN_LENGTH;
+        if (array.length <= minLength)
             return;
         if (array.length <= 3 * size())
             return;
-        int n = (int) (array.length * 0.75);
-        if (n < defaultListSize)
-            n = defaultListSize;
-        Object[] newArray = new Object[n];
+        int n = pool == null ? (int) (array.length * 0.75) : array.length >>> 1;
+        if (n < minLength)
+            n = minLength;
+        resize(n);
+    }
+
+    /**
+     * Moves the elements to a new array of at least {@code length} slots,
+     * taken from the pool if there is one, and gives the old array back.
+     */
+    private void resize(int length) {
+        Object[] newArray = newArray(length);
         System.arraycopy(array, 0, newArray, 0, size());
+        recycle(array);
         array = newArray;
     }
 
+    private Object[] newArray(int length) {
+        return pool == null ? new Object[length] : pool.borrow(length);
+    }
+
+    private void recycle(Object[] old) {
+        if (pool != null)
+            pool.giveBack(old);
+    }
+
+    /**
+     * Empties this list and gives its backing array back to its pool, if it
+     * has one. The list stays usable and borrows a new array once elements
+     * are added again.
+     */
+    public void release() {
+        recycle(array);
+        array = RELEASED;
+        size = 0;
+        modCount++;
+        clearBloomFilter();
+    }
+
+    /**
+     * Trims the capacity of this list to be exactly its current size (but
+     * not less than one), releasing the unused part of the array.
+     */
+    public void trimToSize() {
+        int n = Math.max(size(), 1);
+        if (n < array.length) {
+            Object[] old = array;
+            array = Arrays.copyOf(array, n);
+            recycle(old);
+        }
+    }
+
+    /**
+     * Appends all elements of {@code other} with a single array copy, growing
+     * the array at most once, to exactly the joined size.
+     *
+     * @return this list
+     */
+    MyList<E> concat(MyList<? extends E> other) {
+        if (size() + other.size() > array.length)
+            resize(size() + other.size());
+        for (int i = 0; i < other.size(); i++)
+            track(other.array[i]);
+        System.arraycopy(other.array, 0, array, size(), other.size());
+        size += other.size();
+        modCount++;
+        return this;
+    }
+
     /**
      * Removes the first occurrence of the specified element from this list,
      * if it is present (optional operation).  If this list does not contain
@@ -312,20 +523,42 @@ public class MyList<E> implements List<E> {
      * @throws ClassCastException if the type of the specified element
      *                            is incompatible with this list
      *                            (<a href="Collection.html#optional-restrictions">optional</a>)
+     * @implNote Runs in {@code O(n)}: survivors are compacted in a single pass
+     * instead of removing matches one by one.
      */
     public boolean removeAll(E e) {
-        if (size() == 0)
+        return removeIf(x -> Objects.equals(e, x));
+    }
+
+    /**
+     * Drops every element at index {@code newSize} and above, clearing the
+     * freed slots so they can be garbage collected.
+     *
+     * @param newSize the number of leading elements to keep
+     * @return {@code true} if any element was dropped
+     */
+    private boolean truncate(int newSize) {
+        if (newSize == size())
             return false;
-        boolean result = false;
-        for (int i = 0; i < size(); i++) {
-            if (Objects.equals(e, array[i])) {
-                remove(i);
-                i--;
-                result = true;
-            }
-        }
+        for (int i = newSize; i < size(); i++)
+            array[i] = null;
+        bloomStale += size() - newSize;
+        size = newSize;
+        modCount++;
         minimizeArray();
-        return result;
+        return true;
+    }
+
+    /**
+     * Keeps only the elements whose membership in {@code c} equals
+     * {@code retain}, preserving their order. Membership is tested through
+     * {@link #removeIf} so that a {@code contains} that throws leaves the
+     * list unchanged.
+     */
+    private boolean batchRemove(Collection<?> c, boolean retain) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(e -> c.contains(e) != retain);
     }
 
     // Bulk Modification Operations
@@ -412,8 +645,8 @@ public class MyList<E> implements List<E> {
      */
     @Override
     public boolean addAll(int index, Collection<? extends E> c) {
-        if(index < 0 || index > size())
-            throw new IllegalArgumentException();
+        if (index < 0 || index > size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         MyList list = getMyList(c);
         if (list.size() != 0) {
             addList(index, list);
@@ -448,16 +681,21 @@ public class MyList<E> implements List<E> {
     private MyList<E> addList(int index, MyList list) {
         if (list == null)
             throw new NullPointerException();
-        if(index < 0 || index > size())
-            throw new IllegalArgumentException();
+        if (index < 0 || index > size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         if (list.size() == 0)
             return this;
-        Object[] newArray = new Object[size() + list.size()];
+        for (Object e : list)
+            track(e);
+        Object[] newArray = newArray(size() + list.size());
         System.arraycopy(array, 0, newArray, 0, index);
         System.arraycopy((E[])list.toArray(), 0, newArray, index, list.size());
         System.arraycopy(array, index, newArray, list.size() + index, size() - index);
+        recycle(array);
         array = newArray;
         size = size() + list.size();
+        modCount++;
+        inserted(index, index + list.size());
         return this;
     }
 
@@ -471,16 +709,12 @@ public class MyList<E> implements List<E> {
      *                              is incompatible with the specified collection
      *                              (<a href="Collection.html#optional-restrictions">optional</a>)
      * @throws NullPointerException if the specified collection is null
+     * @implNote Runs in {@code O(n)} calls to {@code c.contains}, so it is
+     * linear when {@code c} is a hash based set.
      */
     @Override
     public boolean removeAll(Collection<?> c) {
-        Iterator it = c.iterator();
-        boolean modified = false;
-        while (it.hasNext()) {
-            if (removeAll((E) it.next()))
-                modified = true;
-        }
-        return modified;
+        return batchRemove(c, false);
     }
 
     /**
@@ -497,22 +731,12 @@ public class MyList<E> implements List<E> {
      * @throws NullPointerException if the specified collection is null
      * @see #remove(Object)
      * @see #contains(Object)
+     * @implNote Runs in {@code O(n)} calls to {@code c.contains}, so it is
+     * linear when {@code c} is a hash based set.
      */
     @Override
     public boolean retainAll(Collection<?> c) {
-        if (c == null)
-            throw new NullPointerException();
-        if (size() == 0)
-            return false;
-        boolean isListChaged = false;
-        Iterator it = c.iterator();
-        for(int i = 0; i < size(); i++ ) {
-            if(!c.contains(get(i))) {
-                removeAll(get(i));
-                isListChaged = true;
-            }
-        }
-        return isListChaged;
+        return batchRemove(c, true);
     }
 
     /**
@@ -521,7 +745,10 @@ public class MyList<E> implements List<E> {
      */
     @Override
     public void clear() {
+        Arrays.fill(array, 0, size(), null);
         size = 0;
+        modCount++;
+        clearBloomFilter();
         minimizeArray();
     }
 
@@ -559,7 +786,10 @@ public class MyList<E> implements List<E> {
     @Override
     public E set(int index, E element) {
         E e = get(index);
+        track(element);
+        bloomStale++;
         array[index] = element;
+        writeCount++;
         return e;
     }
 
@@ -587,8 +817,11 @@ public class MyList<E> implements List<E> {
         for (int i = size() - 1; i >= index; i--) {
             array[i + 1] = array[i];
         }
+        track(element);
         array[index] = element;
         size++;
+        modCount++;
+        inserted(index, index + 1);
     }
 
     /**
@@ -609,10 +842,11 @@ public class MyList<E> implements List<E> {
         if (index < 0 || index >= size())
             throw new IndexOutOfBoundsException();
         E e = get(index);
-        for (int i = index; i < size(); i++) {
-            array[i] = array[i + 1];
-        }
+        System.arraycopy(array, index + 1, array, index, size() - index - 1);
+        array[size() - 1] = null;
         size--;
+        modCount++;
+        bloomStale++;
         minimizeArray();
         return e;
     }
@@ -635,7 +869,7 @@ public class MyList<E> implements List<E> {
      */
     @Override
     public int indexOf(Object o) {
-        if (size() == 0)
+        if (size() == 0 || !mightContain(o))
             return -1;
         E el = (E) o;
         for (int i = 0; i < size(); i++)
@@ -660,6 +894,8 @@ public class MyList<E> implements List<E> {
      */
     @Override
     public int lastIndexOf(Object o) {
+        if (!mightContain(o))
+            return -1;
         int lastIndex = -1;
         for (int i = 0; i < size(); i++)
             if (Objects.equals(o, array[i]))
@@ -710,6 +946,7 @@ public class MyList<E> implements List<E> {
         private int index = 0;
         private boolean allowRemoveOrSet = false;
         private int lastReturnedIndex = -1;
+        private int expectedModCount = modCount;
 
         public MyListItr() {
         }
@@ -743,6 +980,7 @@ public class MyList<E> implements List<E> {
          */
         @Override
         public F next() {
+            checkForComodification(expectedModCount);
             if (index >= size())
                 throw new NoSuchElementException();
             allowRemoveOrSet = true;
@@ -780,6 +1018,7 @@ public class MyList<E> implements List<E> {
          *                                element
          */
         public F previous() {
+            checkForComodification(expectedModCount);
             if (size == 0 || index <= 0)
                 throw new NoSuchElementException();
             allowRemoveOrSet = true;
@@ -830,10 +1069,12 @@ public class MyList<E> implements List<E> {
         public void remove() {
             if (!allowRemoveOrSet)
                 throw new IllegalStateException();
+            checkForComodification(expectedModCount);
             allowRemoveOrSet = false;
             MyList.this.remove(index);
             if (size < index)
                 index = size;
+            expectedModCount = modCount;
         }
 
         /**
@@ -879,6 +1120,7 @@ public class MyList<E> implements List<E> {
          *                                  prevents it from being added to this list
          */
         public void add(F e) {
+            checkForComodification(expectedModCount);
             allowRemoveOrSet = false;
             if (size() == 0) {
                 MyList.this.add((E) e);
@@ -888,6 +1130,7 @@ public class MyList<E> implements List<E> {
                 lastReturnedIndex++;
                 index++;
             }
+            expectedModCount = modCount;
         }
     }
 
@@ -931,6 +1174,956 @@ public class MyList<E> implements List<E> {
         //TODO
     }
 
+    // Parallel Bulk Operations
+
+    /**
+     * Returns a new list holding {@code mapper} applied to every element of
+     * this list, in the same order. The elements are mapped in parallel on
+     * the common fork/join pool, each task writing its results straight into
+     * the pre-sized array of the new list.
+     * <p>
+     * {@code mapper} must be stateless and must not modify this list.
+     *
+     * @param mapper function to apply to each element
+     * @param <R>    the element type of the new list
+     * @return the mapped list
+     * @throws NullPointerException if {@code mapper} is null
+     */
+    public <R> MyList<R> mapTo(Function<? super E, ? extends R> mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        int n = size();
+        Object[] source = array;
+        MyList<R> result = new MyList<>(Math.max(n, 1));
+        Object[] target = result.array;
+        ForkJoinRanges.forEachLeaf(n, (from, to) -> {
+            for (int i = from; i < to; i++)
+                target[i] = mapper.apply((E) source[i]);
+        });
+        result.size = n;
+        return result;
+    }
+
+    /**
+     * Returns a new list holding the elements of this list that match
+     * {@code predicate}, in the same order.
+     * <p>
+     * The predicate is evaluated in parallel into a bitmap while counting the
+     * matches of every fork/join leaf. A prefix sum of the counts gives each
+     * leaf the offset of its first match in the exactly sized result, which
+     * the leaves then fill in parallel. {@code predicate} is called once per
+     * element, must be stateless and must not modify this list.
+     *
+     * @param predicate the condition elements must meet to be kept
+     * @return the filtered list
+     * @throws NullPointerException if {@code predicate} is null
+     */
+    public MyList<E> filterTo(Predicate<? super E> predicate) {
+        if (predicate == null)
+            throw new NullPointerException();
+        int n = size();
+        Object[] source = array;
+        long[] matches = new long[(n + 63) >>> 6];
+        int[] offsets = markMatches(source, n, predicate, matches);
+        int total = offsets[offsets.length - 1];
+        MyList<E> result = new MyList<>(Math.max(total, 1));
+        Object[] target = result.array;
+        ForkJoinRanges.forEachLeaf(n, (from, to) -> {
+            int w = offsets[from / ForkJoinRanges.LEAF_SIZE];
+            for (int i = from; i < to; i++)
+                if ((matches[i >>> 6] & 1L << i) != 0)
+                    target[w++] = source[i];
+        });
+        result.size = total;
+        return result;
+    }
+
+    /**
+     * Sets the bit of every element of {@code source[0, n)} matching
+     * {@code predicate}, in parallel, and returns the exclusive prefix sums of
+     * the match counts per fork/join leaf, followed by the total.
+     */
+    private static <E> int[] markMatches(Object[] source, int n, Predicate<? super E> predicate, long[] bits) {
+        int[] offsets = new int[ForkJoinRanges.leafCount(n) + 1];
+        ForkJoinRanges.forEachLeaf(n, (from, to) -> {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (predicate.test((E) source[i])) {
+                    bits[i >>> 6] |= 1L << i;
+                    count++;
+                }
+            }
+            offsets[from / ForkJoinRanges.LEAF_SIZE] = count;
+        });
+        int total = 0;
+        for (int leaf = 0; leaf < offsets.length; leaf++) {
+            int count = offsets[leaf];
+            offsets[leaf] = total;
+            total += count;
+        }
+        return offsets;
+    }
+
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate, keeping the order of the others.
+     * <p>
+     * The predicate is evaluated for every element before the list is
+     * touched, so an exception thrown by it leaves the list unchanged; the
+     * survivors are then compacted in a single pass.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        int n = size();
+        long[] removed = new long[(n + 63) >>> 6];
+        boolean any = false;
+        for (int i = 0; i < n; i++) {
+            if (filter.test((E) array[i])) {
+                removed[i >>> 6] |= 1L << i;
+                any = true;
+            }
+        }
+        if (!any)
+            return false;
+        int w = 0;
+        for (int r = 0; r < n; r++)
+            if ((removed[r >>> 6] & 1L << r) == 0)
+                array[w++] = array[r];
+        return truncate(w);
+    }
+
+    /**
+     * Same as {@link #parallelRemoveIf(Predicate, boolean)} without shrinking
+     * the backing array.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    public boolean parallelRemoveIf(Predicate<? super E> filter) {
+        return parallelRemoveIf(filter, false);
+    }
+
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate, keeping the order of the others, using the common fork/join
+     * pool.
+     * <p>
+     * The predicate is evaluated in parallel into a bitmap, counting the
+     * removals of every fork/join leaf; a prefix sum of the counts gives each
+     * leaf the final offset of its survivors. When {@code shrink} is set, the
+     * leaves copy their survivors in parallel into a new array sized to the
+     * result. Otherwise the array is compacted in place: each leaf packs its
+     * survivors to its own start in parallel, then the packed blocks are moved
+     * down in one sequential pass, as blocks moved concurrently could overwrite
+     * survivors not yet moved. Either way the list is left unchanged if the
+     * predicate throws, and the structural modification is counted once.
+     * <p>
+     * {@code filter} must be stateless and must not modify this list.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @param shrink whether to reallocate the backing array to fit the result
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    public boolean parallelRemoveIf(Predicate<? super E> filter, boolean shrink) {
+        if (filter == null)
+            throw new NullPointerException();
+        int n = size();
+        Object[] source = array;
+        long[] removed = new long[(n + 63) >>> 6];
+        int[] removedBefore = markMatches(source, n, filter, removed);
+        int newSize = n - removedBefore[removedBefore.length - 1];
+        if (newSize == n)
+            return false;
+        int leaf = ForkJoinRanges.LEAF_SIZE;
+        if (shrink) {
+            Object[] target = newArray(Math.max(newSize, defaultListSize));
+            ForkJoinRanges.forEachLeaf(n, (from, to) -> {
+                int w = from - removedBefore[from / leaf];
+                for (int i = from; i < to; i++)
+                    if ((removed[i >>> 6] & 1L << i) == 0)
+                        target[w++] = source[i];
+            });
+            recycle(array);
+            array = target;
+        } else {
+            ForkJoinRanges.forEachLeaf(n, (from, to) -> {
+                int w = from;
+                for (int i = from; i < to; i++)
+                    if ((removed[i >>> 6] & 1L << i) == 0)
+                        source[w++] = source[i];
+            });
+            for (int k = 1; k < removedBefore.length - 1; k++) {
+                int from = k * leaf;
+                int survivors = Math.min(leaf, n - from) - (removedBefore[k + 1] - removedBefore[k]);
+                System.arraycopy(source, from, source, from - removedBefore[k], survivors);
+            }
+            Arrays.fill(source, newSize, n, null);
+        }
+        bloomStale += n - newSize;
+        size = newSize;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Replaces each element of this list with the result of applying
+     * {@code operator} to it, in parallel on the common fork/join pool.
+     * {@code operator} must be stateless and must not modify this list.
+     *
+     * @param operator the operator to apply to each element
+     * @throws NullPointerException if {@code operator} is null
+     */
+    public void parallelReplaceAll(UnaryOperator<E> operator) {
+        if (operator == null)
+            throw new NullPointerException();
+        Object[] elements = array;
+        ForkJoinRanges.forEachLeaf(size(), (from, to) -> {
+            for (int i = from; i < to; i++)
+                elements[i] = operator.apply((E) elements[i]);
+        });
+        writeCount++;
+        if (bloom != null)
+            buildBloomFilter(bloom.expectedElements());
+    }
+
+    // Bloom Filter
+
+    /**
+     * Keeps a {@link BloomFilter} over the elements of this list so that
+     * {@link #contains}, {@link #indexOf} and {@link #lastIndexOf} return at
+     * once, without scanning, for most elements that are not in the list.
+     * <p>
+     * Every added or replacing element is recorded in the filter, which
+     * costs one {@code hashCode} call per write. Removed elements stay in the
+     * filter and only make false positives more likely; once more than a
+     * quarter of the elements are stale, or the list outgrows the size the
+     * filter was built for, the next lookup rebuilds it, doubling its size in
+     * the latter case. Calling this method again rebuilds the filter with the
+     * new settings.
+     *
+     * @param expectedSize      number of elements to size the filter for; the
+     *                          current size is used if larger
+     * @param falsePositiveRate target rate of lookups of absent elements that
+     *                          still scan the list
+     * @throws IllegalArgumentException if {@code expectedSize} is not positive
+     *                                  or {@code falsePositiveRate} is not in
+     *                                  {@code (0, 1)}
+     * @see #bloomFilterFalsePositiveRate()
+     * @see #bloomFilterMemoryBytes()
+     */
+    public void enableBloomFilter(int expectedSize, double falsePositiveRate) {
+        if (expectedSize <= 0)
+            throw new IllegalArgumentException(
+                    "The expectedSize should be positive integer"
+            );
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException(
+                    "The falsePositiveRate should be in (0, 1)"
+            );
+        bloomFalsePositiveRate = falsePositiveRate;
+        buildBloomFilter(Math.max(expectedSize, size()));
+    }
+
+    /**
+     * Drops the Bloom filter of this list, if any.
+     */
+    public void disableBloomFilter() {
+        bloom = null;
+        bloomStale = 0;
+    }
+
+    /**
+     * Returns {@code true} if lookups of this list go through a Bloom filter.
+     *
+     * @return whether the Bloom filter is enabled
+     */
+    public boolean isBloomFilterEnabled() {
+        return bloom != null;
+    }
+
+    /**
+     * Returns the estimated share of lookups of absent elements that still
+     * scan the list: the false positive rate of the Bloom filter for the
+     * elements recorded in it, or 1 if it is disabled.
+     *
+     * @return the estimated false positive rate
+     */
+    public double bloomFilterFalsePositiveRate() {
+        return bloom == null ? 1 : bloom.falsePositiveRate();
+    }
+
+    /**
+     * Returns the memory taken by the Bloom filter, or 0 if it is disabled.
+     *
+     * @return the size of the filter in bytes
+     */
+    public long bloomFilterMemoryBytes() {
+        return bloom == null ? 0 : bloom.memoryBytes();
+    }
+
+    private void track(Object e) {
+        if (bloom != null)
+            bloom.add(e);
+    }
+
+    private void clearBloomFilter() {
+        if (bloom != null)
+            bloom.clear();
+        bloomStale = 0;
+    }
+
+    private void buildBloomFilter(int expectedSize) {
+        bloom = new BloomFilter(expectedSize, bloomFalsePositiveRate);
+        bloomStale = 0;
+        for (int i = 0; i < size(); i++)
+            bloom.add(array[i]);
+    }
+
+    /**
+     * Returns {@code false} if {@code o} is definitely not in this list,
+     * rebuilding a stale or outgrown filter first.
+     */
+    private boolean mightContain(Object o) {
+        if (bloom == null)
+            return true;
+        if (size() > bloom.expectedElements())
+            buildBloomFilter(Math.max(bloom.expectedElements() * 2, size()));
+        else if (bloomStale > size() * BLOOM_STALE_FRACTION)
+            buildBloomFilter(bloom.expectedElements());
+        return bloom.mightContain(o);
+    }
+
+    // Selection Operations
+
+    /**
+     * Returns a new list holding the {@code k} greatest elements of this list
+     * according to {@code c}, greatest first, without sorting or modifying
+     * this list. If the list has fewer than {@code k} elements, all of them
+     * are returned. For the {@code k} least elements pass
+     * {@code c.reversed()}.
+     * <p>
+     * The elements are kept in a bounded min-heap while scanning the list
+     * once, which takes {@code O(n log k)} time and {@code O(k)} extra space.
+     *
+     * @param k the number of elements to return
+     * @param c the comparator ordering the elements; {@code null} means
+     *          natural ordering
+     * @return the {@code k} greatest elements in descending order
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #parallelTopK(int, Comparator)
+     */
+    public MyList<E> topK(int k, Comparator<? super E> c) {
+        checkSelectionCount(k);
+        Comparator<? super E> comparator = orNaturalOrder(c);
+        Object[] heap = Selection.greatest(array, 0, size(), k, comparator);
+        return descending(heap, comparator);
+    }
+
+    /**
+     * Returns the element at position {@code n} of this list once sorted
+     * according to {@code c}, rearranging the list in place so that it
+     * actually is at index {@code n}, no element before it compares greater
+     * and no element after it compares less. The order within each side is
+     * unspecified.
+     * <p>
+     * This is an introselect over the backing array, taking {@code O(n)}
+     * expected and {@code O(n log n)} worst-case time.
+     *
+     * @param n the sorted position of the element to select
+     * @param c the comparator ordering the elements; {@code null} means
+     *          natural ordering
+     * @return the element at sorted position {@code n}
+     * @throws IndexOutOfBoundsException if {@code n} is out of range
+     *                                   ({@code n < 0 || n >= size()})
+     */
+    public E nthElement(int n, Comparator<? super E> c) {
+        if (n < 0 || n >= size())
+            throw new IndexOutOfBoundsException();
+        Selection.select(array, 0, size(), n, orNaturalOrder(c));
+        modCount++;
+        return (E) array[n];
+    }
+
+    /**
+     * Rearranges this list in place so that its first {@code k} positions
+     * hold its {@code k} least elements according to {@code c}, in ascending
+     * order. The order of the remaining elements is unspecified. If the list
+     * has at most {@code k} elements, it is sorted entirely.
+     * <p>
+     * This selects the {@code k}-th element and sorts the prefix before it,
+     * taking {@code O(n + k log k)} expected time instead of the
+     * {@code O(n log n)} of a full sort.
+     *
+     * @param k the number of leading positions to sort
+     * @param c the comparator ordering the elements; {@code null} means
+     *          natural ordering
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #parallelPartialSort(int, Comparator)
+     */
+    public void partialSort(int k, Comparator<? super E> c) {
+        checkSelectionCount(k);
+        Selection.partialSort(array, size(), Math.min(k, size()), orNaturalOrder(c));
+        modCount++;
+    }
+
+    /**
+     * Same as {@link #topK(int, Comparator)}, scanning the list in parallel.
+     * <p>
+     * Every fork/join leaf keeps the {@code k} greatest elements of its range
+     * in a heap of its own; the heaps are then merged into one. This pays off
+     * when {@code k} is small compared to the size of the list.
+     *
+     * @param k the number of elements to return
+     * @param c the comparator ordering the elements; {@code null} means
+     *          natural ordering, and must be safe to call from several
+     *          threads at once
+     * @return the {@code k} greatest elements in descending order
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public MyList<E> parallelTopK(int k, Comparator<? super E> c) {
+        checkSelectionCount(k);
+        Comparator<? super E> comparator = orNaturalOrder(c);
+        int n = size();
+        Object[] source = array;
+        Object[][] heaps = new Object[ForkJoinRanges.leafCount(n)][];
+        ForkJoinRanges.forEachLeaf(n, (from, to) ->
+                heaps[from / ForkJoinRanges.LEAF_SIZE] = Selection.greatest(source, from, to, k, comparator));
+        int total = 0;
+        for (Object[] heap : heaps)
+            total += heap.length;
+        Object[] candidates = new Object[total];
+        for (int leaf = 0, w = 0; leaf < heaps.length; w += heaps[leaf++].length)
+            System.arraycopy(heaps[leaf], 0, candidates, w, heaps[leaf].length);
+        return descending(Selection.greatest(candidates, 0, total, k, comparator), comparator);
+    }
+
+    /**
+     * Same as {@link #partialSort(int, Comparator)}, selecting in parallel.
+     * <p>
+     * Every fork/join leaf first selects its own {@code k} least elements to
+     * its start, in parallel. Those candidates necessarily include the
+     * {@code k} least elements of the whole list, so the {@code k}-th one is
+     * selected among the candidates only, and the chosen candidates are then
+     * swapped into the first {@code k} positions and sorted. When {@code k}
+     * exceeds half a leaf, or the list fits in one, this falls back to the
+     * sequential algorithm.
+     *
+     * @param k the number of leading positions to sort
+     * @param c the comparator ordering the elements; {@code null} means
+     *          natural ordering, and must be safe to call from several
+     *          threads at once
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public void parallelPartialSort(int k, Comparator<? super E> c) {
+        checkSelectionCount(k);
+        Comparator<? super E> comparator = orNaturalOrder(c);
+        int n = size();
+        int leaf = ForkJoinRanges.LEAF_SIZE;
+        if (k == 0 || n <= leaf || k > leaf / 2) {
+            partialSort(k, comparator);
+            return;
+        }
+        Object[] elements = array;
+        ForkJoinRanges.forEachLeaf(n, (from, to) -> {
+            if (to - from > k)
+                Selection.select(elements, from, to, from + k - 1, comparator);
+        });
+        int leaves = ForkJoinRanges.leafCount(n);
+        Object[] candidates = new Object[(leaves - 1) * k + Math.min(k, n - (leaves - 1) * leaf)];
+        for (int from = 0, w = 0; from < n; from += leaf, w += k)
+            System.arraycopy(elements, from, candidates, w, Math.min(k, n - from));
+        Selection.select(candidates, 0, candidates.length, k - 1, comparator);
+        E kth = (E) candidates[k - 1];
+        int ties = 0;
+        for (int i = 0; i < k; i++)
+            if (comparator.compare((E) candidates[i], kth) == 0)
+                ties++;
+        // The first k positions are the candidates of the first leaf; keep
+        // the chosen ones there and swap the others with chosen candidates of
+        // the following leaves.
+        boolean[] kept = new boolean[k];
+        for (int i = 0; i < k; i++) {
+            int cmp = comparator.compare((E) elements[i], kth);
+            kept[i] = cmp < 0 || cmp == 0 && ties-- > 0;
+        }
+        int front = 0;
+        for (int from = leaf; from < n; from += leaf) {
+            for (int i = from, end = Math.min(from + k, n); i < end; i++) {
+                int cmp = comparator.compare((E) elements[i], kth);
+                if (cmp < 0 || cmp == 0 && ties-- > 0) {
+                    while (kept[front])
+                        front++;
+                    Selection.swap(elements, front++, i);
+                }
+            }
+        }
+        Arrays.sort(elements, 0, k, (Comparator<Object>) comparator);
+        modCount++;
+    }
+
+    private static void checkSelectionCount(int k) {
+        if (k < 0)
+            throw new IllegalArgumentException(
+                    "The k should be non negative integer"
+            );
+    }
+
+    private static <E> Comparator<? super E> orNaturalOrder(Comparator<? super E> c) {
+        return c != null ? c : (Comparator<? super E>) Comparator.naturalOrder();
+    }
+
+    /**
+     * Sorts the min-heap {@code heap} and wraps it into a list, greatest
+     * element first.
+     */
+    private static <E> MyList<E> descending(Object[] heap, Comparator<? super E> c) {
+        Selection.sortDescending(heap, heap.length, c);
+        MyList<E> result = new MyList<>(Math.max(heap.length, 1));
+        System.arraycopy(heap, 0, result.array, 0, heap.length);
+        result.size = heap.length;
+        return result;
+    }
+
+    // Aggregates
+
+    /**
+     * Returns the least element of this list according to {@code c}.
+     * <p>
+     * The result is cached, for the comparator passed last, until the next
+     * modification or replaced element, so asking again for an unchanged
+     * list is {@code O(1)}. Inserted elements are compared against the
+     * cached minimum instead of scanning the list again; other modifications
+     * rescan it on the next call.
+     *
+     * @param c the comparator ordering the elements; {@code null} means
+     *          natural ordering
+     * @return the least element of this list
+     * @throws NoSuchElementException if this list is empty
+     * @see #clearAggregates()
+     */
+    public E min(Comparator<? super E> c) {
+        return extreme(c, 1);
+    }
+
+    /**
+     * Returns the greatest element of this list according to {@code c},
+     * cached and maintained like {@link #min(Comparator)}.
+     *
+     * @param c the comparator ordering the elements; {@code null} means
+     *          natural ordering
+     * @return the greatest element of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E max(Comparator<? super E> c) {
+        return extreme(c, -1);
+    }
+
+    private E extreme(Comparator<? super E> c, int sign) {
+        Comparator<? super E> comparator = orNaturalOrder(c);
+        String key = sign > 0 ? "min" : "max";
+        Extreme<E> memo = (Extreme<E>) memo(key, comparator, () -> new Extreme<>(key, comparator, sign));
+        E e = (E) memo.get(this);
+        if (memo.empty)
+            throw new NoSuchElementException();
+        return e;
+    }
+
+    /**
+     * Returns {@code true} if every element of this list is less than or
+     * equal to the next one according to {@code c}.
+     * <p>
+     * The result is cached until the next modification or replaced element.
+     * Inserted elements are only compared with their neighbours, so a sorted
+     * list that is appended to in order stays known to be sorted without
+     * being scanned again.
+     *
+     * @param c the comparator ordering the elements; {@code null} means
+     *          natural ordering
+     * @return whether this list is sorted
+     */
+    public boolean isSorted(Comparator<? super E> c) {
+        Comparator<? super E> comparator = orNaturalOrder(c);
+        return (Boolean) memo("sorted", comparator, () -> new Sorted<>("sorted", comparator)).get(this);
+    }
+
+    /**
+     * Returns the number of distinct elements of this list, compared with
+     * {@code equals}. The result is cached until the next modification or
+     * replaced element.
+     *
+     * @return the number of distinct elements
+     */
+    public int distinctCount() {
+        return (Integer) memo("distinct", null, () -> new Computed<E>("distinct", l -> new HashSet<>(l).size(), null))
+                .get(this);
+    }
+
+    /**
+     * Returns a supplier of the result of {@code aggregate} over this list.
+     * The supplier computes the aggregate on its first call and caches the
+     * result until the next modification or replaced element. The cache
+     * lives in the supplier only, so the caller keeps the supplier to reuse
+     * the result; the list holds no reference to it, and calling this method
+     * again creates an independent cache.
+     *
+     * @param aggregate function computing the result from this list; it
+     *                  must not modify the list
+     * @param <R>       the type of the result
+     * @return a supplier of the cached result
+     * @throws NullPointerException if {@code aggregate} is null
+     */
+    public <R> Supplier<R> memoize(Function<? super List<E>, ? extends R> aggregate) {
+        return memoize(aggregate, null);
+    }
+
+    /**
+     * Same as {@link #memoize(Function)}, updating a cached result with
+     * {@code accumulator} for the elements appended since it was computed
+     * instead of computing it again. Other modifications recompute the
+     * result with {@code aggregate} on the next call.
+     *
+     * @param aggregate   function computing the result from this list; it
+     *                    must not modify the list
+     * @param accumulator function combining a result with an appended
+     *                    element into the result of the longer list, or
+     *                    {@code null} to always recompute
+     * @param <R>         the type of the result
+     * @return a supplier of the cached result
+     * @throws NullPointerException if {@code aggregate} is null
+     */
+    public <R> Supplier<R> memoize(Function<? super List<E>, ? extends R> aggregate,
+                                   BiFunction<? super R, ? super E, ? extends R> accumulator) {
+        if (aggregate == null)
+            throw new NullPointerException();
+        Memo<E> memo = new Computed<>(aggregate, aggregate, accumulator);
+        return () -> (R) memo.get(this);
+    }
+
+    /**
+     * Forgets the results cached by {@link #min}, {@link #max},
+     * {@link #isSorted} and {@link #distinctCount}. Suppliers returned by
+     * {@link #memoize} keep their own results.
+     */
+    public void clearAggregates() {
+        memos = null;
+    }
+
+    /**
+     * Returns the length of the backing array.
+     */
+    int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Returns the number of cached aggregates updated on every insertion.
+     */
+    int registeredAggregates() {
+        return memos == null ? 0 : memos.size();
+    }
+
+    /**
+     * Returns the registered memo of {@code key}, creating it if there is
+     * none or if it was registered with another {@code qualifier}; a key
+     * keeps a single memo, so passing a new comparator on every call does
+     * not pile them up.
+     */
+    private Memo<E> memo(Object key, Object qualifier, Supplier<Memo<E>> factory) {
+        if (memos == null)
+            memos = new ArrayList<>();
+        for (int i = 0; i < memos.size(); i++) {
+            Memo<E> memo = memos.get(i);
+            if (memo.key.equals(key)) {
+                if (Objects.equals(memo.qualifier, qualifier))
+                    return memo;
+                memo = factory.get();
+                memos.set(i, memo);
+                return memo;
+            }
+        }
+        Memo<E> memo = factory.get();
+        memos.add(memo);
+        return memo;
+    }
+
+    /**
+     * Folds the elements just inserted at {@code [from, to)} into the
+     * cached results that were valid before the insertion. Must be called
+     * right after the {@code modCount} increment of the insertion.
+     */
+    private void inserted(int from, int to) {
+        long version = version();
+        long before = version - (1L << 32);
+        if (to == size) {
+            if (before != appendTip)
+                appendBase = before;
+            appendTip = version;
+        }
+        if (memos == null)
+            return;
+        for (Memo<E> memo : memos) {
+            if (memo.valid && memo.version == before) {
+                if (memo.inserted(this, from, to))
+                    memo.version = version;
+                else
+                    memo.valid = false;
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if this list only had elements appended since it
+     * was at {@code version}.
+     */
+    private boolean appendedSince(long version) {
+        if (version() != appendTip || (int) version != (int) appendBase)
+            return false;
+        int appends = modCount - (int) (version >>> 32);
+        return appends >= 0 && appends <= modCount - (int) (appendBase >>> 32);
+    }
+
+    /**
+     * Result of an aggregate cached at a version of the list.
+     */
+    private abstract static class Memo<E> {
+        final Object key;
+        final Object qualifier;
+        Object value;
+        long version;
+        boolean valid;
+
+        Memo(Object key, Object qualifier) {
+            this.key = key;
+            this.qualifier = qualifier;
+        }
+
+        Object get(MyList<E> list) {
+            long current = list.version();
+            if (!valid || version != current) {
+                value = compute(list);
+                version = current;
+                valid = true;
+            }
+            return value;
+        }
+
+        abstract Object compute(MyList<E> list);
+
+        /**
+         * Updates the value for the elements inserted at {@code [from, to)},
+         * returning {@code false} if it has to be computed again instead.
+         */
+        boolean inserted(MyList<E> list, int from, int to) {
+            return false;
+        }
+    }
+
+    private static final class Extreme<E> extends Memo<E> {
+        private final Comparator<? super E> comparator;
+        /**
+         * 1 to keep the least element, -1 to keep the greatest
+         */
+        private final int sign;
+        boolean empty;
+
+        Extreme(Object key, Comparator<? super E> comparator, int sign) {
+            super(key, comparator);
+            this.comparator = comparator;
+            this.sign = sign;
+        }
+
+        @Override
+        Object compute(MyList<E> list) {
+            value = null;
+            empty = true;
+            inserted(list, 0, list.size);
+            return value;
+        }
+
+        @Override
+        boolean inserted(MyList<E> list, int from, int to) {
+            if (from == to)
+                return true;
+            Object[] elements = list.array;
+            int i = from;
+            if (empty) {
+                value = elements[i++];
+                empty = false;
+            }
+            E extreme = (E) value;
+            for (; i < to; i++) {
+                int cmp = comparator.compare((E) elements[i], extreme);
+                if (sign > 0 ? cmp < 0 : cmp > 0)
+                    extreme = (E) elements[i];
+            }
+            value = extreme;
+            return true;
+        }
+    }
+
+    private static final class Sorted<E> extends Memo<E> {
+        private final Comparator<? super E> comparator;
+
+        Sorted(Object key, Comparator<? super E> comparator) {
+            super(key, comparator);
+            this.comparator = comparator;
+        }
+
+        @Override
+        Object compute(MyList<E> list) {
+            return sorted(list, 1, list.size);
+        }
+
+        @Override
+        boolean inserted(MyList<E> list, int from, int to) {
+            if ((Boolean) value)
+                value = sorted(list, Math.max(from, 1), Math.min(to + 1, list.size));
+            return true;
+        }
+
+        private boolean sorted(MyList<E> list, int from, int to) {
+            Object[] elements = list.array;
+            for (int i = from; i < to; i++)
+                if (comparator.compare((E) elements[i - 1], (E) elements[i]) > 0)
+                    return false;
+            return true;
+        }
+    }
+
+    private static final class Computed<E> extends Memo<E> {
+        private final Function<? super List<E>, ?> aggregate;
+        private final BiFunction accumulator;
+
+        Computed(Object key, Function<? super List<E>, ?> aggregate, BiFunction<?, ? super E, ?> accumulator) {
+            super(key, accumulator);
+            this.aggregate = aggregate;
+            this.accumulator = accumulator;
+        }
+
+        /**
+         * Size of the list the value was computed or accumulated for
+         */
+        private int size;
+
+        @Override
+        Object get(MyList<E> list) {
+            if (valid && accumulator != null && version != list.version() && list.appendedSince(version)) {
+                for (int i = size; i < list.size; i++)
+                    value = accumulator.apply(value, list.array[i]);
+                version = list.version();
+                size = list.size;
+            }
+            return super.get(list);
+        }
+
+        @Override
+        Object compute(MyList<E> list) {
+            size = list.size;
+            return aggregate.apply(list);
+        }
+    }
+
+    // Equality
+
+    /**
+     * Returns a stamp of the contents of this list, which changes with every
+     * modification and every replaced element.
+     */
+    private long version() {
+        return (long) modCount << 32 | writeCount & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Compares the specified object with this list for equality.  Returns
+     * {@code true} if and only if the specified object is also a list, both
+     * lists have the same size, and all corresponding pairs of elements in
+     * the two lists are <i>equal</i>.
+     * <p>
+     * Another {@code MyList} is compared by size first, then element by
+     * element over the two backing arrays.
+     *
+     * @param o the object to be compared for equality with this list
+     * @return {@code true} if the specified object is equal to this list
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (o instanceof MyList)
+            return equalsMyList((MyList<?>) o);
+        if (!(o instanceof List))
+            return false;
+        List<?> other = (List<?>) o;
+        int n = size;
+        if (other.size() != n)
+            return false;
+        Object[] elements = array;
+        Iterator<?> it = other.iterator();
+        for (int i = 0; i < n; i++) {
+            if (!it.hasNext())
+                return false;
+            Object e = elements[i];
+            Object oe = it.next();
+            if (e != oe && (e == null || !e.equals(oe)))
+                return false;
+        }
+        return !it.hasNext();
+    }
+
+    private boolean equalsMyList(MyList<?> other) {
+        int n = size;
+        if (other.size != n)
+            return false;
+        Object[] a = array;
+        Object[] b = other.array;
+        for (int i = 0; i < n; i++) {
+            Object e = a[i];
+            Object oe = b[i];
+            if (e != oe && (e == null || !e.equals(oe)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this list, as defined by
+     * {@link List#hashCode()}.
+     * <p>
+     * The hash code is cached until the next modification or replaced
+     * element, so hashing an unchanged list again is {@code O(1)}. It
+     * reflects the hash codes of the elements at the time it was computed:
+     * mutating an element in place does not invalidate it.
+     *
+     * @return the hash code value for this list
+     */
+    @Override
+    public int hashCode() {
+        long version = version();
+        if (hashed && hashVersion == version)
+            return hash;
+        Object[] elements = array;
+        int h = 1;
+        for (int i = 0, n = size; i < n; i++) {
+            Object e = elements[i];
+            h = 31 * h + (e == null ? 0 : e.hashCode());
+        }
+        hash = h;
+        hashVersion = version;
+        hashed = true;
+        return h;
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(array);
@@ -0,0 +1,215 @@
+package com.github.durmm.collection;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+
+/**
+ * Streams lists to and from NIO channels in a compact binary format.
+ * <p>
+ * The format is a 4 byte magic number and a 4 byte element count, followed by
+ * the element payloads as produced by the {@link ElementCodec}. For
+ * {@link ElementCodec#VARIABLE variable width} codecs each payload is preceded
+ * by its 4 byte length, {@code -1} standing for a {@code null} element; fixed
+ * width codecs store payloads back to back and do not support nulls.
+ * <p>
+ * All I/O goes through one direct buffer allocated with the serializer and
+ * reused by every call, so lists of any size are written without building
+ * their whole image in memory. Only an element larger than that buffer
+ * causes a temporary allocation. For the same reason a serializer is not
+ * thread safe; use one per thread. Reading may consume bytes that follow the
+ * list in the channel, so the channel should carry nothing else.
+ *
+ * @param <E> the type of elements in the serialized lists
+ */
+public final class MyListSerializer<E> {
+    /**
+     * Buffer size used by {@link #MyListSerializer(ElementCodec)}.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    static final int MAGIC = 0x4D794C73; // "MyLs"
+    static final int HEADER_LENGTH = 2 * Integer.BYTES;
+    static final int NULL_LENGTH = -1;
+
+    private final ElementCodec<E> codec;
+    private final boolean variable;
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates serializer with a {@link #DEFAULT_BUFFER_SIZE} bytes buffer
+     *
+     * @param codec codec for the list elements
+     * @throws NullPointerException if {@code codec} is null
+     */
+    public MyListSerializer(ElementCodec<E> codec) {
+        this(codec, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates serializer with a {@code bufferSize} bytes buffer
+     *
+     * @param codec      codec for the list elements
+     * @param bufferSize size of the reusable direct buffer
+     * @throws NullPointerException     if {@code codec} is null
+     * @throws IllegalArgumentException if {@code bufferSize} is smaller than the
+     *                                  header or a fixed width element
+     */
+    public MyListSerializer(ElementCodec<E> codec, int bufferSize) {
+        if (codec == null)
+            throw new NullPointerException();
+        if (bufferSize < HEADER_LENGTH || bufferSize < codec.fixedLength())
+            throw new IllegalArgumentException(
+                    "The bufferSize should hold at least the header and one fixed width element"
+            );
+        this.codec = codec;
+        this.variable = codec.fixedLength() == ElementCodec.VARIABLE;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Writes all elements of {@code list}, in iteration order, to {@code channel}.
+     *
+     * @param list    the elements to write
+     * @param channel the destination channel
+     * @throws IOException                     if the channel fails
+     * @throws NullPointerException            if {@code list} contains null and the
+     *                                         codec is fixed width
+     * @throws ConcurrentModificationException if {@code list} changes size while
+     *                                         being written
+     */
+    public void write(Collection<? extends E> list, WritableByteChannel channel) throws IOException {
+        int size = list.size();
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(size);
+        int written = 0;
+        for (E e : list) {
+            writeElement(e, channel);
+            written++;
+        }
+        if (written != size)
+            throw new ConcurrentModificationException();
+        flush(channel);
+    }
+
+    private void writeElement(E e, WritableByteChannel channel) throws IOException {
+        if (variable) {
+            int length = e == null ? NULL_LENGTH : codec.encodedLength(e);
+            reserve(Integer.BYTES, channel);
+            buffer.putInt(length);
+            if (length == NULL_LENGTH)
+                return;
+            if (length > buffer.capacity()) {
+                flush(channel);
+                ByteBuffer large = ByteBuffer.allocate(length);
+                codec.encode(e, large);
+                large.flip();
+                writeFully(large, channel);
+                return;
+            }
+            reserve(length, channel);
+        } else {
+            if (e == null)
+                throw new NullPointerException("Fixed width codecs do not support null elements");
+            reserve(codec.fixedLength(), channel);
+        }
+        codec.encode(e, buffer);
+    }
+
+    private void reserve(int bytes, WritableByteChannel channel) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush(channel);
+    }
+
+    private void flush(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        writeFully(buffer, channel);
+        buffer.clear();
+    }
+
+    private static void writeFully(ByteBuffer source, WritableByteChannel channel) throws IOException {
+        while (source.hasRemaining())
+            channel.write(source);
+    }
+
+    /**
+     * Reads a list previously written by {@link #write(Collection, WritableByteChannel)}
+     * with a compatible codec. The returned list is sized from the header, so
+     * it never grows while being filled.
+     *
+     * @param channel the source channel
+     * @return a new list holding the decoded elements
+     * @throws EOFException              if the channel ends before the list does
+     * @throws StreamCorruptedException  if the data is not a serialized list
+     * @throws IOException               if the channel fails
+     */
+    public MyList<E> read(ReadableByteChannel channel) throws IOException {
+        buffer.clear();
+        buffer.flip();
+        require(HEADER_LENGTH, channel);
+        if (buffer.getInt() != MAGIC)
+            throw new StreamCorruptedException("Not a serialized MyList");
+        int size = buffer.getInt();
+        if (size < 0)
+            throw new StreamCorruptedException("Negative list size " + size);
+        MyList<E> list = new MyList<>(Math.max(size, 1));
+        for (int i = 0; i < size; i++)
+            list.add(readElement(channel));
+        return list;
+    }
+
+    private E readElement(ReadableByteChannel channel) throws IOException {
+        int length = codec.fixedLength();
+        if (variable) {
+            require(Integer.BYTES, channel);
+            length = buffer.getInt();
+            if (length == NULL_LENGTH)
+                return null;
+            if (length < 0)
+                throw new StreamCorruptedException("Negative element length " + length);
+            if (length > buffer.capacity())
+                return readLarge(length, channel);
+        }
+        require(length, channel);
+        return decode(buffer, length);
+    }
+
+    private E readLarge(int length, ReadableByteChannel channel) throws IOException {
+        ByteBuffer large = ByteBuffer.allocate(length);
+        // whatever is buffered is shorter than the element, which exceeds the buffer
+        large.put(buffer);
+        while (large.hasRemaining())
+            if (channel.read(large) < 0)
+                throw new EOFException();
+        large.flip();
+        return decode(large, length);
+    }
+
+    private E decode(ByteBuffer source, int length) throws StreamCorruptedException {
+        int start = source.position();
+        E e = codec.decode(source, length);
+        if (source.position() - start != length)
+            throw new StreamCorruptedException("Codec consumed " + (source.position() - start)
+                    + " bytes of a " + length + " bytes element");
+        return e;
+    }
+
+    /**
+     * Makes at least {@code bytes} unread bytes available in the buffer,
+     * keeping it in read mode.
+     */
+    private void require(int bytes, ReadableByteChannel channel) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+        buffer.compact();
+        while (buffer.position() < bytes)
+            if (channel.read(buffer) < 0)
+                throw new EOFException();
+        buffer.flip();
+    }
+}
@@ -0,0 +1,308 @@
+package com.github.durmm.collection;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List keeping its elements serialized in direct (off-heap) memory.
+ * <p>
+ * Elements are encoded by an {@link ElementCodec} into direct buffer
+ * segments, appended one after another; the heap only holds an index of
+ * their locations (a {@code long} and an {@code int} per element). The
+ * garbage collector therefore never traces the contents, however large the
+ * list gets. {@link #get(int)} decodes the element on every call.
+ * <p>
+ * Replaced and removed elements leave their bytes behind until the garbage
+ * exceeds the live data, at which point the live bytes are copied into
+ * fresh segments. Memory is released explicitly by {@link #close()};
+ * {@link #offHeapBytes()} and {@link #usedBytes()} report the footprint.
+ * This list is not thread safe, not even for concurrent reads.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class OffHeapList<E> extends AbstractList<E> implements RandomAccess, Closeable {
+    /**
+     * Segment size used by {@link #OffHeapList(ElementCodec)}.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+
+    private static final int defaultListSize = 10;
+    private static final int NULL_LENGTH = -1;
+
+    private final ElementCodec<E> codec;
+    private final int segmentSize;
+    private ByteBuffer[] segments = new ByteBuffer[4];
+    private int segmentCount;
+    private int writeOffset;
+    private long[] locations = new long[defaultListSize];
+    private int[] lengths = new int[defaultListSize];
+    private int size;
+    private long usedBytes;
+    private long garbageBytes;
+    private boolean closed;
+
+    /**
+     * Creates list with {@link #DEFAULT_SEGMENT_SIZE} bytes segments
+     *
+     * @param codec codec for the list elements
+     * @throws NullPointerException if {@code codec} is null
+     */
+    public OffHeapList(ElementCodec<E> codec) {
+        this(codec, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates list with {@code segmentSize} bytes segments. Elements larger
+     * than a segment get a segment of their own.
+     *
+     * @param codec       codec for the list elements
+     * @param segmentSize size of one direct buffer
+     * @throws NullPointerException     if {@code codec} is null
+     * @throws IllegalArgumentException if {@code segmentSize} is not positive
+     */
+    public OffHeapList(ElementCodec<E> codec, int segmentSize) {
+        if (codec == null)
+            throw new NullPointerException();
+        if (segmentSize <= 0)
+            throw new IllegalArgumentException(
+                    "The segmentSize should be positive integer"
+            );
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+    }
+
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("OffHeapList is closed");
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private static long location(int segment, int offset) {
+        return (long) segment << 32 | offset;
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+
+    /**
+     * Encodes {@code e} after the last written byte and returns its location;
+     * the length is already known to the caller.
+     */
+    private long append(E e, int length) {
+        if (length == NULL_LENGTH)
+            return 0;
+        if (segmentCount == 0 || segments[segmentCount - 1].capacity() - writeOffset < length)
+            addSegment(Math.max(segmentSize, length));
+        ByteBuffer segment = segments[segmentCount - 1];
+        segment.position(writeOffset);
+        codec.encode(e, segment);
+        long location = location(segmentCount - 1, writeOffset);
+        writeOffset += length;
+        usedBytes += length;
+        return location;
+    }
+
+    private void addSegment(int capacity) {
+        if (segmentCount == segments.length)
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        segments[segmentCount++] = ByteBuffer.allocateDirect(capacity);
+        writeOffset = 0;
+    }
+
+    private int encodedLength(E e) {
+        if (e == null) {
+            if (codec.fixedLength() != ElementCodec.VARIABLE)
+                throw new NullPointerException("Fixed width codecs do not support null elements");
+            return NULL_LENGTH;
+        }
+        return codec.encodedLength(e);
+    }
+
+    private void release(int index) {
+        if (lengths[index] != NULL_LENGTH) {
+            usedBytes -= lengths[index];
+            garbageBytes += lengths[index];
+        }
+    }
+
+    private void ensureIndexCapacity() {
+        if (size == locations.length) {
+            locations = Arrays.copyOf(locations, locations.length * 2);
+            lengths = Arrays.copyOf(lengths, lengths.length * 2);
+        }
+    }
+
+    /**
+     * Copies the live bytes into fresh segments once they are outnumbered by
+     * the bytes of replaced and removed elements.
+     */
+    private void compactIfWasteful() {
+        if (garbageBytes <= usedBytes || garbageBytes < segmentSize)
+            return;
+        ByteBuffer[] old = segments;
+        int oldCount = segmentCount;
+        segments = new ByteBuffer[4];
+        segmentCount = 0;
+        usedBytes = 0;
+        garbageBytes = 0;
+        for (int i = 0; i < size; i++) {
+            int length = lengths[i];
+            if (length == NULL_LENGTH)
+                continue;
+            if (segmentCount == 0 || segments[segmentCount - 1].capacity() - writeOffset < length)
+                addSegment(Math.max(segmentSize, length));
+            ByteBuffer source = old[segmentOf(locations[i])];
+            int offset = offsetOf(locations[i]);
+            source.limit(offset + length).position(offset);
+            ByteBuffer target = segments[segmentCount - 1];
+            target.position(writeOffset);
+            target.put(source);
+            source.clear();
+            locations[i] = location(segmentCount - 1, writeOffset);
+            writeOffset += length;
+            usedBytes += length;
+        }
+        for (int s = 0; s < oldCount; s++)
+            DirectBuffers.free(old[s]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes and returns the element at the specified position.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IllegalStateException     if the list is closed
+     */
+    @Override
+    public E get(int index) {
+        ensureOpen();
+        checkIndex(index, size);
+        int length = lengths[index];
+        if (length == NULL_LENGTH)
+            return null;
+        ByteBuffer segment = segments[segmentOf(locations[index])];
+        segment.position(offsetOf(locations[index]));
+        return codec.decode(segment, length);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = get(index);
+        int length = encodedLength(element);
+        release(index);
+        locations[index] = append(element, length);
+        lengths[index] = length;
+        compactIfWasteful();
+        return previous;
+    }
+
+    @Override
+    public boolean add(E e) {
+        add(size, e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        ensureOpen();
+        checkIndex(index, size + 1);
+        int length = encodedLength(element);
+        long location = append(element, length);
+        ensureIndexCapacity();
+        System.arraycopy(locations, index, locations, index + 1, size - index);
+        System.arraycopy(lengths, index, lengths, index + 1, size - index);
+        locations[index] = location;
+        lengths[index] = length;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E e = get(index);
+        release(index);
+        System.arraycopy(locations, index + 1, locations, index, size - index - 1);
+        System.arraycopy(lengths, index + 1, lengths, index, size - index - 1);
+        size--;
+        modCount++;
+        compactIfWasteful();
+        return e;
+    }
+
+    /**
+     * Removes all of the elements and frees all segments but the first,
+     * which is kept for further additions.
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        for (int s = 1; s < segmentCount; s++) {
+            DirectBuffers.free(segments[s]);
+            segments[s] = null;
+        }
+        segmentCount = Math.min(segmentCount, 1);
+        writeOffset = 0;
+        size = 0;
+        usedBytes = 0;
+        garbageBytes = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the direct memory currently reserved by this list, including
+     * unused segment space and the bytes of removed elements.
+     *
+     * @return reserved off-heap bytes
+     */
+    public long offHeapBytes() {
+        long total = 0;
+        for (int s = 0; s < segmentCount; s++)
+            total += segments[s].capacity();
+        return total;
+    }
+
+    /**
+     * Returns the number of off-heap bytes holding live elements.
+     *
+     * @return encoded size of the current elements
+     */
+    public long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Frees all off-heap memory. The list can not be used afterwards;
+     * closing it again has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        for (int s = 0; s < segmentCount; s++)
+            DirectBuffers.free(segments[s]);
+        segments = new ByteBuffer[0];
+        segmentCount = 0;
+        size = 0;
+        usedBytes = 0;
+        garbageBytes = 0;
+    }
+}
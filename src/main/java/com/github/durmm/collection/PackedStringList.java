@@ -0,0 +1,406 @@
+package com.github.durmm.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * List of strings packed as UTF-8 into a single {@code byte[]}.
+ * <p>
+ * The bytes of all elements are stored back to back, and an {@code int[]}
+ * holds the offset at which each element starts. A short ASCII string thus
+ * takes its length plus four bytes, instead of a {@code String} and its
+ * array with their headers and a reference. {@link #get(int)} decodes a new
+ * {@code String} on every call.
+ * <p>
+ * {@link #equalsAt}, {@link #startsWith}, {@link #indexOf} and
+ * {@link #lastIndexOf} compare the UTF-8 bytes in place with the characters
+ * of the argument, encoding them on the fly, and allocate nothing. Lone
+ * surrogates are encoded as {@code '?'}, as {@link String#getBytes} does.
+ * {@link #writeTo(WritableByteChannel, int, int)} exports the raw bytes of a
+ * range of elements; {@link #byteOffset(int)} gives their boundaries.
+ * <p>
+ * Appending is amortized {@code O(1)}; inserting, replacing or removing an
+ * element moves the bytes after it. The list holds at most
+ * {@code Integer.MAX_VALUE} bytes and does not permit {@code null}
+ * elements. This list is not thread safe.
+ */
+public class PackedStringList extends AbstractList<String> implements RandomAccess {
+    private static final int defaultListSize = 10;
+
+    private byte[] bytes = new byte[defaultListSize * 8];
+
+    /**
+     * Start of every element, followed by the end of the last one.
+     */
+    private int[] offsets = new int[defaultListSize + 1];
+    private int size;
+
+    /**
+     * Creates an empty list
+     */
+    public PackedStringList() {
+    }
+
+    /**
+     * Creates list containing the strings of {@code c}, in iteration order
+     *
+     * @param c the collection whose strings are to be placed into this list
+     * @throws NullPointerException if {@code c} or any of its elements is
+     *                              null
+     */
+    public PackedStringList(Collection<String> c) {
+        addAll(c);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    // UTF-8
+
+    /**
+     * Returns the code point at {@code i}, or {@code '?'} for a lone
+     * surrogate; it spans two chars exactly when it is above {@code 0xFFFF}.
+     */
+    private static int codePointAt(CharSequence s, int i) {
+        char c = s.charAt(i);
+        if (!Character.isSurrogate(c))
+            return c;
+        if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1)))
+            return Character.toCodePoint(c, s.charAt(i + 1));
+        return '?';
+    }
+
+    private static int encodedLength(int codePoint) {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+
+    /**
+     * Returns byte {@code k} of the {@code length} bytes encoding
+     * {@code codePoint}.
+     */
+    private static byte encodedByte(int codePoint, int length, int k) {
+        if (length == 1)
+            return (byte) codePoint;
+        int shift = 6 * (length - 1 - k);
+        if (k == 0)
+            return (byte) ((0xF00 >> length & 0xF0) | codePoint >> shift);
+        return (byte) (0x80 | codePoint >> shift & 0x3F);
+    }
+
+    private static int utf8Length(CharSequence s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); ) {
+            int codePoint = codePointAt(s, i);
+            length += encodedLength(codePoint);
+            i += codePoint > 0xFFFF ? 2 : 1;
+        }
+        return length;
+    }
+
+    private void encode(CharSequence s, int at) {
+        for (int i = 0; i < s.length(); ) {
+            int codePoint = codePointAt(s, i);
+            int length = encodedLength(codePoint);
+            for (int k = 0; k < length; k++)
+                bytes[at++] = encodedByte(codePoint, length, k);
+            i += codePoint > 0xFFFF ? 2 : 1;
+        }
+    }
+
+    /**
+     * Returns whether the bytes from {@code from} to {@code to} encode
+     * {@code s}, or start with its encoding if {@code prefix} is set.
+     */
+    private boolean matches(int from, int to, CharSequence s, boolean prefix) {
+        int at = from;
+        for (int i = 0; i < s.length(); ) {
+            int codePoint = codePointAt(s, i);
+            int length = encodedLength(codePoint);
+            if (at + length > to)
+                return false;
+            for (int k = 0; k < length; k++)
+                if (bytes[at++] != encodedByte(codePoint, length, k))
+                    return false;
+            i += codePoint > 0xFFFF ? 2 : 1;
+        }
+        return prefix || at == to;
+    }
+
+    // Storage
+
+    private int byteSize() {
+        return offsets[size];
+    }
+
+    /**
+     * Makes room for {@code length} bytes at {@code at}, moving the bytes
+     * after it, or closes a gap when {@code length} is negative.
+     */
+    private void shiftBytes(int at, int length) {
+        int end = byteSize();
+        if ((long) end + length > Integer.MAX_VALUE)
+            throw new IllegalStateException("PackedStringList is full");
+        if (end + length > bytes.length)
+            bytes = Arrays.copyOf(bytes, (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max((long) bytes.length * 2, end + length)));
+        System.arraycopy(bytes, at, bytes, at + length, end - at);
+    }
+
+    private void shiftOffsets(int from, int delta) {
+        for (int i = from; i <= size; i++)
+            offsets[i] += delta;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes of the UTF-8 encoding of all elements.
+     *
+     * @return the number of bytes held by this list
+     */
+    public int totalBytes() {
+        return byteSize();
+    }
+
+    /**
+     * Returns the offset of the first byte of element {@code index} in the
+     * bytes exported by {@link #writeTo(WritableByteChannel)}; for
+     * {@code index == size()}, returns the total number of bytes.
+     *
+     * @param index index of the element
+     * @return the offset of the element's bytes
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index > size()})
+     */
+    public int byteOffset(int index) {
+        checkIndex(index, size + 1);
+        return offsets[index];
+    }
+
+    /**
+     * Returns the number of bytes of the UTF-8 encoding of element
+     * {@code index}.
+     *
+     * @param index index of the element
+     * @return the length of the element in bytes
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    public int byteLength(int index) {
+        checkIndex(index, size);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Decodes and returns the element at the specified position.
+     *
+     * @param index index of the element to return
+     * @return a new string equal to the element at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public String get(int index) {
+        checkIndex(index, size);
+        return new String(bytes, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void add(int index, String element) {
+        checkIndex(index, size + 1);
+        if (element == null)
+            throw new NullPointerException();
+        int length = utf8Length(element);
+        int at = offsets[index];
+        shiftBytes(at, length);
+        if (size + 2 > offsets.length)
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        System.arraycopy(offsets, index, offsets, index + 1, size + 1 - index);
+        size++;
+        encode(element, at);
+        shiftOffsets(index + 1, length);
+        modCount++;
+    }
+
+    @Override
+    public String set(int index, String element) {
+        checkIndex(index, size);
+        if (element == null)
+            throw new NullPointerException();
+        String old = get(index);
+        int at = offsets[index];
+        int delta = utf8Length(element) - (offsets[index + 1] - at);
+        shiftBytes(offsets[index + 1], delta);
+        encode(element, at);
+        shiftOffsets(index + 1, delta);
+        return old;
+    }
+
+    @Override
+    public String remove(int index) {
+        checkIndex(index, size);
+        String removed = get(index);
+        int length = offsets[index + 1] - offsets[index];
+        shiftBytes(offsets[index + 1], -length);
+        System.arraycopy(offsets, index + 1, offsets, index, size - index);
+        size--;
+        shiftOffsets(index, -length);
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Appends the element encoded by the UTF-8 bytes of {@code source} from
+     * {@code from} to {@code to}, copying them without decoding.
+     */
+    void addUtf8(ByteBuffer source, int from, int to) {
+        int length = to - from;
+        int at = byteSize();
+        shiftBytes(at, length);
+        if (size + 2 > offsets.length)
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        ByteBuffer copy = source.duplicate();
+        copy.position(from);
+        copy.get(bytes, at, length);
+        offsets[++size] = at + length;
+        modCount++;
+    }
+
+    /**
+     * Appends all elements of {@code other} with one copy of its bytes and
+     * offsets.
+     */
+    void appendAll(PackedStringList other) {
+        int at = byteSize();
+        shiftBytes(at, other.byteSize());
+        System.arraycopy(other.bytes, 0, bytes, at, other.byteSize());
+        if (size + other.size + 1 > offsets.length)
+            offsets = Arrays.copyOf(offsets, Math.max(offsets.length * 2, size + other.size + 1));
+        for (int i = 1; i <= other.size; i++)
+            offsets[size + i] = at + other.offsets[i];
+        size += other.size;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        bytes = new byte[defaultListSize * 8];
+        offsets = new int[defaultListSize + 1];
+        size = 0;
+        modCount++;
+    }
+
+    // Byte level operations
+
+    /**
+     * Returns {@code true} if element {@code index} has the same characters
+     * as {@code s}, comparing bytes without allocating.
+     *
+     * @param index index of the element
+     * @param s     characters to compare with
+     * @return whether the element equals {@code s}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index >= size()})
+     * @throws NullPointerException      if {@code s} is null
+     */
+    public boolean equalsAt(int index, CharSequence s) {
+        checkIndex(index, size);
+        return matches(offsets[index], offsets[index + 1], s, false);
+    }
+
+    /**
+     * Returns {@code true} if element {@code index} starts with
+     * {@code prefix}, comparing bytes without allocating.
+     *
+     * @param index  index of the element
+     * @param prefix characters to look for
+     * @return whether the element starts with {@code prefix}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   ({@code index < 0 || index >= size()})
+     * @throws NullPointerException      if {@code prefix} is null
+     */
+    public boolean startsWith(int index, CharSequence prefix) {
+        checkIndex(index, size);
+        return matches(offsets[index], offsets[index + 1], prefix, true);
+    }
+
+    /**
+     * Returns the index of the first element equal to {@code o}, or -1.
+     * Only elements of the same encoded length are compared, byte by byte,
+     * and nothing is allocated.
+     *
+     * @param o element to search for
+     * @return the index of the first occurrence, or -1
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof String))
+            return -1;
+        String s = (String) o;
+        int length = utf8Length(s);
+        for (int i = 0; i < size; i++)
+            if (offsets[i + 1] - offsets[i] == length && matches(offsets[i], offsets[i + 1], s, false))
+                return i;
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof String))
+            return -1;
+        String s = (String) o;
+        int length = utf8Length(s);
+        for (int i = size - 1; i >= 0; i--)
+            if (offsets[i + 1] - offsets[i] == length && matches(offsets[i], offsets[i + 1], s, false))
+                return i;
+        return -1;
+    }
+
+    // Export
+
+    /**
+     * Writes the UTF-8 bytes of all elements, back to back, to
+     * {@code channel}.
+     *
+     * @param channel channel to write to
+     * @return the number of bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        return writeTo(channel, 0, size);
+    }
+
+    /**
+     * Writes the UTF-8 bytes of the elements from {@code fromIndex},
+     * inclusive, to {@code toIndex}, exclusive, back to back, to
+     * {@code channel} straight from the backing array.
+     *
+     * @param channel   channel to write to
+     * @param fromIndex index of the first element to write
+     * @param toIndex   index after the last element to write
+     * @return the number of bytes written
+     * @throws IOException               if an I/O error occurs
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0 ||
+     *                                   toIndex > size() || fromIndex > toIndex}
+     */
+    public long writeTo(WritableByteChannel channel, int fromIndex, int toIndex) throws IOException {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        ByteBuffer source = ByteBuffer.wrap(bytes, offsets[fromIndex], offsets[toIndex] - offsets[fromIndex]);
+        long written = source.remaining();
+        while (source.hasRemaining())
+            channel.write(source);
+        return written;
+    }
+}
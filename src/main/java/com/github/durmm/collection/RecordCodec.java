@@ -0,0 +1,45 @@
+package com.github.durmm.collection;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts elements to and from fixed width binary records addressed by
+ * absolute offsets, which suits shared buffers such as memory mapped files.
+ * <p>
+ * Implementations must be canonical: two elements are {@code equals} exactly
+ * when their records are byte for byte identical. Lists relying on this
+ * codec compare records instead of decoding them.
+ *
+ * @param <E> the type of elements this codec handles
+ * @see ElementCodecs#integerRecords()
+ * @see ElementCodecs#longRecords()
+ */
+public interface RecordCodec<E> {
+    /**
+     * Returns the number of bytes every record occupies.
+     *
+     * @return the record width, a positive number
+     */
+    int recordLength();
+
+    /**
+     * Writes {@code element} as {@link #recordLength()} bytes starting at
+     * {@code offset}, without changing the position of {@code target}.
+     *
+     * @param element the element to write
+     * @param target  the destination buffer
+     * @param offset  the absolute offset of the record in {@code target}
+     * @throws NullPointerException if the codec does not support null elements
+     */
+    void write(E element, ByteBuffer target, int offset);
+
+    /**
+     * Reads the record starting at {@code offset}, without changing the
+     * position of {@code source}.
+     *
+     * @param source the source buffer
+     * @param offset the absolute offset of the record in {@code source}
+     * @return the decoded element
+     */
+    E read(ByteBuffer source, int offset);
+}
@@ -0,0 +1,343 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Run-length encoded list, for long runs of equal elements.
+ * <p>
+ * The list stores one {@code (value, length)} pair per run of consecutive
+ * equal elements, so its memory is proportional to the number of runs
+ * rather than to its size. Next to the values it keeps the prefix counts of
+ * the runs, the index just past the end of each run, in ascending order:
+ * {@link #get(int)} is a binary search over them, {@code O(log r)} for
+ * {@code r} runs. Inserting, removing or replacing an element extends,
+ * splits or merges the run around it and updates the prefix counts of the
+ * runs after it, {@code O(r)} independent of the size; {@link #removeAll(Object)}
+ * and {@link #removeIf(Predicate)} drop whole runs at once.
+ * <p>
+ * Equal elements are stored once: a run keeps the first instance added to
+ * it, and adjacent runs never hold equal values. Predicates passed to the
+ * bulk operations are therefore tested once per run. This list is not thread
+ * safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class RleList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int defaultListSize = 10;
+
+    private Object[] values = new Object[defaultListSize];
+
+    /**
+     * Index just past the end of each run, ascending.
+     */
+    private int[] ends = new int[defaultListSize];
+    private int runs;
+
+    /**
+     * Creates an empty list
+     */
+    public RleList() {
+    }
+
+    /**
+     * Creates list containing the elements of {@code c}, in iteration order
+     *
+     * @param c the collection whose elements are to be placed into this list
+     * @throws NullPointerException if {@code c} is null
+     */
+    public RleList(Collection<? extends E> c) {
+        addAll(c);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    /**
+     * Returns the run holding {@code index}, which must be below the size.
+     */
+    private int runOf(int index) {
+        int r = Arrays.binarySearch(ends, 0, runs, index);
+        return r >= 0 ? r + 1 : -r - 1;
+    }
+
+    private int start(int run) {
+        return run == 0 ? 0 : ends[run - 1];
+    }
+
+    /**
+     * Returns the number of runs of equal elements.
+     *
+     * @return the number of runs
+     */
+    public int runCount() {
+        return runs;
+    }
+
+    @Override
+    public int size() {
+        return runs == 0 ? 0 : ends[runs - 1];
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size());
+        return (E) values[runOf(index)];
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size());
+        E old = (E) values[runOf(index)];
+        if (!Objects.equals(old, element)) {
+            removeAt(index);
+            insertAt(index, element, 1);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        insertAt(size(), e, 1);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size() + 1);
+        insertAt(index, element, 1);
+        modCount++;
+    }
+
+    /**
+     * Appends {@code count} copies of {@code element} to the end of this
+     * list, in {@code O(1)}.
+     *
+     * @param element element to be appended
+     * @param count   number of copies
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void addRun(E element, int count) {
+        if (count < 0)
+            throw new IllegalArgumentException(
+                    "The count should be non negative integer"
+            );
+        if (count == 0)
+            return;
+        insertAt(size(), element, count);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size());
+        E removed = (E) values[runOf(index)];
+        removeAt(index);
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Inserts {@code count} copies of {@code element} at {@code index},
+     * extending an adjacent equal run or splitting the run around it.
+     */
+    private void insertAt(int index, E element, int count) {
+        int size = size();
+        int r = index == size ? runs : runOf(index);
+        if (r < runs && Objects.equals(values[r], element)) {
+            shiftEnds(r, count);
+        } else if (r > 0 && index == start(r) && Objects.equals(values[r - 1], element)) {
+            shiftEnds(r - 1, count);
+        } else if (index == start(r)) {
+            openRuns(r, 1);
+            values[r] = element;
+            ends[r] = index;
+            shiftEnds(r, count);
+        } else {
+            openRuns(r + 1, 2);
+            values[r + 1] = element;
+            values[r + 2] = values[r];
+            ends[r + 2] = ends[r] + count;
+            ends[r + 1] = index + count;
+            ends[r] = index;
+            shiftEnds(r + 3, count);
+        }
+    }
+
+    /**
+     * Removes the element at {@code index}, dropping its run when it empties
+     * and merging the runs that become adjacent.
+     */
+    private void removeAt(int index) {
+        int r = runOf(index);
+        shiftEnds(r, -1);
+        if (ends[r] == start(r)) {
+            closeRuns(r, 1);
+            mergeWithNext(r - 1);
+        }
+    }
+
+    /**
+     * Merges run {@code r} with the next one if they hold equal values.
+     */
+    private void mergeWithNext(int r) {
+        if (r >= 0 && r + 1 < runs && Objects.equals(values[r], values[r + 1])) {
+            ends[r] = ends[r + 1];
+            closeRuns(r + 1, 1);
+        }
+    }
+
+    private void shiftEnds(int from, int delta) {
+        for (int i = from; i < runs; i++)
+            ends[i] += delta;
+    }
+
+    private void openRuns(int at, int count) {
+        if (runs + count > ends.length) {
+            int capacity = Math.max(ends.length * 2, runs + count);
+            ends = Arrays.copyOf(ends, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(ends, at, ends, at + count, runs - at);
+        System.arraycopy(values, at, values, at + count, runs - at);
+        runs += count;
+    }
+
+    private void closeRuns(int at, int count) {
+        System.arraycopy(ends, at + count, ends, at, runs - at - count);
+        System.arraycopy(values, at + count, values, at, runs - at - count);
+        for (int i = runs - count; i < runs; i++)
+            values[i] = null;
+        runs -= count;
+    }
+
+    @Override
+    public void clear() {
+        values = new Object[defaultListSize];
+        ends = new int[defaultListSize];
+        runs = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int r = 0; r < runs; r++)
+            if (Objects.equals(o, values[r]))
+                return start(r);
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int r = runs - 1; r >= 0; r--)
+            if (Objects.equals(o, values[r]))
+                return ends[r] - 1;
+        return -1;
+    }
+
+    /**
+     * Removes all occurrences of the specified element from this list,
+     * dropping whole runs in {@code O(r)}.
+     *
+     * @param e element to be removed from this list, if present
+     * @return {@code true} if this list contained the specified element
+     */
+    public boolean removeAll(E e) {
+        return removeIf(v -> Objects.equals(e, v));
+    }
+
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate, testing and dropping whole runs in {@code O(r)}. The runs
+     * are rewritten only once the predicate has been applied to all of them.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        boolean[] removed = new boolean[runs];
+        boolean any = false;
+        for (int r = 0; r < runs; r++)
+            if (filter.test((E) values[r]))
+                any = removed[r] = true;
+        if (!any)
+            return false;
+        int w = 0;
+        for (int r = 0; r < removed.length; r++) {
+            if (removed[r])
+                continue;
+            int length = ends[r] - start(r);
+            if (w > 0 && Objects.equals(values[w - 1], values[r])) {
+                ends[w - 1] += length;
+            } else {
+                values[w] = values[r];
+                ends[w] = (w == 0 ? 0 : ends[w - 1]) + length;
+                w++;
+            }
+        }
+        for (int i = w; i < runs; i++)
+            values[i] = null;
+        runs = w;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        for (int r = 0; r < runs && modCount == expectedModCount; r++) {
+            E e = (E) values[r];
+            for (int i = start(r), end = ends[r]; i < end && modCount == expectedModCount; i++)
+                action.accept(e);
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Performs {@code action} once per run with its value and length, in
+     * order.
+     *
+     * @param action the action to be performed for each run
+     * @throws NullPointerException if {@code action} is null
+     */
+    public void forEachRun(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        for (int r = 0; r < runs && modCount == expectedModCount; r++)
+            action.accept((E) values[r], ends[r] - start(r));
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+}
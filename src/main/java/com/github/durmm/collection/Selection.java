@@ -0,0 +1,160 @@
+package com.github.durmm.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Selection algorithms over ranges of an {@code Object[]}, backing the top-k
+ * and partial-sort operations of {@link MyList}.
+ * <p>
+ * Unlike {@code Arrays.sort} these only order as much of the range as the
+ * caller asks for: {@link #select} places one element at its sorted position
+ * in expected linear time, and {@link #greatest} keeps the {@code k} greatest
+ * elements of a range in a bounded heap in {@code O(n log k)} time. Neither
+ * rejects {@code null} elements; they are handed to the comparator like any
+ * other element.
+ */
+final class Selection {
+    /**
+     * Ranges at most this long are finished by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private Selection() {
+    }
+
+    /**
+     * Rearranges {@code a[from, to)} so that {@code a[nth]} holds the element
+     * that would be there if the range were sorted, no element before it
+     * compares greater and no element after it compares less.
+     * <p>
+     * This is an introselect: quickselect with a median-of-three pivot and a
+     * three-way partition, so runs of equal elements cost nothing extra. If
+     * the partitions keep being unbalanced for about {@code 2 log2(n)} rounds
+     * the remaining range is sorted instead, bounding the worst case by
+     * {@code O(n log n)}.
+     */
+    static <E> void select(Object[] a, int from, int to, int nth, Comparator<? super E> c) {
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                Arrays.sort(a, from, to, (Comparator<Object>) c);
+                return;
+            }
+            E pivot = medianOfThree(a, from, (from + to) >>> 1, to - 1, c);
+            int lt = from;
+            int gt = to;
+            int i = from;
+            while (i < gt) {
+                int cmp = c.compare((E) a[i], pivot);
+                if (cmp < 0)
+                    swap(a, lt++, i++);
+                else if (cmp > 0)
+                    swap(a, i, --gt);
+                else
+                    i++;
+            }
+            if (nth < lt)
+                to = lt;
+            else if (nth >= gt)
+                from = gt;
+            else
+                return;
+        }
+        insertionSort(a, from, to, c);
+    }
+
+    /**
+     * Rearranges {@code a[0, n)} so that {@code a[0, k)} holds its {@code k}
+     * least elements in ascending order; the order of the others is
+     * unspecified. Runs in {@code O(n + k log k)} expected time.
+     */
+    static <E> void partialSort(Object[] a, int n, int k, Comparator<? super E> c) {
+        if (k == 0)
+            return;
+        if (k < n)
+            select(a, 0, n, k - 1, c);
+        Arrays.sort(a, 0, k, (Comparator<Object>) c);
+    }
+
+    /**
+     * Returns a min-heap of the {@code k} greatest elements of
+     * {@code a[from, to)}, or of all of them if the range is shorter; the
+     * least of them is at index 0. The range itself is not modified.
+     */
+    static <E> Object[] greatest(Object[] a, int from, int to, int k, Comparator<? super E> c) {
+        int length = Math.min(k, to - from);
+        Object[] heap = Arrays.copyOfRange(a, from, from + length);
+        for (int i = (length >>> 1) - 1; i >= 0; i--)
+            siftDown(heap, i, length, c);
+        if (length == 0)
+            return heap;
+        for (int i = from + length; i < to; i++) {
+            Object candidate = a[i];
+            if (c.compare((E) candidate, (E) heap[0]) > 0) {
+                heap[0] = candidate;
+                siftDown(heap, 0, length, c);
+            }
+        }
+        return heap;
+    }
+
+    /**
+     * Sorts the min-heap {@code heap[0, length)} in place into descending
+     * order.
+     */
+    static <E> void sortDescending(Object[] heap, int length, Comparator<? super E> c) {
+        for (int last = length - 1; last > 0; last--) {
+            swap(heap, 0, last);
+            siftDown(heap, 0, last, c);
+        }
+    }
+
+    private static <E> void siftDown(Object[] heap, int i, int length, Comparator<? super E> c) {
+        Object element = heap[i];
+        int half = length >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < length && c.compare((E) heap[right], (E) heap[child]) < 0)
+                child = right;
+            if (c.compare((E) element, (E) heap[child]) <= 0)
+                break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = element;
+    }
+
+    private static <E> E medianOfThree(Object[] a, int i, int j, int k, Comparator<? super E> c) {
+        E x = (E) a[i];
+        E y = (E) a[j];
+        E z = (E) a[k];
+        if (c.compare(x, y) < 0) {
+            if (c.compare(y, z) < 0)
+                return y;
+            return c.compare(x, z) < 0 ? z : x;
+        }
+        if (c.compare(x, z) < 0)
+            return x;
+        return c.compare(y, z) < 0 ? z : y;
+    }
+
+    private static <E> void insertionSort(Object[] a, int from, int to, Comparator<? super E> c) {
+        for (int i = from + 1; i < to; i++) {
+            Object element = a[i];
+            int j = i - 1;
+            while (j >= from && c.compare((E) a[j], (E) element) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = element;
+        }
+    }
+
+    static void swap(Object[] a, int i, int j) {
+        Object t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+}
@@ -0,0 +1,386 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * List of mostly {@code null} elements, storing only the non-null ones.
+ * <p>
+ * While sparse, the list keeps the positions of its non-null elements in a
+ * sorted {@code int[]} next to a compact array of the elements themselves;
+ * {@code null} slots cost nothing, so a list of ten million slots with ten
+ * thousand elements takes a few hundred kilobytes. Reading any slot is a
+ * binary search, {@code O(log k)} for {@code k} non-null elements. Inserting
+ * or removing a slot shifts the logical positions of the elements after it,
+ * touching only the position array: {@code O(k)}, independent of the size.
+ * <p>
+ * When the share of non-null elements exceeds the dense threshold (a quarter
+ * by default), the elements move to a flat {@link MyList}, which is cheaper
+ * than sparse storage at that density; they move back once the share drops
+ * below a sixteenth of the threshold. {@link #isDense()} and
+ * {@link #nonNullCount()} expose the state. This list is not thread safe.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class SparseList<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * Dense threshold used by {@link #SparseList()} and
+     * {@link #SparseList(int)}.
+     */
+    public static final double DEFAULT_DENSE_THRESHOLD = 0.25;
+
+    private static final int defaultListSize = 10;
+
+    private final double denseThreshold;
+    private int size;
+    private int nonNullCount;
+
+    /**
+     * Positions of the non-null elements in ascending order, while sparse.
+     */
+    private int[] positions;
+    private Object[] values;
+
+    /**
+     * All slots, while dense; {@code null} while sparse.
+     */
+    private MyList<E> dense;
+
+    /**
+     * Creates an empty list
+     */
+    public SparseList() {
+        this(0);
+    }
+
+    /**
+     * Creates list of {@code size} {@code null} elements, to be filled with
+     * {@link #set(int, Object)}
+     *
+     * @param size initial number of slots
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public SparseList(int size) {
+        this(size, DEFAULT_DENSE_THRESHOLD);
+    }
+
+    /**
+     * Creates list of {@code size} {@code null} elements switching to dense
+     * storage once more than {@code denseThreshold} of the slots are non-null
+     *
+     * @param size           initial number of slots
+     * @param denseThreshold share of non-null slots above which storage is
+     *                       dense
+     * @throws IllegalArgumentException if {@code size} is negative or
+     *                                  {@code denseThreshold} is not in
+     *                                  {@code (0, 1]}
+     */
+    public SparseList(int size, double denseThreshold) {
+        if (size < 0)
+            throw new IllegalArgumentException(
+                    "The size should be non negative integer"
+            );
+        if (!(denseThreshold > 0 && denseThreshold <= 1))
+            throw new IllegalArgumentException(
+                    "The denseThreshold should be in (0, 1]"
+            );
+        this.size = size;
+        this.denseThreshold = denseThreshold;
+        this.positions = new int[defaultListSize];
+        this.values = new Object[defaultListSize];
+    }
+
+    /**
+     * Returns {@code true} if the elements are currently stored densely.
+     *
+     * @return whether storage is dense
+     */
+    public boolean isDense() {
+        return dense != null;
+    }
+
+    /**
+     * Returns the number of non-null elements.
+     *
+     * @return the number of non-null elements
+     */
+    public int nonNullCount() {
+        return nonNullCount;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Returns the entry of {@code position} if present, or
+     * {@code -(insertion point) - 1} as {@link Arrays#binarySearch}.
+     */
+    private int find(int position) {
+        return Arrays.binarySearch(positions, 0, nonNullCount, position);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size);
+        if (dense != null)
+            return dense.get(index);
+        int entry = find(index);
+        return entry >= 0 ? (E) values[entry] : null;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        if (dense != null) {
+            E old = dense.set(index, element);
+            nonNullCount += (element != null ? 1 : 0) - (old != null ? 1 : 0);
+            checkDensity();
+            return old;
+        }
+        int entry = find(index);
+        if (entry >= 0) {
+            E old = (E) values[entry];
+            if (element != null)
+                values[entry] = element;
+            else
+                removeEntry(entry);
+            checkDensity();
+            return old;
+        }
+        if (element != null) {
+            insertEntry(-entry - 1, index, element);
+            checkDensity();
+        }
+        return null;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        if (dense != null) {
+            dense.add(index, element);
+            if (element != null)
+                nonNullCount++;
+        } else {
+            int entry = find(index);
+            int first = entry >= 0 ? entry : -entry - 1;
+            for (int i = first; i < nonNullCount; i++)
+                positions[i]++;
+            if (element != null)
+                insertEntry(first, index, element);
+        }
+        size++;
+        modCount++;
+        checkDensity();
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size);
+        E removed;
+        if (dense != null) {
+            removed = dense.remove(index);
+            if (removed != null)
+                nonNullCount--;
+        } else {
+            int entry = find(index);
+            removed = null;
+            int first = -entry - 1;
+            if (entry >= 0) {
+                removed = (E) values[entry];
+                removeEntry(entry);
+                first = entry;
+            }
+            for (int i = first; i < nonNullCount; i++)
+                positions[i]--;
+        }
+        size--;
+        modCount++;
+        checkDensity();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        nonNullCount = 0;
+        dense = null;
+        positions = new int[defaultListSize];
+        values = new Object[defaultListSize];
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (dense != null)
+            return dense.indexOf(o);
+        if (o == null) {
+            for (int i = 0; i < nonNullCount; i++)
+                if (positions[i] != i)
+                    return i;
+            return nonNullCount < size ? nonNullCount : -1;
+        }
+        for (int i = 0; i < nonNullCount; i++)
+            if (o.equals(values[i]))
+                return positions[i];
+        return -1;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        for (int i = 0; modCount == expectedModCount && i < size; i++)
+            action.accept(get(i));
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate, rebuilding the storage in one pass over the slots.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *               removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        int[] keptPositions = new int[Math.max(nonNullCount, defaultListSize)];
+        Object[] keptValues = new Object[keptPositions.length];
+        int kept = 0;
+        int newSize = 0;
+        for (int i = 0, entry = 0; i < size; i++) {
+            E e;
+            if (dense != null)
+                e = dense.get(i);
+            else
+                e = entry < nonNullCount && positions[entry] == i ? (E) values[entry++] : null;
+            if (filter.test(e))
+                continue;
+            if (e != null) {
+                keptPositions[kept] = newSize;
+                keptValues[kept++] = e;
+            }
+            newSize++;
+        }
+        if (newSize == size)
+            return false;
+        dense = null;
+        positions = keptPositions;
+        values = keptValues;
+        nonNullCount = kept;
+        size = newSize;
+        modCount++;
+        checkDensity();
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return removeIf(e -> !c.contains(e));
+    }
+
+    /**
+     * Performs {@code action} for every non-null element and its index, in
+     * ascending index order, skipping {@code null} slots without visiting
+     * them while sparse.
+     *
+     * @param action the action to be performed for each non-null element
+     * @throws NullPointerException if {@code action} is null
+     */
+    public void forEachNonNull(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+        if (dense != null) {
+            for (int i = 0; i < size; i++) {
+                E e = dense.get(i);
+                if (e != null)
+                    action.accept(e, i);
+            }
+            return;
+        }
+        for (int i = 0; i < nonNullCount; i++)
+            action.accept((E) values[i], positions[i]);
+    }
+
+    private void insertEntry(int entry, int position, Object element) {
+        if (nonNullCount == positions.length) {
+            positions = Arrays.copyOf(positions, nonNullCount * 2);
+            values = Arrays.copyOf(values, nonNullCount * 2);
+        }
+        System.arraycopy(positions, entry, positions, entry + 1, nonNullCount - entry);
+        System.arraycopy(values, entry, values, entry + 1, nonNullCount - entry);
+        positions[entry] = position;
+        values[entry] = element;
+        nonNullCount++;
+    }
+
+    private void removeEntry(int entry) {
+        System.arraycopy(positions, entry + 1, positions, entry, nonNullCount - entry - 1);
+        System.arraycopy(values, entry + 1, values, entry, nonNullCount - entry - 1);
+        values[--nonNullCount] = null;
+    }
+
+    /**
+     * Switches storage when the share of non-null elements crossed the
+     * threshold, with a hysteresis of a factor sixteen so that a list
+     * hovering around the threshold does not convert back and forth.
+     */
+    private void checkDensity() {
+        if (dense == null && nonNullCount > size * denseThreshold)
+            densify();
+        else if (dense != null && nonNullCount < size * denseThreshold / 16)
+            sparsify();
+    }
+
+    private void densify() {
+        MyList<E> slots = new MyList<>(Math.max(size, 1));
+        for (int i = 0, entry = 0; i < size; i++)
+            slots.add(entry < nonNullCount && positions[entry] == i ? (E) values[entry++] : null);
+        dense = slots;
+        positions = null;
+        values = null;
+    }
+
+    private void sparsify() {
+        int capacity = Math.max(nonNullCount, defaultListSize);
+        positions = new int[capacity];
+        values = new Object[capacity];
+        int entry = 0;
+        for (int i = 0; i < size; i++) {
+            E e = dense.get(i);
+            if (e != null) {
+                positions[entry] = i;
+                values[entry++] = e;
+            }
+        }
+        dense = null;
+    }
+}
@@ -0,0 +1,409 @@
+package com.github.durmm.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Unrolled linked list: a doubly linked list of nodes, each holding a small
+ * array of consecutive elements.
+ * <p>
+ * Inserting or removing at the cursor of a {@link ListIterator} only shifts
+ * elements within one node, so it takes constant time however long the
+ * list is; a full node is split in two halves and a node left at most half
+ * full together with its successor absorbs it. Appends fill the last node
+ * completely before starting a new one. Scans walk the node arrays one after
+ * another, which keeps them nearly as cache friendly as a flat array, while
+ * positional access walks the nodes from the nearer end in
+ * {@code O(n / nodeCapacity)} steps.
+ * <p>
+ * Iterators are fail-fast. This list is not thread safe.
+ *
+ * @param <E> The type of elements in this list.
+ * @author Gaya Gyulnazaryan
+ */
+public class UnrolledLinkedList<E> extends AbstractList<E> {
+    /**
+     * Node capacity used by {@link #UnrolledLinkedList()}.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private static final class Node {
+        final Object[] elements;
+        int count;
+        Node prev;
+        Node next;
+
+        Node(int capacity) {
+            elements = new Object[capacity];
+        }
+    }
+
+    private final int nodeCapacity;
+    private Node first;
+    private Node last;
+    private int size;
+
+    /**
+     * Creates list with {@link #DEFAULT_NODE_CAPACITY} elements per node
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Creates list with {@code nodeCapacity} elements per node
+     *
+     * @param nodeCapacity maximum number of elements of one node
+     * @throws IllegalArgumentException if {@code nodeCapacity} is less than 4
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 4)
+            throw new IllegalArgumentException(
+                    "The nodeCapacity should be at least 4"
+            );
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Cursor into the node chain: the element at {@code offset} of
+     * {@code node}. An offset equal to the node count stands for the position
+     * right after the node, i.e. the start of the next one.
+     */
+    private static final class Position {
+        Node node;
+        int offset;
+    }
+
+    /**
+     * Returns the position of {@code index}, walking from the nearer end. An
+     * index equal to the size maps to the end of the last node.
+     */
+    private Position locate(int index) {
+        Position position = new Position();
+        if (index < size >>> 1) {
+            Node n = first;
+            while (index >= n.count) {
+                index -= n.count;
+                n = n.next;
+            }
+            position.node = n;
+            position.offset = index;
+        } else {
+            int remaining = size - index;
+            Node n = last;
+            while (n != null && remaining > n.count) {
+                remaining -= n.count;
+                n = n.prev;
+            }
+            position.node = n;
+            position.offset = n == null ? 0 : n.count - remaining;
+        }
+        return position;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size);
+        Position position = locate(index);
+        return (E) position.node.elements[position.offset];
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        Position position = locate(index);
+        Object[] elements = position.node.elements;
+        E old = (E) elements[position.offset];
+        elements[position.offset] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (last == null || last.count == nodeCapacity)
+            linkAfter(last, new Node(nodeCapacity));
+        last.elements[last.count++] = e;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            add(element);
+            return;
+        }
+        Position position = locate(index);
+        insert(position, element);
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size);
+        Position position = locate(index);
+        E removed = (E) position.node.elements[position.offset];
+        remove(position);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        first = last = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Inserts {@code element} at {@code position}, splitting a full node
+     * first, and moves {@code position} right after the new element.
+     */
+    private void insert(Position position, E element) {
+        Node n = position.node;
+        if (n == null) {
+            n = new Node(nodeCapacity);
+            linkAfter(null, n);
+            position.offset = 0;
+        } else if (n.count == nodeCapacity) {
+            split(n);
+            if (position.offset > n.count) {
+                position.offset -= n.count;
+                n = n.next;
+            }
+        }
+        System.arraycopy(n.elements, position.offset, n.elements, position.offset + 1, n.count - position.offset);
+        n.elements[position.offset] = element;
+        n.count++;
+        position.node = n;
+        position.offset++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the element at {@code position} and moves {@code position} to
+     * the element that followed it.
+     */
+    private void remove(Position position) {
+        Node n = position.node;
+        int offset = position.offset;
+        System.arraycopy(n.elements, offset + 1, n.elements, offset, n.count - offset - 1);
+        n.elements[--n.count] = null;
+        size--;
+        modCount++;
+        if (n.count == 0) {
+            unlink(n);
+            if (n.next != null) {
+                position.node = n.next;
+                position.offset = 0;
+            } else {
+                position.node = n.prev;
+                position.offset = n.prev == null ? 0 : n.prev.count;
+            }
+        } else if (n.next != null && n.count + n.next.count <= nodeCapacity >>> 1) {
+            Node next = n.next;
+            System.arraycopy(next.elements, 0, n.elements, n.count, next.count);
+            n.count += next.count;
+            unlink(next);
+        }
+    }
+
+    /**
+     * Moves the upper half of the full node {@code n} into a new node linked
+     * right after it.
+     */
+    private void split(Node n) {
+        Node upper = new Node(nodeCapacity);
+        int half = nodeCapacity >>> 1;
+        upper.count = nodeCapacity - half;
+        System.arraycopy(n.elements, half, upper.elements, 0, upper.count);
+        Arrays.fill(n.elements, half, nodeCapacity, null);
+        n.count = half;
+        linkAfter(n, upper);
+    }
+
+    private void linkAfter(Node n, Node added) {
+        added.prev = n;
+        added.next = n == null ? first : n.next;
+        if (added.next == null)
+            last = added;
+        else
+            added.next.prev = added;
+        if (n == null)
+            first = added;
+        else
+            n.next = added;
+    }
+
+    private void unlink(Node n) {
+        if (n.prev == null)
+            first = n.next;
+        else
+            n.prev.next = n.next;
+        if (n.next == null)
+            last = n.prev;
+        else
+            n.next.prev = n.prev;
+    }
+
+    /**
+     * Performs the given action for each element of this list, in order,
+     * walking the node arrays directly.
+     *
+     * @param action the action to be performed for each element
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the action structurally
+     *                                         modifies this list
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int expectedModCount = modCount;
+        for (Node n = first; n != null && modCount == expectedModCount; n = n.next)
+            for (int i = 0; i < n.count && modCount == expectedModCount; i++)
+                action.accept((E) n.elements[i]);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        checkIndex(index, size + 1);
+        return new ListItr(index);
+    }
+
+    private class ListItr implements ListIterator<E> {
+        /**
+         * Position of the element returned by the next call to {@link #next()}.
+         */
+        private final Position cursor;
+        private int index;
+        private Node lastNode;
+        private int lastOffset;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            this.cursor = locate(index);
+            this.index = index;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (index >= size)
+                throw new NoSuchElementException();
+            if (cursor.offset == cursor.node.count) {
+                cursor.node = cursor.node.next;
+                cursor.offset = 0;
+            }
+            lastNode = cursor.node;
+            lastOffset = cursor.offset++;
+            index++;
+            return (E) lastNode.elements[lastOffset];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (index <= 0)
+                throw new NoSuchElementException();
+            if (cursor.offset == 0) {
+                cursor.node = cursor.node.prev;
+                cursor.offset = cursor.node.count;
+            }
+            lastNode = cursor.node;
+            lastOffset = --cursor.offset;
+            index--;
+            return (E) lastNode.elements[lastOffset];
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            if (lastNode != cursor.node || lastOffset != cursor.offset)
+                index--;
+            cursor.node = lastNode;
+            cursor.offset = lastOffset;
+            UnrolledLinkedList.this.remove(cursor);
+            lastNode = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastNode == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastNode.elements[lastOffset] = e;
+        }
+
+        @Override
+        public void add(E e) {
+            checkForComodification();
+            if (index == size && last != null && last.count == nodeCapacity) {
+                UnrolledLinkedList.this.add(e);
+                cursor.node = last;
+                cursor.offset = last.count;
+            } else {
+                insert(cursor, e);
+            }
+            index++;
+            lastNode = null;
+            expectedModCount = modCount;
+        }
+    }
+}
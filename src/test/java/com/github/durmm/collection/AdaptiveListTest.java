@@ -0,0 +1,127 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveListTest extends ListContractTest {
+    @Override
+    <T> List<T> create() {
+        return new AdaptiveList<>();
+    }
+
+    @Nested
+    class Adaptation {
+        private static final int OPERATIONS = 20_000;
+
+        @Test
+        void appendOnlyLogShouldStayFlat() {
+            AdaptiveList<Integer> list = new AdaptiveList<>();
+
+            for (int i = 0; i < OPERATIONS; i++)
+                list.add(i);
+
+            assertThat(list.mode()).isEqualTo(AdaptiveList.Mode.FLAT);
+            assertThat(list.migrationCount()).isZero();
+        }
+
+        @Test
+        void fifoQueueShouldMoveToRing() {
+            AdaptiveList<Integer> list = new AdaptiveList<>();
+
+            for (int i = 0; i < OPERATIONS; i++) {
+                list.add(i);
+                list.add(i);
+                list.remove(0);
+            }
+
+            assertThat(list.mode()).isEqualTo(AdaptiveList.Mode.RING);
+            assertThat(list).hasSize(OPERATIONS).startsWith(OPERATIONS / 2);
+        }
+
+        @Test
+        void middleInsertionsShouldMoveToTiered() {
+            AdaptiveList<Integer> list = new AdaptiveList<>();
+            List<Integer> expected = new ArrayList<>();
+
+            for (int i = 0; i < OPERATIONS; i++) {
+                list.add(list.size() / 2, i);
+                expected.add(expected.size() / 2, i);
+            }
+
+            assertThat(list.mode()).isEqualTo(AdaptiveList.Mode.TIERED);
+            assertThat(list).isEqualTo(expected);
+        }
+
+        @Test
+        void changingWorkloadShouldMigrateAgain() {
+            AdaptiveList<Integer> list = new AdaptiveList<>();
+            for (int i = 0; i < OPERATIONS; i++)
+                list.add(list.size() / 2, i);
+
+            Random random = new Random(1);
+            for (int i = 0; i < OPERATIONS; i++)
+                list.get(random.nextInt(list.size()));
+
+            assertThat(list.mode()).isEqualTo(AdaptiveList.Mode.FLAT);
+            assertThat(list.migrationCount()).isEqualTo(2);
+        }
+
+        @Test
+        void pinnedModeShouldNeverMigrate() {
+            AdaptiveList<Integer> list = new AdaptiveList<>(AdaptiveList.Mode.RING, false);
+
+            for (int i = 0; i < OPERATIONS; i++)
+                list.add(list.size() / 2, i);
+
+            assertThat(list.mode()).isEqualTo(AdaptiveList.Mode.RING);
+            assertThat(list.migrationCount()).isZero();
+        }
+    }
+
+    @Nested
+    class Storage {
+        private void assertMatchesArrayListUnderRandomMutations(AdaptiveList.Mode mode) {
+            AdaptiveList<Integer> list = new AdaptiveList<>(mode, false);
+            List<Integer> expected = new ArrayList<>();
+            Random random = new Random(7);
+
+            for (int i = 0; i < 50_000; i++) {
+                int operation = random.nextInt(10);
+                if (operation < 6 || expected.isEmpty()) {
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, i);
+                    expected.add(index, i);
+                } else if (operation < 9) {
+                    int index = random.nextInt(expected.size());
+                    assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+                } else {
+                    int index = random.nextInt(expected.size());
+                    assertThat(list.set(index, -i)).isEqualTo(expected.set(index, -i));
+                }
+            }
+
+            assertThat(list).isEqualTo(expected);
+        }
+
+        @Test
+        void flatShouldMatchArrayList() {
+            assertMatchesArrayListUnderRandomMutations(AdaptiveList.Mode.FLAT);
+        }
+
+        @Test
+        void ringShouldMatchArrayList() {
+            assertMatchesArrayListUnderRandomMutations(AdaptiveList.Mode.RING);
+        }
+
+        @Test
+        void tieredShouldMatchArrayList() {
+            assertMatchesArrayListUnderRandomMutations(AdaptiveList.Mode.TIERED);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ArrayPoolTest {
+
+    @Test
+    void maxLengthShouldBePowerOfTwo() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ArrayPool(100, 1024));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ArrayPool(8, 1024));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ArrayPool(64, -1));
+    }
+
+    @Nested
+    class Borrowing {
+        @Test
+        void borrowShouldRoundUpToBucket() {
+            ArrayPool pool = new ArrayPool(1024, 1 << 20);
+
+            assertThat(pool.borrow(0)).hasSize(16);
+            assertThat(pool.borrow(17)).hasSize(32);
+            assertThat(pool.borrow(1024)).hasSize(1024);
+            assertThat(pool.borrow(1025)).hasSize(1025);
+            assertThat(pool.missCount()).isEqualTo(4);
+        }
+
+        @Test
+        void givenBackArrayShouldBeClearedAndReused() {
+            ArrayPool pool = new ArrayPool(1024, 1 << 20);
+            Object[] array = pool.borrow(100);
+            array[5] = "element";
+
+            pool.giveBack(array);
+            Object[] again = pool.borrow(128);
+
+            assertThat(again).isSameAs(array).containsOnlyNulls();
+            assertThat(pool.hitCount()).isEqualTo(1);
+            assertThat(pool.hitRate()).isEqualTo(0.5);
+        }
+
+        @Test
+        void arraysOfOtherLengthsShouldBeDropped() {
+            ArrayPool pool = new ArrayPool(64, 1 << 20);
+
+            pool.giveBack(new Object[20]);
+            pool.giveBack(new Object[128]);
+            pool.borrow(20);
+            pool.borrow(128);
+
+            assertThat(pool.hitCount()).isZero();
+        }
+
+        @Test
+        void sharedTierShouldServeOtherThreads() throws InterruptedException {
+            ArrayPool pool = new ArrayPool(64, 1 << 20);
+            Object[] first = pool.borrow(64);
+            Object[] second = pool.borrow(64);
+            pool.giveBack(first);
+            pool.giveBack(second);
+
+            AtomicReference<Object[]> borrowed = new AtomicReference<>();
+            Thread other = new Thread(() -> borrowed.set(pool.borrow(64)));
+            other.start();
+            other.join();
+
+            assertThat(borrowed.get()).isSameAs(second);
+            assertThat(pool.retainedBytes()).isZero();
+        }
+    }
+
+    @Test
+    void sharedTierShouldRespectRetainedMemoryLimit() {
+        ArrayPool pool = new ArrayPool(64, 64 * ArrayPool.SLOT_BYTES);
+
+        for (int i = 0; i < 4; i++)
+            pool.giveBack(new Object[64]);
+
+        assertThat(pool.retainedBytes()).isEqualTo(64 * ArrayPool.SLOT_BYTES);
+        for (int i = 0; i < 4; i++)
+            pool.borrow(64);
+        assertThat(pool.hitCount()).isEqualTo(2);
+        assertThat(pool.missCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class BigListTest {
+
+    private static BigList<Integer> filled(int segmentSize, int size) {
+        BigList<Integer> list = new BigList<>(segmentSize);
+        for (int i = 0; i < size; i++)
+            list.add(i);
+        return list;
+    }
+
+    @Test
+    void segmentSizeShouldBePowerOfTwo() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BigList<>(12));
+        assertThatIllegalArgumentException().isThrownBy(() -> new BigList<>(0));
+    }
+
+    @Nested
+    class Segments {
+        @Test
+        void growthShouldAddSegmentsAndKeepElements() {
+            BigList<Integer> list = filled(4, 10);
+
+            assertThat(list.size()).isEqualTo(10L);
+            assertThat(list.segmentCount()).isEqualTo(3);
+            assertThat(list.get(0L)).isZero();
+            assertThat(list.get(9L)).isEqualTo(9);
+        }
+
+        @Test
+        void setShouldReplaceAcrossSegments() {
+            BigList<Integer> list = filled(4, 10);
+
+            assertThat(list.set(5L, 50)).isEqualTo(5);
+
+            assertThat(list.get(5L)).isEqualTo(50);
+        }
+
+        @Test
+        void outOfRangeIndexShouldThrow() {
+            BigList<Integer> list = filled(4, 10);
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> list.get(10L));
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> list.get(-1L));
+            assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                    .isThrownBy(() -> list.set(1L << 32, 0));
+        }
+
+        @Test
+        void removeLastShouldKeepOneSpareSegment() {
+            BigList<Integer> list = filled(4, 12);
+
+            for (int i = 11; i >= 2; i--)
+                assertThat(list.removeLast()).isEqualTo(i);
+
+            assertThat(list.size()).isEqualTo(2L);
+            assertThat(list.segmentCount()).isEqualTo(2);
+            assertThat(list).containsExactly(0, 1);
+        }
+
+        @Test
+        void removeLastOnEmptyListShouldThrow() {
+            assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> new BigList<>().removeLast());
+        }
+
+        @Test
+        void indexOfShouldSearchAllSegments() {
+            BigList<String> list = new BigList<>(4);
+            list.addAll(IntStream.range(0, 10).mapToObj(String::valueOf).collect(Collectors.toList()));
+            list.add(null);
+
+            assertThat(list.indexOf("7")).isEqualTo(7L);
+            assertThat(list.indexOf(null)).isEqualTo(10L);
+            assertThat(list.contains("10")).isFalse();
+        }
+    }
+
+    @Nested
+    class Iteration {
+        @Test
+        void iteratorAndForEachShouldVisitInOrder() {
+            BigList<Integer> list = filled(8, 100);
+            List<Integer> visited = new ArrayList<>();
+
+            list.forEach(visited::add);
+
+            assertThat(list).containsExactlyElementsOf(visited);
+            assertThat(visited).hasSize(100).startsWith(0, 1).endsWith(99);
+        }
+
+        @Test
+        void iteratorShouldFailFast() {
+            BigList<Integer> list = filled(8, 10);
+            Iterator<Integer> iterator = list.iterator();
+
+            list.add(10);
+
+            assertThatExceptionOfType(ConcurrentModificationException.class).isThrownBy(iterator::next);
+        }
+    }
+
+    @Nested
+    class ListView {
+        @Test
+        void viewShouldReadAndWriteThrough() {
+            BigList<Integer> list = filled(4, 10);
+            List<Integer> view = list.asList();
+
+            view.set(3, 30);
+            view.add(10);
+            view.remove(view.size() - 1);
+            list.add(11);
+
+            assertThat(view).hasSize(11).startsWith(0, 1, 2, 30).endsWith(11);
+            assertThat(view.indexOf(30)).isEqualTo(3);
+        }
+
+        @Test
+        void viewShouldOnlyAppendAndRemoveLast() {
+            List<Integer> view = filled(4, 10).asList();
+
+            assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> view.add(0, 1));
+            assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> view.remove(0));
+        }
+
+        @Test
+        void viewShouldRejectOutOfRangeIndices() {
+            List<Integer> view = filled(4, 10).asList();
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> view.add(11, 1));
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> view.add(-1, 1));
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> view.remove(10));
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> view.remove(-1));
+        }
+    }
+}
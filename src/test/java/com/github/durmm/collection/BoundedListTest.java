@@ -0,0 +1,145 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class BoundedListTest extends ListContractTest {
+    @Override
+    <T> List<T> create() {
+        return new BoundedList<>(1 << 17);
+    }
+
+    private static List<Integer> range(int from, int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+
+    @Nested
+    class Window {
+        @Test
+        void appendingToFullListShouldOverwriteOldest() {
+            BoundedList<Integer> list = new BoundedList<>(3);
+            for (int i = 0; i < 5; i++)
+                list.add(i);
+
+            assertThat(list.isFull()).isTrue();
+            assertThat(list).containsExactly(2, 3, 4);
+            assertThat(list.get(0)).isEqualTo(2);
+            assertThat(list.get(2)).isEqualTo(4);
+            assertThat(list.indexOf(3)).isEqualTo(1);
+        }
+
+        @Test
+        void removingAndInsertingShouldKeepOrderAcrossTheWrap() {
+            BoundedList<Integer> list = new BoundedList<>(8);
+            List<Integer> expected = new ArrayList<>();
+            Random random = new Random(3);
+            for (int step = 0; step < 5_000; step++) {
+                int op = random.nextInt(4);
+                if (op == 0 && !list.isEmpty()) {
+                    int index = random.nextInt(list.size());
+                    assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+                } else if (op == 1 && !list.isFull()) {
+                    int index = random.nextInt(list.size() + 1);
+                    list.add(index, step);
+                    expected.add(index, step);
+                } else {
+                    list.add(step);
+                    expected.add(step);
+                    if (expected.size() > 8)
+                        expected.remove(0);
+                }
+                assertThat(list).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        void insertingIntoFullListShouldThrow() {
+            BoundedList<Integer> list = new BoundedList<>(2);
+            list.addAll(Arrays.asList(1, 2));
+
+            assertThatIllegalStateException().isThrownBy(() -> list.add(0, 0));
+            list.add(2, 3);
+            assertThat(list).containsExactly(2, 3);
+        }
+
+        @Test
+        void removeIfShouldCompactTheRing() {
+            BoundedList<Integer> list = new BoundedList<>(6);
+            list.addAll(range(0, 10));
+
+            assertThat(list.removeIf(i -> i % 2 == 0)).isTrue();
+            assertThat(list).containsExactly(5, 7, 9);
+            list.addAll(range(10, 13));
+            assertThat(list).containsExactly(5, 7, 9, 10, 11, 12);
+            assertThat(list.toArray()).containsExactly(5, 7, 9, 10, 11, 12);
+        }
+
+        @Test
+        void invalidCapacityShouldThrow() {
+            assertThatIllegalArgumentException().isThrownBy(() -> new BoundedList<>(0));
+        }
+    }
+
+    @Nested
+    class Eviction {
+        @Test
+        void appendShouldReportEvictedElements() {
+            List<Integer> evicted = new ArrayList<>();
+            BoundedList<Integer> list = new BoundedList<>(3, evicted::add);
+            for (int i = 0; i < 6; i++)
+                list.add(i);
+            list.remove(0);
+            list.clear();
+
+            assertThat(evicted).containsExactly(0, 1, 2);
+        }
+
+        @Test
+        void appendAllShouldEvictInBulkLikeRepeatedAdds() {
+            Random random = new Random(11);
+            List<Integer> bulkEvicted = new ArrayList<>();
+            List<Integer> singleEvicted = new ArrayList<>();
+            BoundedList<Integer> bulk = new BoundedList<>(50, bulkEvicted::add);
+            BoundedList<Integer> single = new BoundedList<>(50, singleEvicted::add);
+            int next = 0;
+            for (int step = 0; step < 200; step++) {
+                List<Integer> batch = range(next, next += random.nextInt(120));
+                if (step % 7 == 0 && !bulk.isEmpty()) {
+                    bulk.remove(0);
+                    single.remove(0);
+                }
+                int evictions = bulk.appendAll(batch);
+                int before = singleEvicted.size();
+                batch.forEach(single::add);
+
+                assertThat(evictions).isEqualTo(singleEvicted.size() - before);
+                assertThat(bulk).isEqualTo(single);
+            }
+            assertThat(bulkEvicted).isEqualTo(singleEvicted);
+        }
+
+        @Test
+        void appendAllOfMoreThanCapacityShouldKeepNewest() {
+            List<Integer> evicted = new ArrayList<>();
+            BoundedList<Integer> list = new BoundedList<>(4, evicted::add);
+            list.addAll(Arrays.asList(-2, -1));
+
+            assertThat(list.appendAll(range(0, 10))).isEqualTo(8);
+            assertThat(list).containsExactly(6, 7, 8, 9);
+            assertThat(evicted).containsExactly(-2, -1, 0, 1, 2, 3, 4, 5);
+            assertThat(list.appendAll(Collections.emptyList())).isZero();
+        }
+    }
+}
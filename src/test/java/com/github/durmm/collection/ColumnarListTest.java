@@ -0,0 +1,180 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.IdentityHashMap;
+import java.util.LongSummaryStatistics;
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ColumnarListTest {
+    private static final ColumnarList.Schema TRADES = ColumnarList.Schema.builder()
+            .intColumn("id")
+            .longColumn("timestamp")
+            .doubleColumn("price")
+            .build();
+    private static final int ID = TRADES.indexOf("id");
+    private static final int TIMESTAMP = TRADES.indexOf("timestamp");
+    private static final int PRICE = TRADES.indexOf("price");
+
+    private static ColumnarList trades(int count) {
+        ColumnarList list = new ColumnarList(TRADES);
+        for (int i = 0; i < count; i++) {
+            int row = list.addRow();
+            list.setInt(row, ID, i);
+            list.setLong(row, TIMESTAMP, 1_000_000L + i);
+            list.setDouble(row, PRICE, i / 2.0);
+        }
+        return list;
+    }
+
+    @Nested
+    class Schemas {
+        @Test
+        void duplicateColumnShouldThrow() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> ColumnarList.Schema.builder().intColumn("a").longColumn("a"));
+        }
+
+        @Test
+        void unknownColumnShouldThrow() {
+            assertThatIllegalArgumentException().isThrownBy(() -> TRADES.indexOf("volume"));
+        }
+
+        @Test
+        void wrongColumnTypeShouldThrow() {
+            ColumnarList list = trades(1);
+
+            assertThatIllegalArgumentException().isThrownBy(() -> list.getLong(0, ID));
+            assertThatIllegalArgumentException().isThrownBy(() -> list.sumAsLong(PRICE));
+        }
+    }
+
+    @Nested
+    class ListOperations {
+        @Test
+        void addRowShouldGrowColumns() {
+            ColumnarList list = trades(1000);
+
+            assertThat(list).hasSize(1000);
+            assertThat(list.getInt(999, ID)).isEqualTo(999);
+            assertThat(list.getLong(999, TIMESTAMP)).isEqualTo(1_000_999L);
+            assertThat(list.getDouble(999, PRICE)).isEqualTo(499.5);
+        }
+
+        @Test
+        void rowViewShouldReadAndWriteThrough() {
+            ColumnarList list = trades(3);
+            ColumnarList.Row row = list.get(1);
+
+            row.setDouble(PRICE, 9.5);
+
+            assertThat(list.getDouble(1, PRICE)).isEqualTo(9.5);
+            assertThat(row.getInt(ID)).isEqualTo(1);
+            assertThat(row).hasToString("(1, 1000001, 9.5)");
+        }
+
+        @Test
+        void addAtIndexShouldCopyValuesAndShift() {
+            ColumnarList list = trades(3);
+            ColumnarList other = trades(10);
+
+            list.add(0, other.get(9));
+
+            assertThat(list).hasSize(4);
+            assertThat(list.getInt(0, ID)).isEqualTo(9);
+            assertThat(list.getInt(1, ID)).isZero();
+            assertThat(list.get(0)).isEqualTo(other.get(9));
+        }
+
+        @Test
+        void removeAndSetShouldReturnDetachedCopies() {
+            ColumnarList list = trades(3);
+
+            ColumnarList.Row removed = list.remove(0);
+            ColumnarList.Row replaced = list.set(0, list.get(1));
+
+            assertThat(removed.getInt(ID)).isZero();
+            assertThat(replaced.getInt(ID)).isEqualTo(1);
+            assertThat(list.getInt(0, ID)).isEqualTo(2);
+            assertThat(list.getInt(1, ID)).isEqualTo(2);
+        }
+
+        @Test
+        void rowOfOtherSchemaShouldBeRejected() {
+            ColumnarList list = trades(1);
+            ColumnarList other = new ColumnarList(ColumnarList.Schema.builder().intColumn("id").build());
+            other.addRow();
+
+            assertThatIllegalArgumentException().isThrownBy(() -> list.add(other.get(0)));
+        }
+
+        @Test
+        void removeIfShouldCompactAllColumns() {
+            ColumnarList list = trades(100);
+
+            assertThat(list.removeIf(row -> row.getInt(ID) % 2 == 0)).isTrue();
+
+            assertThat(list).hasSize(50);
+            assertThat(list.getInt(0, ID)).isEqualTo(1);
+            assertThat(list.getLong(49, TIMESTAMP)).isEqualTo(1_000_099L);
+            assertThat(list.getDouble(49, PRICE)).isEqualTo(49.5);
+        }
+
+        @Test
+        void outOfRangeRowShouldThrow() {
+            ColumnarList list = trades(2);
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> list.getInt(2, ID));
+        }
+    }
+
+    @Nested
+    class Aggregates {
+        @Test
+        void sumsShouldCoverAllRows() {
+            ColumnarList list = trades(100);
+
+            assertThat(list.sumAsLong(ID)).isEqualTo(4950L);
+            assertThat(list.sumAsDouble(PRICE)).isEqualTo(2475.0);
+            assertThat(list.sumAsDouble(ID)).isEqualTo(4950.0);
+        }
+
+        @Test
+        void summariesShouldComputeMinMaxAndAverage() {
+            ColumnarList list = trades(100);
+
+            LongSummaryStatistics timestamps = list.summarizeLong(TIMESTAMP);
+            DoubleSummaryStatistics prices = list.summarizeDouble(PRICE);
+
+            assertThat(timestamps.getMin()).isEqualTo(1_000_000L);
+            assertThat(timestamps.getMax()).isEqualTo(1_000_099L);
+            assertThat(prices.getAverage()).isEqualTo(24.75);
+            assertThat(prices.getCount()).isEqualTo(100);
+        }
+
+        @Test
+        void indexesWhereShouldReturnMatchingPositions() {
+            ColumnarList list = trades(100);
+
+            assertThat(list.indexesWhere(row -> row.getDouble(PRICE) >= 48.5)).containsExactly(97, 98, 99);
+            assertThat(new ColumnarList(TRADES).indexesWhere(row -> true)).isEmpty();
+        }
+
+        @Test
+        void forEachRowShouldReuseOneFlyweight() {
+            ColumnarList list = trades(10);
+            Set<ColumnarList.Row> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            list.forEachRow(seen::add);
+
+            assertThat(seen).hasSize(1);
+        }
+    }
+}
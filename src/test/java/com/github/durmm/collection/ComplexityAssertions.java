@@ -0,0 +1,118 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.IntFunction;
+
+/**
+ * Coarse asymptotic checks for list operations.
+ * <p>
+ * A workload is timed at {@code n}, {@code 4n} and {@code 16n} elements and the
+ * observed growth is compared against the growth its complexity class allows.
+ * The tolerance is wide enough to absorb timer and GC noise, yet far below the
+ * gap between neighbouring classes at {@code 16n} (e.g. 16 vs 256 for linear vs
+ * quadratic), so a regression in complexity still fails reliably.
+ */
+final class ComplexityAssertions {
+    private static final int BASE_SIZE = 4_096;
+    private static final int[] SCALES = {4, 16};
+    private static final double TOLERANCE = 4.0;
+    private static final long MIN_BATCH_NANOS = 2_000_000L;
+    private static final int REPETITIONS = 5;
+
+    enum Complexity {
+        CONSTANT {
+            @Override
+            double growth(int n, int scale) {
+                return 1;
+            }
+        },
+        LOGARITHMIC {
+            @Override
+            double growth(int n, int scale) {
+                return Math.log((double) n * scale) / Math.log(n);
+            }
+        },
+        LINEAR {
+            @Override
+            double growth(int n, int scale) {
+                return scale;
+            }
+        },
+        LINEARITHMIC {
+            @Override
+            double growth(int n, int scale) {
+                return scale * LOGARITHMIC.growth(n, scale);
+            }
+        },
+        QUADRATIC {
+            @Override
+            double growth(int n, int scale) {
+                return (double) scale * scale;
+            }
+        };
+
+        /**
+         * Expected cost ratio between input sizes {@code n * scale} and {@code n}.
+         */
+        abstract double growth(int n, int scale);
+    }
+
+    private ComplexityAssertions() {
+    }
+
+    /**
+     * Asserts that {@code workload} grows no faster than {@code complexity}.
+     *
+     * @param complexity the documented complexity class of the operation
+     * @param workload   given an input size, prepares the untimed state and
+     *                   returns the action to time
+     */
+    static void assertScalesAtMost(Complexity complexity, IntFunction<Runnable> workload) {
+        int batch = calibrate(workload);
+        long base = measure(workload, BASE_SIZE, batch, 0);
+        for (int scale : SCALES) {
+            double allowed = complexity.growth(BASE_SIZE, scale) * TOLERANCE;
+            long elapsed = measure(workload, BASE_SIZE * scale, batch, (long) (base * allowed));
+            double observed = (double) elapsed / base;
+            assertThat(observed)
+                    .as("growth from n=%d to n=%d exceeds %s", BASE_SIZE, BASE_SIZE * scale, complexity)
+                    .isLessThanOrEqualTo(allowed);
+        }
+    }
+
+    /**
+     * Finds how many runs of the base size take long enough to be timed
+     * reliably; doubles as the JIT warm-up.
+     */
+    private static int calibrate(IntFunction<Runnable> workload) {
+        int batch = 1;
+        while (time(workload, BASE_SIZE, batch, Long.MAX_VALUE) < MIN_BATCH_NANOS && batch < (1 << 8))
+            batch *= 2;
+        return batch;
+    }
+
+    /**
+     * Best of several timings. Stops as soon as one run fits in {@code limit}
+     * (when positive), and cuts each run short once it is clearly over, so a
+     * regressed operation fails in seconds rather than minutes.
+     */
+    private static long measure(IntFunction<Runnable> workload, int size, int batch, long limit) {
+        long cutoff = limit > 0 ? (long) (limit * TOLERANCE) : Long.MAX_VALUE;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS && (limit <= 0 || best > limit); i++)
+            best = Math.min(best, time(workload, size, batch, cutoff));
+        return Math.max(best, 1);
+    }
+
+    private static long time(IntFunction<Runnable> workload, int size, int batch, long cutoff) {
+        long total = 0;
+        for (int i = 0; i < batch && total <= cutoff; i++) {
+            Runnable action = workload.apply(size);
+            long start = System.nanoTime();
+            action.run();
+            total += System.nanoTime() - start;
+        }
+        return total;
+    }
+}
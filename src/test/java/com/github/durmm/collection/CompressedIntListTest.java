@@ -0,0 +1,137 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CompressedIntListTest {
+
+    private static CompressedIntList randomIds(long seed, int count, int maxGap) {
+        Random random = new Random(seed);
+        CompressedIntList list = new CompressedIntList();
+        int value = random.nextInt(100);
+        for (int i = 0; i < count; i++) {
+            list.addInt(value);
+            value += random.nextInt(maxGap);
+        }
+        return list;
+    }
+
+    private static TreeSet<Integer> distinct(CompressedIntList list) {
+        return new TreeSet<>(list);
+    }
+
+    @Test
+    void unsortedValueShouldThrow() {
+        CompressedIntList list = CompressedIntList.of(1, 5);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> list.addInt(4));
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> list.add(0, 7));
+    }
+
+    @Nested
+    class Encoding {
+        @Test
+        void denseIdsShouldTakeAboutOneBytePerValue() {
+            CompressedIntList list = randomIds(1, 100_000, 100);
+
+            assertThat(list.compressedBytes()).isLessThan(110_000);
+        }
+
+        @Test
+        void getShouldDecodeAcrossBlocks() {
+            List<Integer> expected = new ArrayList<>();
+            CompressedIntList list = new CompressedIntList();
+            for (int i = 0; i < 1000; i++) {
+                int value = i * i * 3;
+                list.addInt(value);
+                expected.add(value);
+            }
+
+            for (int i = 0; i < 1000; i++)
+                assertThat(list.getInt(i)).isEqualTo(expected.get(i));
+            assertThat(list).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void extremeValuesShouldRoundTrip() {
+            CompressedIntList list = CompressedIntList.of(Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+            assertThat(list).containsExactly(Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+            assertThat(list.containsInt(Integer.MIN_VALUE)).isTrue();
+            assertThat(list.indexOfInt(Integer.MAX_VALUE)).isEqualTo(3);
+        }
+
+        @Test
+        void containsShouldFindFirstOccurrenceOfRepeatedValues() {
+            CompressedIntList list = new CompressedIntList();
+            for (int i = 0; i < 100; i++)
+                list.addInt(1);
+            for (int i = 0; i < 300; i++)
+                list.addInt(2);
+            list.addInt(5);
+
+            assertThat(list.indexOfInt(2)).isEqualTo(100);
+            assertThat(list.indexOfInt(5)).isEqualTo(400);
+            assertThat(list.containsInt(3)).isFalse();
+            assertThat(list.containsInt(0)).isFalse();
+            assertThat(list.containsInt(6)).isFalse();
+            assertThat(list.contains("2")).isFalse();
+        }
+
+        @Test
+        void iteratorShouldStreamAndFailFast() {
+            CompressedIntList list = CompressedIntList.of(1, 2, 3);
+            PrimitiveIterator.OfInt iterator = list.intIterator();
+
+            assertThat(iterator.nextInt()).isEqualTo(1);
+            list.addInt(4);
+
+            assertThatExceptionOfType(ConcurrentModificationException.class).isThrownBy(iterator::nextInt);
+        }
+    }
+
+    @Nested
+    class SetOperations {
+        @Test
+        void intersectShouldMatchTreeSet() {
+            CompressedIntList a = randomIds(2, 50_000, 10);
+            CompressedIntList b = randomIds(3, 2_000, 200);
+            TreeSet<Integer> expected = distinct(a);
+            expected.retainAll(distinct(b));
+
+            assertThat(a.intersect(b)).containsExactlyElementsOf(expected);
+            assertThat(b.intersect(a)).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void unionShouldMatchTreeSet() {
+            CompressedIntList a = randomIds(4, 5_000, 10);
+            CompressedIntList b = randomIds(5, 5_000, 12);
+            TreeSet<Integer> expected = distinct(a);
+            expected.addAll(distinct(b));
+
+            assertThat(a.union(b)).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void operationsWithEmptyListShouldWork() {
+            CompressedIntList a = CompressedIntList.of(1, 1, 2);
+            CompressedIntList empty = new CompressedIntList();
+
+            assertThat(a.intersect(empty)).isEmpty();
+            assertThat(a.union(empty)).containsExactly(1, 2);
+            assertThat(empty.union(a)).containsExactly(1, 2);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class DictionaryListTest extends ListContractTest {
+    @Override
+    <T> List<T> create() {
+        return new DictionaryList<>();
+    }
+
+    @Override
+    Integer randomValue(Random random, int step) {
+        return random.nextInt(400);
+    }
+
+    @Nested
+    class Encoding {
+        @Test
+        void fewDistinctValuesShouldTakeOneBytePerElement() {
+            DictionaryList<String> list = new DictionaryList<>();
+
+            for (int i = 0; i < 10_000; i++)
+                list.add(i % 3 == 0 ? "NEW" : "DONE");
+
+            assertThat(list.codeWidth()).isEqualTo(1);
+            assertThat(list.cardinality()).isEqualTo(2);
+            assertThat(list.get(3)).isEqualTo("NEW");
+            assertThat(list.get(4)).isEqualTo("DONE");
+        }
+
+        @Test
+        void growingCardinalityShouldWidenCodes() {
+            DictionaryList<Integer> list = new DictionaryList<>();
+
+            for (int i = 0; i < 300; i++)
+                list.add(i);
+            assertThat(list.codeWidth()).isEqualTo(2);
+
+            for (int i = 300; i < 70_000; i++)
+                list.add(i);
+            assertThat(list.codeWidth()).isEqualTo(4);
+
+            assertThat(list.get(255)).isEqualTo(255);
+            assertThat(list.get(69_999)).isEqualTo(69_999);
+            assertThat(list.indexOf(65_536)).isEqualTo(65_536);
+        }
+
+        @Test
+        void freedCodesShouldBeReused() {
+            DictionaryList<Integer> list = new DictionaryList<>();
+
+            for (int i = 0; i < 1000; i++) {
+                list.add(i);
+                list.remove(0);
+            }
+
+            assertThat(list.codeWidth()).isEqualTo(1);
+            assertThat(list.cardinality()).isZero();
+        }
+
+        @Test
+        void clearShouldNarrowCodes() {
+            DictionaryList<Integer> list = new DictionaryList<>();
+            for (int i = 0; i < 300; i++)
+                list.add(i);
+
+            list.clear();
+
+            assertThat(list.codeWidth()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class Histogram {
+        @Test
+        void frequenciesShouldFollowEdits() {
+            DictionaryList<String> list = new DictionaryList<>(Arrays.asList("a", "b", "a", null, "a"));
+
+            list.set(1, "a");
+            list.remove(0);
+
+            assertThat(list.frequency("a")).isEqualTo(3);
+            assertThat(list.frequency("b")).isZero();
+            assertThat(list.frequency(null)).isEqualTo(1);
+            assertThat(list.contains("b")).isFalse();
+            assertThat(list.histogram()).containsOnly(entry("a", 3), entry(null, 1));
+        }
+
+        @Test
+        void removeAllShouldDropEveryOccurrence() {
+            DictionaryList<String> list = new DictionaryList<>(Arrays.asList("a", "b", "a", "c", "a"));
+
+            assertThat(list.removeAll("a")).isTrue();
+            assertThat(list.removeAll("a")).isFalse();
+
+            assertThat(list).containsExactly("b", "c");
+            assertThat(list.frequency("a")).isZero();
+            assertThat(list.cardinality()).isEqualTo(2);
+        }
+
+        @Test
+        void frequenciesShouldFollowRandomEdits() {
+            DictionaryList<Integer> list = new DictionaryList<>();
+
+            List<Integer> expected = assertRandomEditsMatchArrayList(list, 5, 20_000, DictionaryListTest.this::randomValue);
+            list.removeIf(e -> e % 2 == 0);
+            expected.removeIf(e -> e % 2 == 0);
+
+            for (int value = 0; value < 400; value++)
+                assertThat(list.frequency(value)).isEqualTo(Collections.frequency(expected, value));
+        }
+    }
+}
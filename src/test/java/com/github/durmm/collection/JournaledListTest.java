@@ -0,0 +1,227 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class JournaledListTest extends ListContractTest {
+    private Path directory;
+    private final List<JournaledList<?>> created = new ArrayList<>();
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("journaled-list");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        for (JournaledList<?> list : created)
+            list.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Opens a list in a directory of its own, journaling any element by
+     * reference into an in-memory table since the contract never reopens
+     * the list.
+     */
+    @Override
+    <T> List<T> create() {
+        try {
+            JournaledList<T> list = JournaledList.open(Files.createTempDirectory(directory, "contract"),
+                    new ReferenceCodec<>(), 1 << 20, JournaledList.DEFAULT_SNAPSHOT_THRESHOLD);
+            created.add(list);
+            return list;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class ReferenceCodec<T> implements ElementCodec<T> {
+        private final List<T> references = new ArrayList<>();
+
+        @Override
+        public int fixedLength() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public int encodedLength(T element) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(T element, ByteBuffer target) {
+            target.putInt(references.size());
+            references.add(element);
+        }
+
+        @Override
+        public T decode(ByteBuffer source, int length) {
+            return references.get(source.getInt());
+        }
+    }
+
+    private JournaledList<String> open() throws IOException {
+        return JournaledList.open(directory, ElementCodecs.strings());
+    }
+
+    @Nested
+    class Replay {
+        @Test
+        void reopenShouldReplayEveryMutation() throws IOException {
+            try (JournaledList<String> list = open()) {
+                list.add("a");
+                list.add("c");
+                list.add(1, "b");
+                list.addAll(Arrays.asList("d", null, "e"));
+                list.set(0, "A");
+                list.remove(3);
+            }
+
+            try (JournaledList<String> list = open()) {
+                assertThat(list).containsExactly("A", "b", "c", null, "e");
+            }
+        }
+
+        @Test
+        void reopenWithoutCloseShouldSeeSyncedMutations() throws IOException {
+            JournaledList<String> crashed = open();
+            crashed.add("a");
+            crashed.add("b");
+
+            try (JournaledList<String> list = open()) {
+                assertThat(list).containsExactly("a", "b");
+            }
+            crashed.close();
+        }
+
+        @Test
+        void bulkRemovalShouldBeReplayed() throws IOException {
+            try (JournaledList<String> list = open()) {
+                list.addAll(Arrays.asList("a", "b", null, "c", "d"));
+                list.removeIf(e -> e == null || e.equals("b"));
+                list.retainAll(Arrays.asList("a", "d"));
+            }
+
+            try (JournaledList<String> list = open()) {
+                assertThat(list).containsExactly("a", "d");
+            }
+        }
+
+        @Test
+        void clearShouldBeReplayed() throws IOException {
+            try (JournaledList<String> list = open()) {
+                list.addAll(Arrays.asList("a", "b"));
+                list.clear();
+                list.add("c");
+            }
+
+            try (JournaledList<String> list = open()) {
+                assertThat(list).containsExactly("c");
+            }
+        }
+
+        @Test
+        void tornTailShouldBeDropped() throws IOException {
+            try (JournaledList<String> list = open()) {
+                list.add("a");
+                list.add("b");
+            }
+            Files.write(directory.resolve("journal"), new byte[]{0, 0, 0, 20, 1, 2, 3},
+                    StandardOpenOption.APPEND);
+
+            try (JournaledList<String> list = open()) {
+                assertThat(list).containsExactly("a", "b");
+                list.add("c");
+            }
+
+            try (JournaledList<String> list = open()) {
+                assertThat(list).containsExactly("a", "b", "c");
+            }
+        }
+    }
+
+    @Nested
+    class GroupCommit {
+        @Test
+        void mutationsShouldStayBufferedUntilBatchIsFull() throws IOException {
+            try (JournaledList<String> list = JournaledList.open(directory, ElementCodecs.strings(), 3, 1 << 20)) {
+                long empty = Files.size(directory.resolve("journal"));
+                list.add("a");
+                list.add("b");
+
+                assertThat(Files.size(directory.resolve("journal"))).isEqualTo(empty);
+
+                list.add("c");
+
+                assertThat(Files.size(directory.resolve("journal"))).isGreaterThan(empty);
+            }
+        }
+
+        @Test
+        void syncShouldWriteBufferedMutations() throws IOException {
+            try (JournaledList<String> list = JournaledList.open(directory, ElementCodecs.strings(), 100, 1 << 20)) {
+                list.add("a");
+                list.sync();
+
+                try (JournaledList<String> reopened = open()) {
+                    assertThat(reopened).containsExactly("a");
+                }
+            }
+        }
+    }
+
+    @Nested
+    class Snapshots {
+        @Test
+        void largeJournalShouldBeFoldedIntoSnapshot() throws IOException {
+            try (JournaledList<String> list = JournaledList.open(directory, ElementCodecs.strings(), 1, 256)) {
+                for (int i = 0; i < 100; i++)
+                    list.add("element-" + i);
+
+                assertThat(directory.resolve("snapshot")).exists();
+                assertThat(list.journalBytes()).isLessThan(256);
+            }
+
+            try (JournaledList<String> list = open()) {
+                assertThat(list).hasSize(100).startsWith("element-0").endsWith("element-99");
+            }
+        }
+
+        @Test
+        void journalOlderThanSnapshotShouldNotBeReplayed() throws IOException {
+            Path stale = directory.resolveSibling(directory.getFileName() + ".journal");
+            try (JournaledList<String> list = open()) {
+                list.add("a");
+                Files.copy(directory.resolve("journal"), stale);
+                list.snapshot();
+                list.add("b");
+            }
+            // a crash after the snapshot was renamed but before the journal was reset
+            Files.move(stale, directory.resolve("journal"), StandardCopyOption.REPLACE_EXISTING);
+
+            try (JournaledList<String> list = open()) {
+                assertThat(list).containsExactly("a");
+            }
+        }
+    }
+}
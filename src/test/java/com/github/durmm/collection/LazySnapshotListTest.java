@@ -0,0 +1,196 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LazySnapshotListTest {
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("lazy-snapshot", ".bin");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * String codec counting how many elements were decoded.
+     */
+    private static final class CountingCodec implements ElementCodec<String> {
+        private final ElementCodec<String> delegate = ElementCodecs.strings();
+        private int decoded;
+
+        @Override
+        public int fixedLength() {
+            return delegate.fixedLength();
+        }
+
+        @Override
+        public int encodedLength(String element) {
+            return delegate.encodedLength(element);
+        }
+
+        @Override
+        public void encode(String element, ByteBuffer target) {
+            delegate.encode(element, target);
+        }
+
+        @Override
+        public String decode(ByteBuffer source, int length) {
+            decoded++;
+            return delegate.decode(source, length);
+        }
+    }
+
+    private static List<String> strings(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> i % 7 == 0 ? null : "element-" + i)
+                .collect(Collectors.toList());
+    }
+
+    @Nested
+    class LazyReads {
+        @Test
+        void openShouldNotDecodeAnything() throws IOException {
+            CountingCodec codec = new CountingCodec();
+            LazySnapshotList.write(strings(1000), file, codec);
+
+            try (LazySnapshotList<String> list = LazySnapshotList.open(file, codec)) {
+                assertThat(list).hasSize(1000);
+                assertThat(codec.decoded).isZero();
+            }
+        }
+
+        @Test
+        void getShouldDecodeOnceAndCache() throws IOException {
+            CountingCodec codec = new CountingCodec();
+            LazySnapshotList.write(strings(1000), file, codec);
+
+            try (LazySnapshotList<String> list = LazySnapshotList.open(file, codec)) {
+                assertThat(list.get(500)).isEqualTo("element-500");
+                assertThat(list.get(500)).isEqualTo("element-500");
+                assertThat(list.get(0)).isNull();
+
+                assertThat(codec.decoded).isEqualTo(1);
+            }
+        }
+
+        @Test
+        void cacheShouldBeBounded() throws IOException {
+            CountingCodec codec = new CountingCodec();
+            LazySnapshotList.write(strings(100), file, codec);
+
+            try (LazySnapshotList<String> list = LazySnapshotList.open(file, codec, 2)) {
+                list.get(1);
+                list.get(2);
+                list.get(3);
+                list.get(1);
+
+                assertThat(codec.decoded).isEqualTo(4);
+            }
+        }
+
+        @Test
+        void iterationShouldStreamAllElements() throws IOException {
+            List<String> expected = strings(20_000);
+            LazySnapshotList.write(expected, file, ElementCodecs.strings());
+
+            try (LazySnapshotList<String> list = LazySnapshotList.open(file, ElementCodecs.strings())) {
+                assertThat(new ArrayList<>(list)).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        void plainSerializerFileShouldBeIndexedOnOpen() throws IOException {
+            List<String> expected = strings(100);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                new MyListSerializer<>(ElementCodecs.strings()).write(expected, channel);
+            }
+
+            try (LazySnapshotList<String> list = LazySnapshotList.open(file, ElementCodecs.strings())) {
+                assertThat(list.get(99)).isEqualTo("element-99");
+                assertThat(list).containsExactlyElementsOf(expected);
+            }
+        }
+
+        @Test
+        void fixedWidthElementsShouldNeedNoIndex() throws IOException {
+            LazySnapshotList.write(Arrays.asList(1L, 2L, 3L), file, ElementCodecs.longs());
+
+            try (LazySnapshotList<Long> list = LazySnapshotList.open(file, ElementCodecs.longs())) {
+                assertThat(list.get(2)).isEqualTo(3L);
+                assertThat(list).containsExactly(1L, 2L, 3L);
+            }
+        }
+
+        @Test
+        void indexedFileShouldStayReadableBySerializer() throws IOException {
+            List<String> expected = strings(100);
+            LazySnapshotList.write(expected, file, ElementCodecs.strings());
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                assertThat(new MyListSerializer<>(ElementCodecs.strings()).read(channel))
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    @Nested
+    class Promotion {
+        @Test
+        void firstWriteShouldPromoteToMyList() throws IOException {
+            LazySnapshotList.write(Arrays.asList("a", "b"), file, ElementCodecs.strings());
+
+            try (LazySnapshotList<String> list = LazySnapshotList.open(file, ElementCodecs.strings())) {
+                assertThat(list.isLazy()).isTrue();
+
+                list.add("c");
+                list.set(0, "A");
+                list.remove(1);
+
+                assertThat(list.isLazy()).isFalse();
+                assertThat(list).containsExactly("A", "c");
+            }
+        }
+
+        @Test
+        void iteratorRemoveShouldPromoteAndContinue() throws IOException {
+            LazySnapshotList.write(Arrays.asList("a", "b", "c"), file, ElementCodecs.strings());
+
+            try (LazySnapshotList<String> list = LazySnapshotList.open(file, ElementCodecs.strings())) {
+                list.removeIf("b"::equals);
+
+                assertThat(list).containsExactly("a", "c");
+            }
+        }
+    }
+
+    @Test
+    void foreignFileShouldThrow() throws IOException {
+        Files.write(file, new byte[16]);
+
+        assertThatExceptionOfType(StreamCorruptedException.class)
+                .isThrownBy(() -> LazySnapshotList.open(file, ElementCodecs.strings()));
+    }
+}
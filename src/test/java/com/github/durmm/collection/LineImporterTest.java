@@ -0,0 +1,177 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LineImporterTest {
+    private static final int SMALL_CHUNK = 37;
+
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("line-importer", ".csv");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer bytes(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void invalidSettingsShouldThrow() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new LineImporter('\n'));
+        assertThatIllegalArgumentException().isThrownBy(() -> new LineImporter(',', 0));
+    }
+
+    @Nested
+    class Chunking {
+        @Test
+        void everyLineShouldBeImportedOnceWhateverTheChunkSize() throws IOException {
+            List<String> lines = IntStream.range(0, 1000)
+                    .mapToObj(i -> i % 7 == 0 ? "" : "line-" + i + "-caf\u00e9")
+                    .collect(Collectors.toList());
+            write(String.join("\n", lines) + "\n");
+
+            for (int chunkSize : new int[]{1, 2, SMALL_CHUNK, 4096, LineImporter.DEFAULT_CHUNK_SIZE})
+                assertThat(new LineImporter(',', chunkSize).importLines(file)).containsExactlyElementsOf(lines);
+        }
+
+        @Test
+        void linesLongerThanTheMappedSlackShouldBeImportedWhole() throws IOException {
+            char[] filler = new char[200_000];
+            Arrays.fill(filler, 'x');
+            String longLine = new String(filler);
+            List<String> lines = Arrays.asList("short", longLine, "a", longLine.substring(50_000) + "b", "c");
+            write(String.join("\n", lines) + "\r\n");
+
+            for (int chunkSize : new int[]{4096, 100_000, 1 << 20})
+                assertThat(new LineImporter(',', chunkSize).importLines(file)).containsExactlyElementsOf(lines);
+        }
+
+        @Test
+        void crLfAndMissingFinalBreakShouldBeHandled() throws IOException {
+            write("a\r\nb\r\n\r\nc");
+
+            assertThat(new LineImporter(',', 2).importLines(file)).containsExactly("a", "b", "", "c");
+        }
+
+        @Test
+        void emptyFileShouldGiveEmptyList() throws IOException {
+            assertThat(new LineImporter(',').importLines(file)).isEmpty();
+        }
+    }
+
+    @Nested
+    class Records {
+        @Test
+        void recordsShouldBeMappedFromFields() throws IOException {
+            StringBuilder content = new StringBuilder();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                content.append(i).append(';').append("name").append(i).append(';').append(-i * 1_000_000_000L).append('\n');
+                expected.add(i + "/name" + i + "/" + -i * 1_000_000_000L);
+            }
+            write(content.toString());
+
+            MyList<String> records = new LineImporter(';', SMALL_CHUNK).importRecords(file,
+                    line -> line.intField(0) + "/" + line.stringField(1) + "/" + line.longField(2));
+
+            assertThat(records).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void customFieldParserShouldSeeFieldBytes() throws IOException {
+            write("ab,cde\nf,\n");
+
+            MyList<Integer> lengths = new LineImporter(',').importRecords(file,
+                    line -> line.field(1, (buffer, from, to) -> to - from) + 10 * line.fieldCount());
+
+            assertThat(lengths).containsExactly(23, 20);
+        }
+
+        @Test
+        void buffersKeptByMapperShouldStayReadable() throws IOException {
+            write("ab,cd\nef,gh\n");
+
+            MyList<ByteBuffer> buffers = new LineImporter(',', 4).importRecords(file, line -> {
+                ByteBuffer field = line.buffer().duplicate();
+                field.limit(line.fieldEnd(1)).position(line.fieldStart(1));
+                return field.slice();
+            });
+
+            assertThat(buffers).containsExactly(bytes("cd"), bytes("gh"));
+        }
+
+        @Test
+        void columnsShouldBeParsedByType() throws IOException {
+            write("1,10000000000,2.5\n-2,-3,1e3\n");
+            ColumnarList.Schema schema = ColumnarList.Schema.builder()
+                    .intColumn("id").longColumn("total").doubleColumn("ratio").build();
+
+            ColumnarList records = new LineImporter(',', 4).importColumns(file, schema);
+
+            assertThat(records).hasSize(2);
+            assertThat(records.getLong(0, 1)).isEqualTo(10_000_000_000L);
+            assertThat(records.getInt(1, 0)).isEqualTo(-2);
+            assertThat(records.getDouble(1, 2)).isEqualTo(1000.0);
+        }
+
+        @Test
+        void missingFieldShouldThrow() throws IOException {
+            write("1,2\n3\n");
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() ->
+                    new LineImporter(',').importRecords(file, line -> line.intField(1)));
+        }
+    }
+
+    @Nested
+    class FieldParsing {
+        @Test
+        void integersShouldParseFromBytes() {
+            assertThat(LineImporter.parseInt(bytes("-2147483648"), 0, 11)).isEqualTo(Integer.MIN_VALUE);
+            assertThat(LineImporter.parseInt(bytes("+42"), 0, 3)).isEqualTo(42);
+            assertThat(LineImporter.parseLong(bytes("x9223372036854775807"), 1, 20)).isEqualTo(Long.MAX_VALUE);
+        }
+
+        @Test
+        void invalidIntegersShouldThrow() {
+            for (String s : Arrays.asList("", "-", "1a", "2147483648", "9223372036854775808"))
+                assertThatExceptionOfType(NumberFormatException.class)
+                        .isThrownBy(() -> LineImporter.parseInt(bytes(s), 0, s.length()));
+        }
+
+        @Test
+        void doublesShouldMatchDoubleParseDouble() {
+            for (String s : Arrays.asList("0", "-0", "1.5", "0.001", "123456.789", "1e22", "2.5E-3",
+                    "0.1234567890123456789", "1e300", "NaN", "-Infinity", ".5", "7."))
+                assertThat(LineImporter.parseDouble(bytes(s), 0, s.length())).isEqualTo(Double.parseDouble(s));
+        }
+    }
+}
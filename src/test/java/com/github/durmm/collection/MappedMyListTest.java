@@ -0,0 +1,173 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class MappedMyListTest {
+    private static final int SMALL_SEGMENT = 64;
+
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("mapped-my-list", ".bin");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private MappedMyList<Integer> open() throws IOException {
+        return MappedMyList.open(file, ElementCodecs.integerRecords(), SMALL_SEGMENT);
+    }
+
+    @Nested
+    class ListOperations {
+        @Test
+        void addShouldGrowAcrossSegments() throws IOException {
+            try (MappedMyList<Integer> list = open()) {
+                IntStream.range(0, 100).forEach(list::add);
+
+                assertThat(list).containsExactlyElementsOf(
+                        IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+            }
+        }
+
+        @Test
+        void setShouldReplaceAndReturnPrevious() throws IOException {
+            try (MappedMyList<Integer> list = open()) {
+                list.add(1);
+                list.add(2);
+
+                assertThat(list.set(1, 3)).isEqualTo(2);
+                assertThat(list).containsExactly(1, 3);
+            }
+        }
+
+        @Test
+        void addAndRemoveAtIndexShouldShiftAcrossSegments() throws IOException {
+            try (MappedMyList<Integer> list = open()) {
+                IntStream.range(0, 40).forEach(list::add);
+
+                list.add(0, -1);
+                assertThat(list.remove(20)).isEqualTo(19);
+
+                assertThat(list).hasSize(40).startsWith(-1, 0, 1).endsWith(38, 39);
+                assertThat(list.get(20)).isEqualTo(20);
+            }
+        }
+
+        @Test
+        void shiftsShouldMatchArrayListAcrossSegments() throws IOException {
+            try (MappedMyList<Integer> list = MappedMyList.open(file, ElementCodecs.integerRecords(), 60)) {
+                List<Integer> expected = new ArrayList<>();
+                Random random = new Random(13);
+                for (int i = 0; i < 2_000; i++) {
+                    if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+                    } else {
+                        int index = random.nextInt(expected.size() + 1);
+                        list.add(index, i);
+                        expected.add(index, i);
+                    }
+                }
+
+                assertThat(list).isEqualTo(expected);
+                assertThat(list.indexOf(expected.get(31))).isEqualTo(31);
+                assertThat(list.lastIndexOf(expected.get(expected.size() - 1))).isEqualTo(expected.size() - 1);
+            }
+        }
+
+        @Test
+        void indexOfShouldCompareRecords() throws IOException {
+            try (MappedMyList<Integer> list = open()) {
+                IntStream.range(0, 40).map(i -> i % 20).forEach(list::add);
+
+                assertThat(list.indexOf(19)).isEqualTo(19);
+                assertThat(list.lastIndexOf(19)).isEqualTo(39);
+                assertThat(list.indexOf(40)).isEqualTo(-1);
+                assertThat(list.indexOf("19")).isEqualTo(-1);
+                assertThat(list.indexOf(null)).isEqualTo(-1);
+            }
+        }
+
+        @Test
+        void getShouldThrowWhenIndexOutOfRange() throws IOException {
+            try (MappedMyList<Integer> list = open()) {
+                list.add(1);
+
+                assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                        .isThrownBy(() -> list.get(1));
+            }
+        }
+
+        @Test
+        void addShouldRejectNull() throws IOException {
+            try (MappedMyList<Integer> list = open()) {
+                assertThatNullPointerException()
+                        .isThrownBy(() -> list.add(null));
+            }
+        }
+    }
+
+    @Nested
+    class Persistence {
+        @Test
+        void reopenShouldSeeForcedContents() throws IOException {
+            try (MappedMyList<Integer> list = open()) {
+                IntStream.range(0, 50).forEach(list::add);
+                list.remove(0);
+                list.force();
+            }
+
+            try (MappedMyList<Integer> list = open()) {
+                assertThat(list).hasSize(49).startsWith(1, 2).endsWith(49);
+            }
+        }
+
+        @Test
+        void reopenWithDifferentSegmentSizeShouldSeeSameContents() throws IOException {
+            try (MappedMyList<Integer> list = open()) {
+                IntStream.range(0, 50).forEach(list::add);
+            }
+
+            try (MappedMyList<Integer> list = MappedMyList.open(file, ElementCodecs.integerRecords())) {
+                assertThat(list).hasSize(50).endsWith(48, 49);
+            }
+        }
+
+        @Test
+        void reopenWithDifferentRecordLengthShouldThrow() throws IOException {
+            open().close();
+
+            assertThatExceptionOfType(StreamCorruptedException.class)
+                    .isThrownBy(() -> MappedMyList.open(file, ElementCodecs.longRecords()));
+        }
+
+        @Test
+        void openForeignFileShouldThrow() throws IOException {
+            Files.write(file, new byte[32]);
+
+            assertThatExceptionOfType(StreamCorruptedException.class)
+                    .isThrownBy(MappedMyListTest.this::open);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.durmm.collection;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares collecting a parallel stream with {@link MyList#toMyList(int)}
+ * against {@code Collectors.toList()} followed by a copy into a
+ * {@link MyList}.
+ * <p>
+ * Not part of the test suite; run {@link #main(String[])}, e.g. with
+ * {@code -Xmx4g}. The optional argument is the element count.
+ */
+public final class MyListCollectorBenchmark {
+    private static final int WARM_UP = 3;
+    private static final int RUNS = 5;
+
+    private MyListCollectorBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        report("toList + copy", () -> {
+            List<Integer> list = IntStream.range(0, count).parallel().boxed().collect(Collectors.toList());
+            MyList<Integer> copy = new MyList<>(Math.max(list.size(), 1));
+            copy.addAll(list);
+            return copy;
+        });
+        report("toMyList", () -> IntStream.range(0, count).parallel().boxed().collect(MyList.toMyList(count)));
+        report("collector", () -> IntStream.range(0, count).parallel().boxed().collect(MyList.collector()));
+    }
+
+    private static void report(String name, Supplier<MyList<Integer>> pipeline) {
+        for (int i = 0; i < WARM_UP; i++)
+            pipeline.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            pipeline.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-14s best of %d: %.1f ms%n", name, RUNS, best / 1e6);
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class MyListSerializerTest {
+    private static <E> byte[] write(MyListSerializer<E> serializer, List<E> list) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(list, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static <E> MyList<E> read(MyListSerializer<E> serializer, byte[] bytes) throws IOException {
+        return serializer.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    private static <E> MyList<E> roundTrip(MyListSerializer<E> serializer, List<E> list) throws IOException {
+        return read(serializer, write(serializer, list));
+    }
+
+    @Nested
+    class RoundTrip {
+        @Test
+        void emptyListShouldRoundTrip() throws IOException {
+            MyListSerializer<Integer> serializer = new MyListSerializer<>(ElementCodecs.integers());
+
+            assertThat(roundTrip(serializer, Collections.emptyList())).isEmpty();
+        }
+
+        @Test
+        void integersShouldRoundTripAcrossManyBufferFlushes() throws IOException {
+            MyListSerializer<Integer> serializer = new MyListSerializer<>(ElementCodecs.integers(), 64);
+            List<Integer> expected = IntStream.range(-500, 500).boxed().collect(Collectors.toList());
+
+            assertThat(roundTrip(serializer, expected)).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void longsShouldRoundTrip() throws IOException {
+            MyListSerializer<Long> serializer = new MyListSerializer<>(ElementCodecs.longs(), 20);
+            List<Long> expected = Arrays.asList(Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE);
+
+            assertThat(roundTrip(serializer, expected)).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void stringsShouldRoundTripIncludingNullsAndNonAscii() throws IOException {
+            MyListSerializer<String> serializer = new MyListSerializer<>(ElementCodecs.strings(), 16);
+            List<String> expected = Arrays.asList("a", null, "", "\u00e9t\u00e9", "\u4e2d\u6587", "\ud83d\ude00");
+
+            assertThat(roundTrip(serializer, expected)).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void elementLargerThanBufferShouldRoundTrip() throws IOException {
+            MyListSerializer<String> serializer = new MyListSerializer<>(ElementCodecs.strings(), 16);
+            char[] chars = new char[1000];
+            Arrays.fill(chars, 'x');
+            List<String> expected = Arrays.asList("before", new String(chars), "after");
+
+            assertThat(roundTrip(serializer, expected)).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void serializerShouldBeReusable() throws IOException {
+            MyListSerializer<Integer> serializer = new MyListSerializer<>(ElementCodecs.integers());
+
+            roundTrip(serializer, Arrays.asList(1, 2, 3));
+
+            assertThat(roundTrip(serializer, Arrays.asList(4, 5))).containsExactly(4, 5);
+        }
+    }
+
+    @Nested
+    class Format {
+        @Test
+        void fixedWidthElementsShouldHaveNoPerElementOverhead() throws IOException {
+            MyListSerializer<Integer> serializer = new MyListSerializer<>(ElementCodecs.integers());
+
+            assertThat(write(serializer, Arrays.asList(1, 2, 3))).hasSize(8 + 3 * 4);
+        }
+
+        @Test
+        void stringsShouldBeStoredAsUtf8() throws IOException {
+            MyListSerializer<String> serializer = new MyListSerializer<>(ElementCodecs.strings());
+
+            assertThat(write(serializer, Collections.singletonList("\u00e9"))).hasSize(8 + 4 + 2);
+        }
+    }
+
+    @Nested
+    class Exceptional {
+        @Test
+        void fixedWidthCodecShouldRejectNull() {
+            MyListSerializer<Integer> serializer = new MyListSerializer<>(ElementCodecs.integers());
+
+            assertThatNullPointerException()
+                    .isThrownBy(() -> write(serializer, Arrays.asList(1, null)));
+        }
+
+        @Test
+        void truncatedInputShouldThrow() throws IOException {
+            MyListSerializer<Integer> serializer = new MyListSerializer<>(ElementCodecs.integers());
+            byte[] bytes = write(serializer, Arrays.asList(1, 2, 3));
+
+            assertThatExceptionOfType(EOFException.class)
+                    .isThrownBy(() -> read(serializer, Arrays.copyOf(bytes, bytes.length - 1)));
+        }
+
+        @Test
+        void foreignInputShouldThrow() {
+            MyListSerializer<Integer> serializer = new MyListSerializer<>(ElementCodecs.integers());
+
+            assertThatExceptionOfType(StreamCorruptedException.class)
+                    .isThrownBy(() -> read(serializer, new byte[]{1, 2, 3, 4, 0, 0, 0, 0}));
+        }
+
+        @Test
+        void tooSmallBufferShouldThrow() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new MyListSerializer<>(ElementCodecs.longs(), 4));
+        }
+    }
+}
@@ -0,0 +1,805 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class MyListTest extends ListContractTest {
+    @Override
+    <T> List<T> create() {
+        return new MyList<>();
+    }
+
+    @SafeVarargs
+    private static <T> MyList<T> listOf(T... elements) {
+        MyList<T> list = new MyList<>();
+        Collections.addAll(list, elements);
+        return list;
+    }
+
+    @Nested
+    class Collecting {
+        @Test
+        void collectorShouldKeepEncounterOrder() {
+            MyList<Integer> list = Stream.of(3, 1, 2).collect(MyList.collector());
+
+            assertThat(list).containsExactly(3, 1, 2);
+        }
+
+        @Test
+        void parallelCollectorShouldKeepEncounterOrder() {
+            List<Integer> expected = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+            MyList<Integer> list = expected.parallelStream().collect(MyList.toMyList(expected.size()));
+
+            assertThat(list).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void reusedCollectorShouldCollectEveryStream() {
+            Collector<Integer, ?, MyList<Integer>> collector = MyList.toMyList(1_000);
+
+            for (int run = 0; run < 3; run++) {
+                MyList<Integer> list = IntStream.range(0, 1_000).boxed().collect(collector);
+
+                assertThat(list).hasSize(1_000).startsWith(0).endsWith(999);
+            }
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void partialListsShouldNotBeSizedToTheHint() {
+            Collector<Integer, MyList<Integer>, MyList<Integer>> collector =
+                    (Collector<Integer, MyList<Integer>, MyList<Integer>>) MyList.<Integer>toMyList(1_000_000);
+            MyList<Integer> left = collector.supplier().get();
+            MyList<Integer> right = collector.supplier().get();
+            assertThat(left.capacity()).isLessThanOrEqualTo(10);
+
+            for (int i = 0; i < 30; i++)
+                collector.accumulator().accept(i < 20 ? left : right, i);
+            MyList<Integer> joined = collector.combiner().apply(left, right);
+
+            assertThat(joined).hasSize(30).startsWith(0).endsWith(29);
+            assertThat(joined.capacity()).isEqualTo(30);
+        }
+
+        @Test
+        void parallelCollectorShouldTrimResultToSize() {
+            MyList<Integer> list = IntStream.range(0, 100_000).parallel().boxed().collect(MyList.toMyList(1_000_000));
+
+            assertThat(list).hasSize(100_000);
+            assertThat(list.capacity()).isEqualTo(100_000);
+        }
+
+        @Test
+        void collectorOnEmptyStreamShouldReturnEmptyList() {
+            MyList<Object> list = Stream.empty().collect(MyList.toMyList(0));
+
+            assertThat(list).isEmpty();
+        }
+
+        @Test
+        void toMyListShouldThrowWhenSizeHintIsNegative() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> MyList.toMyList(-1));
+        }
+
+        @Test
+        void collectedListShouldStayModifiable() {
+            MyList<Integer> list = IntStream.range(0, 1000).parallel().boxed().collect(MyList.collector());
+
+            list.add(1000);
+
+            assertThat(list).hasSize(1001).endsWith(999, 1000);
+        }
+    }
+
+    @Nested
+    class Selecting {
+        private static final int SIZE = 50_000;
+
+        private MyList<Integer> shuffled(int size) {
+            List<Integer> values = IntStream.range(0, size).map(i -> i % 1000).boxed().collect(Collectors.toList());
+            Collections.shuffle(values, new Random(42));
+            return values.stream().collect(MyList.toMyList(size));
+        }
+
+        private List<Integer> sorted(List<Integer> list) {
+            List<Integer> copy = new ArrayList<>(list);
+            copy.sort(null);
+            return copy;
+        }
+
+        @Test
+        void topKShouldReturnGreatestInDescendingOrder() {
+            MyList<Integer> list = shuffled(SIZE);
+            List<Integer> before = new ArrayList<>(list);
+
+            assertThat(list.topK(3, Comparator.naturalOrder())).containsExactly(999, 999, 999);
+            assertThat(list.topK(200, null)).containsExactlyElementsOf(
+                    Stream.iterate(999, i -> i - 1).limit(4).flatMap(i -> Collections.nCopies(50, i).stream())
+                            .collect(Collectors.toList()));
+            assertThat(list).containsExactlyElementsOf(before);
+        }
+
+        @Test
+        void topKLargerThanListShouldReturnEverything() {
+            MyList<Integer> list = Stream.of(2, 3, 1).collect(MyList.collector());
+
+            assertThat(list.topK(10, null)).containsExactly(3, 2, 1);
+            assertThat(list.topK(0, null)).isEmpty();
+        }
+
+        @Test
+        void parallelTopKShouldMatchTopK() {
+            MyList<Integer> list = shuffled(SIZE);
+
+            assertThat(list.parallelTopK(100, null)).containsExactlyElementsOf(list.topK(100, null));
+            assertThat(list.parallelTopK(SIZE, Comparator.reverseOrder()))
+                    .containsExactlyElementsOf(sorted(list));
+        }
+
+        @Test
+        void nthElementShouldPartitionAroundSortedPosition() {
+            MyList<Integer> list = shuffled(SIZE);
+            List<Integer> expected = sorted(list);
+
+            assertThat(list.nthElement(SIZE / 3, null)).isEqualTo(expected.get(SIZE / 3));
+            assertThat(new ArrayList<>(list).subList(0, SIZE / 3)).allMatch(i -> i <= list.get(SIZE / 3));
+            assertThat(new ArrayList<>(list).subList(SIZE / 3, SIZE)).allMatch(i -> i >= list.get(SIZE / 3));
+            assertThat(sorted(list)).isEqualTo(expected);
+        }
+
+        @Test
+        void nthElementShouldCheckIndex() {
+            MyList<Integer> list = Stream.of(1, 2).collect(MyList.collector());
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> list.nthElement(2, null));
+        }
+
+        @Test
+        void nthElementShouldSurviveAdversarialInput() {
+            MyList<Integer> list = IntStream.range(0, SIZE).map(i -> i % 2 == 0 ? i : SIZE - i).boxed()
+                    .collect(MyList.toMyList(SIZE));
+
+            assertThat(list.nthElement(SIZE / 2, null)).isEqualTo(sorted(list).get(SIZE / 2));
+        }
+
+        @Test
+        void partialSortShouldSortPrefix() {
+            MyList<Integer> list = shuffled(SIZE);
+            List<Integer> expected = sorted(list);
+
+            list.partialSort(1500, Comparator.naturalOrder());
+
+            assertThat(new ArrayList<>(list).subList(0, 1500)).containsExactlyElementsOf(expected.subList(0, 1500));
+            assertThat(sorted(list)).isEqualTo(expected);
+        }
+
+        @Test
+        void partialSortShouldRejectNegativeCount() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new MyList<Integer>().partialSort(-1, null));
+        }
+
+        @Test
+        void parallelPartialSortShouldSortPrefix() {
+            MyList<Integer> list = shuffled(SIZE);
+            List<Integer> expected = sorted(list);
+
+            list.parallelPartialSort(1525, Comparator.reverseOrder());
+
+            List<Integer> descending = new ArrayList<>(expected);
+            Collections.reverse(descending);
+            assertThat(new ArrayList<>(list).subList(0, 1525)).containsExactlyElementsOf(descending.subList(0, 1525));
+            assertThat(sorted(list)).isEqualTo(expected);
+        }
+
+        @Test
+        void partialSortShouldInvalidateIterators() {
+            MyList<Integer> list = shuffled(100);
+            Iterator<Integer> iterator = list.iterator();
+
+            list.partialSort(10, null);
+
+            assertThatExceptionOfType(ConcurrentModificationException.class).isThrownBy(iterator::next);
+        }
+    }
+
+    @Nested
+    class Pooling {
+        @Test
+        void pooledListShouldGrowAndShrinkThroughPool() {
+            ArrayPool pool = new ArrayPool(1 << 16, 1 << 24);
+            MyList<Integer> list = new MyList<>(pool);
+
+            for (int i = 0; i < 10_000; i++)
+                list.add(i);
+            list.removeIf(i -> i >= 100);
+
+            assertThat(list).containsExactlyElementsOf(
+                    IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+            assertThat(pool.missCount()).isGreaterThan(0);
+        }
+
+        @Test
+        void removingFromSmallPooledListShouldNotBorrow() {
+            ArrayPool pool = new ArrayPool(1 << 16, 1 << 24);
+            MyList<Integer> list = new MyList<>(pool);
+            for (int i = 0; i < 4; i++)
+                list.add(i);
+            long borrows = pool.hitCount() + pool.missCount();
+
+            for (int i = 0; i < 1000; i++) {
+                list.add(i);
+                list.remove(list.size() - 1);
+            }
+            list.removeAll(Integer.valueOf(3));
+            list.clear();
+
+            assertThat(pool.hitCount() + pool.missCount()).isEqualTo(borrows);
+        }
+
+        @Test
+        void releaseShouldGiveArrayBackAndKeepListUsable() {
+            ArrayPool pool = new ArrayPool(1 << 16, 1 << 24);
+            MyList<String> first = new MyList<>(pool);
+            for (int i = 0; i < 1000; i++)
+                first.add("element-" + i);
+
+            first.release();
+            MyList<String> second = new MyList<>(pool);
+            for (int i = 0; i < 1000; i++)
+                second.add("element-" + i);
+            first.add("again");
+
+            assertThat(first).containsExactly("again");
+            assertThat(second).hasSize(1000);
+            assertThat(pool.hitCount()).isGreaterThan(0);
+        }
+    }
+
+    @Nested
+    class BloomFiltering {
+        private MyList<String> filled(int size) {
+            MyList<String> list = new MyList<>();
+            for (int i = 0; i < size; i++)
+                list.add("element-" + i);
+            return list;
+        }
+
+        @Test
+        void filterShouldAnswerMissesAndKeepHits() {
+            MyList<String> list = filled(10_000);
+            list.enableBloomFilter(10_000, 0.01);
+
+            assertThat(list.contains("element-9999")).isTrue();
+            assertThat(list.indexOf("element-42")).isEqualTo(42);
+            assertThat(list.lastIndexOf("element-42")).isEqualTo(42);
+            assertThat(list.contains("absent")).isFalse();
+            assertThat(list.isBloomFilterEnabled()).isTrue();
+            assertThat(list.bloomFilterFalsePositiveRate()).isLessThan(0.02);
+            assertThat(list.bloomFilterMemoryBytes()).isLessThan(16_000);
+        }
+
+        @Test
+        void disabledFilterShouldReportNoSavings() {
+            MyList<String> list = filled(10);
+            list.enableBloomFilter(10, 0.01);
+            list.disableBloomFilter();
+
+            assertThat(list.isBloomFilterEnabled()).isFalse();
+            assertThat(list.bloomFilterFalsePositiveRate()).isEqualTo(1.0);
+            assertThat(list.bloomFilterMemoryBytes()).isZero();
+        }
+
+        @Test
+        void elementsWrittenAfterEnablingShouldBeFound() {
+            MyList<String> list = filled(10);
+            list.enableBloomFilter(16, 0.01);
+
+            list.add("appended");
+            list.add(0, "inserted");
+            list.set(5, "replaced");
+            list.addAll(3, Collections.singletonList("bulk"));
+            ListIterator<String> iterator = list.listIterator();
+            iterator.next();
+            iterator.add("iterated");
+
+            assertThat(list).contains("appended", "inserted", "replaced", "bulk", "iterated");
+        }
+
+        @Test
+        void outgrownFilterShouldBeRebuiltLarger() {
+            MyList<String> list = filled(10);
+            list.enableBloomFilter(10, 0.01);
+
+            for (int i = 10; i < 10_000; i++)
+                list.add("element-" + i);
+            list.contains("absent");
+
+            assertThat(list.bloomFilterMemoryBytes()).isGreaterThanOrEqualTo(10_000);
+            assertThat(list.bloomFilterFalsePositiveRate()).isLessThan(0.02);
+        }
+
+        @Test
+        void staleFilterShouldBeRebuiltAfterRemovals() {
+            MyList<String> list = filled(1000);
+            list.enableBloomFilter(1000, 0.01);
+
+            list.removeIf(e -> !e.equals("element-7"));
+            list.contains("absent");
+
+            assertThat(list.bloomFilterFalsePositiveRate()).isLessThan(0.001);
+            assertThat(list.indexOf("element-7")).isZero();
+            assertThat(list.contains("element-8")).isFalse();
+        }
+
+        @Test
+        void randomEditsShouldNeverHideElements() {
+            MyList<Integer> list = new MyList<>();
+            List<Integer> expected = new ArrayList<>();
+            list.enableBloomFilter(64, 0.05);
+            Random random = new Random(3);
+
+            for (int i = 0; i < 20_000; i++) {
+                Integer value = random.nextInt(2000);
+                int operation = random.nextInt(4);
+                if (operation == 0 || expected.isEmpty()) {
+                    list.add(value);
+                    expected.add(value);
+                } else if (operation == 1) {
+                    int index = random.nextInt(expected.size());
+                    list.remove(index);
+                    expected.remove(index);
+                } else if (operation == 2) {
+                    int index = random.nextInt(expected.size());
+                    list.set(index, value);
+                    expected.set(index, value);
+                } else {
+                    assertThat(list.indexOf(value)).isEqualTo(expected.indexOf(value));
+                }
+            }
+        }
+
+        @Test
+        void invalidSizingShouldThrow() {
+            MyList<String> list = new MyList<>();
+
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> list.enableBloomFilter(0, 0.01));
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> list.enableBloomFilter(10, 1));
+        }
+    }
+
+    @Nested
+    class Equality {
+        @Test
+        void listsWithSameElementsShouldBeEqual() {
+            MyList<String> list = listOf("a", null, "c");
+
+            assertThat(list.equals(list)).isTrue();
+            assertThat(list.equals(listOf("a", null, "c"))).isTrue();
+            assertThat(list.equals(new ArrayList<>(list))).isTrue();
+            assertThat(list.equals(new LinkedList<>(list))).isTrue();
+            assertThat(new ArrayList<>(list).equals(list)).isTrue();
+            assertThat(new MyList<>().equals(Collections.emptyList())).isTrue();
+        }
+
+        @Test
+        void listsWithDifferentElementsShouldNotBeEqual() {
+            MyList<String> list = listOf("a", "b", "c");
+
+            assertThat(list.equals(listOf("a", "b"))).isFalse();
+            assertThat(list.equals(listOf("a", "b", "c", "d"))).isFalse();
+            assertThat(list.equals(listOf("a", null, "c"))).isFalse();
+            assertThat(listOf("a", null, "c").equals(list)).isFalse();
+            assertThat(list.equals(new LinkedList<>(Arrays.asList("a", "c", "b")))).isFalse();
+            assertThat(list.equals(new HashSet<>(list))).isFalse();
+            assertThat(list.equals(null)).isFalse();
+        }
+
+        @Test
+        void hashCodeShouldFollowListContract() {
+            MyList<String> list = listOf("a", null, "c");
+
+            assertThat(list.hashCode()).isEqualTo(Arrays.asList("a", null, "c").hashCode());
+            assertThat(new MyList<>().hashCode()).isEqualTo(1);
+        }
+
+        @Test
+        void cachedHashCodeShouldFollowModifications() {
+            MyList<Integer> list = IntStream.range(0, 100).boxed().collect(MyList.toMyList(100));
+            List<Integer> expected = new ArrayList<>(list);
+            assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+
+            list.set(3, 42);
+            expected.set(3, 42);
+            assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+
+            ListIterator<Integer> iterator = list.listIterator();
+            iterator.next();
+            iterator.set(-1);
+            expected.set(0, -1);
+            assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+
+            list.add(7);
+            expected.add(7);
+            assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+
+            list.remove(10);
+            expected.remove(10);
+            assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+
+            list.parallelReplaceAll(i -> i * 2);
+            expected.replaceAll(i -> i * 2);
+            assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+
+            list.partialSort(10, Comparator.reverseOrder());
+            assertThat(list.hashCode()).isEqualTo(new ArrayList<>(list).hashCode());
+
+            list.clear();
+            assertThat(list.hashCode()).isEqualTo(1);
+        }
+
+        @Test
+        void cachedHashCodesShouldNotHideEquality() {
+            MyList<String> first = listOf("a", "b");
+            MyList<String> second = listOf("a", "c");
+            first.hashCode();
+            second.hashCode();
+            assertThat(first.equals(second)).isFalse();
+
+            second.set(1, "b");
+            assertThat(first.equals(second)).isTrue();
+            assertThat(second.equals(first)).isTrue();
+        }
+
+        @Test
+        void listsSharingMutatedElementShouldStayEqual() {
+            List<Integer> element = new ArrayList<>(Arrays.asList(1, 2));
+            MyList<List<Integer>> first = new MyList<>();
+            MyList<List<Integer>> second = new MyList<>();
+            first.add(element);
+            second.add(element);
+            first.hashCode();
+            element.add(3);
+            second.hashCode();
+
+            assertThat(first.equals(second)).isTrue();
+        }
+
+        @Test
+        void listsShouldWorkAsMapKeys() {
+            Map<List<String>, Integer> map = new HashMap<>();
+            map.put(listOf("x", "y"), 1);
+
+            assertThat(map.get(listOf("x", "y"))).isEqualTo(1);
+            assertThat(map.get(Arrays.asList("x", "y"))).isEqualTo(1);
+            assertThat(map.get(listOf("y", "x"))).isNull();
+        }
+    }
+
+    @Nested
+    class Aggregating {
+        private final AtomicInteger comparisons = new AtomicInteger();
+        private final Comparator<Integer> counting = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+
+        @Test
+        void minAndMaxShouldMatchCollections() {
+            Random random = new Random(7);
+            MyList<Integer> list = new MyList<>();
+            for (int i = 0; i < 1000; i++)
+                list.add(random.nextInt());
+
+            assertThat(list.min(null)).isEqualTo(Collections.min(list));
+            assertThat(list.max(null)).isEqualTo(Collections.max(list));
+            assertThat(list.min(Comparator.reverseOrder())).isEqualTo(Collections.max(list));
+            assertThat(list.max(Comparator.reverseOrder())).isEqualTo(Collections.min(list));
+        }
+
+        @Test
+        void minAndMaxOfEmptyListShouldThrow() {
+            MyList<Integer> list = listOf(1);
+            assertThat(list.min(null)).isEqualTo(1);
+            list.clear();
+
+            assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> list.min(null));
+            assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> list.max(null));
+        }
+
+        @Test
+        void repeatedQueriesShouldNotScanAgain() {
+            MyList<Integer> list = listOf(5, 3, 9, 1);
+            assertThat(list.min(counting)).isEqualTo(1);
+            assertThat(list.isSorted(counting)).isFalse();
+            comparisons.set(0);
+
+            assertThat(list.min(counting)).isEqualTo(1);
+            assertThat(list.isSorted(counting)).isFalse();
+            assertThat(comparisons).hasValue(0);
+        }
+
+        @Test
+        void minAndMaxShouldFoldInsertedElements() {
+            MyList<Integer> list = listOf(5, 3, 9);
+            assertThat(list.max(counting)).isEqualTo(9);
+            comparisons.set(0);
+
+            list.add(12);
+            assertThat(list.max(counting)).isEqualTo(12);
+            list.add(1, 20);
+            assertThat(list.max(counting)).isEqualTo(20);
+            list.addAll(Arrays.asList(30, 4));
+            assertThat(list.max(counting)).isEqualTo(30);
+            assertThat(comparisons).hasValue(4);
+        }
+
+        @Test
+        void minAndMaxShouldFollowOtherModifications() {
+            MyList<Integer> list = listOf(5, 3, 9);
+            assertThat(list.min(null)).isEqualTo(3);
+            assertThat(list.max(null)).isEqualTo(9);
+
+            list.remove(Integer.valueOf(3));
+            assertThat(list.min(null)).isEqualTo(5);
+            list.set(1, 2);
+            assertThat(list.min(null)).isEqualTo(2);
+            assertThat(list.max(null)).isEqualTo(5);
+            list.parallelReplaceAll(i -> -i);
+            assertThat(list.min(null)).isEqualTo(-5);
+        }
+
+        @Test
+        void sortednessShouldBeTrackedOnAdd() {
+            MyList<Integer> list = new MyList<>();
+            assertThat(list.isSorted(counting)).isTrue();
+            for (int i = 0; i < 100; i++)
+                list.add(i * 2);
+            list.add(50, 99);
+            list.addAll(Arrays.asList(200, 201));
+            assertThat(list.isSorted(counting)).isTrue();
+            assertThat(comparisons.get()).isLessThan(110);
+
+            list.add(10, 1000);
+            assertThat(list.isSorted(counting)).isFalse();
+            comparisons.set(0);
+            list.add(0);
+            assertThat(list.isSorted(counting)).isFalse();
+            assertThat(comparisons).hasValue(0);
+
+            list.remove(10);
+            assertThat(list.isSorted(counting)).isFalse();
+            list.remove(list.size() - 1);
+            assertThat(list.isSorted(counting)).isTrue();
+        }
+
+        @Test
+        void distinctCountShouldCountEqualElementsOnce() {
+            MyList<Integer> list = listOf(1, 2, 2, null, 3, null);
+            assertThat(list.distinctCount()).isEqualTo(4);
+
+            list.set(0, 3);
+            assertThat(list.distinctCount()).isEqualTo(3);
+            list.add(7);
+            assertThat(list.distinctCount()).isEqualTo(4);
+        }
+
+        @Test
+        void memoizedAggregateShouldBeComputedOncePerVersion() {
+            MyList<Integer> list = listOf(1, 2, 3);
+            AtomicInteger calls = new AtomicInteger();
+            Supplier<Integer> sum = list.memoize(l -> {
+                calls.incrementAndGet();
+                return l.stream().mapToInt(Integer::intValue).sum();
+            });
+
+            assertThat(sum.get()).isEqualTo(6);
+            assertThat(sum.get()).isEqualTo(6);
+            assertThat(calls).hasValue(1);
+
+            list.set(0, 10);
+            assertThat(sum.get()).isEqualTo(15);
+            list.add(5);
+            assertThat(sum.get()).isEqualTo(20);
+            assertThat(calls).hasValue(3);
+        }
+
+        @Test
+        void memoizedAggregateShouldAccumulateAppends() {
+            MyList<Integer> list = listOf(1, 2, 3);
+            AtomicInteger calls = new AtomicInteger();
+            Supplier<Integer> sum = list.memoize(l -> {
+                calls.incrementAndGet();
+                return l.stream().mapToInt(Integer::intValue).sum();
+            }, (total, e) -> total + e);
+            assertThat(sum.get()).isEqualTo(6);
+
+            list.add(4);
+            list.addAll(Arrays.asList(5, 6));
+            assertThat(sum.get()).isEqualTo(21);
+            assertThat(calls).hasValue(1);
+
+            list.add(0, 100);
+            assertThat(sum.get()).isEqualTo(121);
+            assertThat(calls).hasValue(2);
+        }
+
+        @Test
+        void memoizedAggregateShouldRecomputeAfterRemovalBetweenAppends() {
+            MyList<Integer> list = listOf(1, 2, 3);
+            AtomicInteger calls = new AtomicInteger();
+            Supplier<Integer> sum = list.memoize(l -> {
+                calls.incrementAndGet();
+                return l.stream().mapToInt(Integer::intValue).sum();
+            }, (total, e) -> total + e);
+            assertThat(sum.get()).isEqualTo(6);
+
+            list.add(4);
+            list.remove(0);
+            list.add(5);
+            assertThat(sum.get()).isEqualTo(14);
+            list.set(0, 20);
+            list.add(6);
+            assertThat(sum.get()).isEqualTo(38);
+            assertThat(calls).hasValue(3);
+        }
+
+        @Test
+        void repeatedMemoizeShouldNotGrowRegistry() {
+            MyList<Integer> list = listOf(1, 2, 3);
+            assertThat(list.min(null)).isEqualTo(1);
+            int registered = list.registeredAggregates();
+
+            for (int i = 0; i < 1_000; i++) {
+                int offset = i;
+                assertThat(list.memoize(l -> l.size() + offset).get()).isEqualTo(3 + i);
+                list.min((a, b) -> Integer.compare(a, b));
+            }
+            assertThat(list.registeredAggregates()).isEqualTo(registered);
+        }
+
+        @Test
+        void clearedAggregatesShouldStillBeCorrect() {
+            MyList<Integer> list = listOf(4, 2);
+            Supplier<Integer> size = list.memoize(List::size);
+            assertThat(list.min(null)).isEqualTo(2);
+
+            list.clearAggregates();
+            list.add(1);
+            assertThat(size.get()).isEqualTo(3);
+            assertThat(list.min(null)).isEqualTo(1);
+        }
+
+        @Test
+        void memoizeShouldRejectNull() {
+            assertThatExceptionOfType(NullPointerException.class).isThrownBy(() -> new MyList<>().memoize(null));
+        }
+    }
+
+    @Nested
+    class ParallelTransforms {
+        private static final int SIZE = 100_000;
+
+        private MyList<Integer> filled(int size) {
+            return IntStream.range(0, size).boxed().collect(MyList.toMyList(size));
+        }
+
+        @Test
+        void mapToShouldMapEveryElementInOrder() {
+            MyList<String> mapped = filled(SIZE).mapTo(String::valueOf);
+
+            assertThat(mapped).hasSize(SIZE).startsWith("0", "1").endsWith("99999");
+        }
+
+        @Test
+        void mapToOnEmptyListShouldReturnEmptyList() {
+            assertThat(new MyList<Integer>().mapTo(String::valueOf)).isEmpty();
+        }
+
+        @Test
+        void filterToShouldKeepMatchesInOrder() {
+            MyList<Integer> filtered = filled(SIZE).filterTo(i -> i % 3 == 0);
+
+            assertThat(filtered).containsExactlyElementsOf(
+                    IntStream.range(0, SIZE).filter(i -> i % 3 == 0).boxed().collect(Collectors.toList()));
+        }
+
+        @Test
+        void filterToShouldHandleSparseAndEmptyResults() {
+            MyList<Integer> list = filled(SIZE);
+
+            assertThat(list.filterTo(i -> i == SIZE - 1)).containsExactly(SIZE - 1);
+            assertThat(list.filterTo(i -> false)).isEmpty();
+            assertThat(list).hasSize(SIZE);
+        }
+
+        @Test
+        void parallelReplaceAllShouldReplaceInPlace() {
+            MyList<Integer> list = filled(SIZE);
+
+            list.parallelReplaceAll(i -> -i);
+
+            assertThat(list).hasSize(SIZE).startsWith(0, -1).endsWith(-(SIZE - 1));
+        }
+
+        @Test
+        void parallelRemoveIfShouldKeepSurvivorsInOrder() {
+            MyList<Integer> list = filled(SIZE);
+
+            assertThat(list.parallelRemoveIf(i -> i % 3 != 0)).isTrue();
+
+            assertThat(list).containsExactlyElementsOf(
+                    IntStream.range(0, SIZE).filter(i -> i % 3 == 0).boxed().collect(Collectors.toList()));
+        }
+
+        @Test
+        void parallelRemoveIfWithShrinkShouldKeepSurvivorsInOrder() {
+            MyList<Integer> list = filled(SIZE);
+
+            assertThat(list.parallelRemoveIf(i -> i < SIZE / 2 || i % 2 == 0, true)).isTrue();
+
+            assertThat(list).containsExactlyElementsOf(
+                    IntStream.range(SIZE / 2, SIZE).filter(i -> i % 2 != 0).boxed().collect(Collectors.toList()));
+        }
+
+        @Test
+        void parallelRemoveIfWithoutMatchesShouldNotModify() {
+            MyList<Integer> list = filled(SIZE);
+            Iterator<Integer> iterator = list.iterator();
+
+            assertThat(list.parallelRemoveIf(i -> i < 0)).isFalse();
+
+            assertThat(iterator.next()).isZero();
+            assertThat(list).hasSize(SIZE);
+        }
+
+        @Test
+        void parallelRemoveIfShouldLeaveListUnchangedWhenPredicateThrows() {
+            MyList<Integer> list = filled(SIZE);
+
+            assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> list.parallelRemoveIf(i -> {
+                if (i == SIZE - 1)
+                    throw new IllegalStateException();
+                return i % 2 == 0;
+            }));
+
+            assertThat(list).hasSize(SIZE).startsWith(0, 1).endsWith(SIZE - 1);
+        }
+
+        @Test
+        void parallelRemoveIfShouldInvalidateIterators() {
+            MyList<Integer> list = filled(SIZE);
+            Iterator<Integer> iterator = list.iterator();
+
+            list.parallelRemoveIf(i -> i == 0);
+
+            assertThatExceptionOfType(ConcurrentModificationException.class).isThrownBy(iterator::next);
+        }
+    }
+}
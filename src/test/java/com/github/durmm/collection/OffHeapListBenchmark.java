@@ -0,0 +1,64 @@
+package com.github.durmm.collection;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Compares the cost of full garbage collections while a large list of strings
+ * is alive, once as a {@link MyList} and once as an {@link OffHeapList}.
+ * <p>
+ * Not part of the test suite; run {@link #main(String[])} with a heap large
+ * enough for the on-heap variant, e.g. {@code -Xmx2g}. The optional argument
+ * is the element count.
+ */
+public final class OffHeapListBenchmark {
+    private static final int COLLECTIONS = 5;
+
+    private OffHeapListBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        MyList<String> onHeap = new MyList<>();
+        fill(onHeap, count);
+        report("MyList", count, fullGcMillis());
+        onHeap = null;
+        fullGcMillis();
+
+        try (OffHeapList<String> offHeap = new OffHeapList<>(ElementCodecs.strings())) {
+            fill(offHeap, count);
+            report("OffHeapList", count, fullGcMillis());
+            System.out.printf("OffHeapList reserves %,d off-heap bytes (%,d live)%n",
+                    offHeap.offHeapBytes(), offHeap.usedBytes());
+        }
+    }
+
+    private static void fill(List<String> list, int count) {
+        for (int i = 0; i < count; i++)
+            list.add("event-" + i);
+    }
+
+    /**
+     * Average wall time of an explicit full collection, as reported by the
+     * collector beans.
+     */
+    private static double fullGcMillis() {
+        long before = totalCollectionMillis();
+        for (int i = 0; i < COLLECTIONS; i++)
+            System.gc();
+        return (totalCollectionMillis() - before) / (double) COLLECTIONS;
+    }
+
+    private static long totalCollectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+            total += Math.max(0, bean.getCollectionTime());
+        return total;
+    }
+
+    private static void report(String name, int count, double millis) {
+        System.out.printf("%-12s %,d elements: full GC %.1f ms%n", name, count, millis);
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class OffHeapListTest {
+
+    private static List<String> strings(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "element-" + i).collect(Collectors.toList());
+    }
+
+    @Nested
+    class ListOperations {
+        @Test
+        void addShouldStoreVariableLengthElementsAcrossSegments() {
+            try (OffHeapList<String> list = new OffHeapList<>(ElementCodecs.strings(), 64)) {
+                List<String> expected = strings(100);
+
+                list.addAll(expected);
+
+                assertThat(list).containsExactlyElementsOf(expected);
+            }
+        }
+
+        @Test
+        void nullsShouldBeSupportedByVariableWidthCodecs() {
+            try (OffHeapList<String> list = new OffHeapList<>(ElementCodecs.strings())) {
+                list.add("a");
+                list.add(null);
+
+                assertThat(list).containsExactly("a", null);
+                assertThat(list.indexOf(null)).isEqualTo(1);
+            }
+        }
+
+        @Test
+        void elementLargerThanSegmentShouldGetItsOwnSegment() {
+            try (OffHeapList<String> list = new OffHeapList<>(ElementCodecs.strings(), 8)) {
+                char[] chars = new char[100];
+                Arrays.fill(chars, 'x');
+                String large = new String(chars);
+
+                list.add("a");
+                list.add(large);
+                list.add("b");
+
+                assertThat(list).containsExactly("a", large, "b");
+            }
+        }
+
+        @Test
+        void addAtIndexSetAndRemoveShouldKeepOrder() {
+            try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodecs.integers())) {
+                list.add(1);
+                list.add(3);
+
+                list.add(1, 2);
+                assertThat(list.set(0, 0)).isEqualTo(1);
+                assertThat(list.remove(2)).isEqualTo(3);
+
+                assertThat(list).containsExactly(0, 2);
+            }
+        }
+
+        @Test
+        void getShouldThrowWhenIndexOutOfRange() {
+            try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodecs.integers())) {
+                assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                        .isThrownBy(() -> list.get(0));
+            }
+        }
+    }
+
+    @Nested
+    class Memory {
+        @Test
+        void usedBytesShouldTrackLiveElements() {
+            try (OffHeapList<Long> list = new OffHeapList<>(ElementCodecs.longs(), 64)) {
+                IntStream.range(0, 10).forEach(i -> list.add((long) i));
+                list.remove(0);
+
+                assertThat(list.usedBytes()).isEqualTo(9 * Long.BYTES);
+                assertThat(list.offHeapBytes()).isGreaterThanOrEqualTo(list.usedBytes());
+            }
+        }
+
+        @Test
+        void repeatedSetShouldCompactGarbage() {
+            try (OffHeapList<Long> list = new OffHeapList<>(ElementCodecs.longs(), 64)) {
+                IntStream.range(0, 8).forEach(i -> list.add((long) i));
+
+                for (long round = 0; round < 1000; round++)
+                    list.set((int) (round % 8), round);
+
+                assertThat(list.offHeapBytes()).isLessThanOrEqualTo(4 * 64);
+                assertThat(list).containsExactly(992L, 993L, 994L, 995L, 996L, 997L, 998L, 999L);
+            }
+        }
+
+        @Test
+        void closeShouldFreeMemoryAndRejectAccess() {
+            OffHeapList<String> list = new OffHeapList<>(ElementCodecs.strings());
+            list.add("a");
+
+            list.close();
+
+            assertThat(list.offHeapBytes()).isZero();
+            assertThatIllegalStateException().isThrownBy(() -> list.add("b"));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PackedStringListTest {
+    private static final List<String> SAMPLES = Arrays.asList(
+            "", "ascii", "caf\u00e9", "\u65e5\u672c\u8a9e", "emoji \ud83d\ude00", "x");
+
+    @Test
+    void nullElementShouldThrow() {
+        PackedStringList list = new PackedStringList();
+
+        assertThatExceptionOfType(NullPointerException.class).isThrownBy(() -> list.add(null));
+    }
+
+    @Nested
+    class Storage {
+        @Test
+        void elementsShouldRoundTripThroughUtf8() {
+            PackedStringList list = new PackedStringList(SAMPLES);
+
+            assertThat(list).containsExactlyElementsOf(SAMPLES);
+            assertThat(list.byteLength(2)).isEqualTo(5);
+            assertThat(list.byteLength(4)).isEqualTo(10);
+            assertThat(list.totalBytes()).isEqualTo(
+                    SAMPLES.stream().mapToInt(s -> s.getBytes(StandardCharsets.UTF_8).length).sum());
+        }
+
+        @Test
+        void loneSurrogateShouldBecomeQuestionMark() {
+            PackedStringList list = new PackedStringList();
+            String broken = "a\ud800b";
+
+            list.add(broken);
+
+            assertThat(list.get(0)).isEqualTo(new String(broken.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void randomEditsShouldMatchArrayList() {
+            ListContractTest.assertRandomEditsMatchArrayList(new PackedStringList(), 9, 5_000,
+                    (random, step) -> SAMPLES.get(random.nextInt(SAMPLES.size())) + step);
+        }
+    }
+
+    @Nested
+    class ByteLevelOperations {
+        @Test
+        void equalsAtAndStartsWithShouldCompareBytes() {
+            PackedStringList list = new PackedStringList(SAMPLES);
+
+            assertThat(list.equalsAt(2, "caf\u00e9")).isTrue();
+            assertThat(list.equalsAt(2, "cafe")).isFalse();
+            assertThat(list.equalsAt(0, "")).isTrue();
+            assertThat(list.startsWith(4, "emoji \ud83d")).isFalse();
+            assertThat(list.startsWith(4, "emoji ")).isTrue();
+            assertThat(list.startsWith(1, new StringBuilder("asc"))).isTrue();
+            assertThat(list.startsWith(5, "xy")).isFalse();
+        }
+
+        @Test
+        void indexOfShouldFindEqualStrings() {
+            PackedStringList list = new PackedStringList(SAMPLES);
+            list.add("ascii");
+
+            assertThat(list.indexOf("ascii")).isEqualTo(1);
+            assertThat(list.lastIndexOf("ascii")).isEqualTo(6);
+            assertThat(list.indexOf("\u65e5\u672c\u8a9e")).isEqualTo(3);
+            assertThat(list.contains("asci")).isFalse();
+            assertThat(list.contains(new StringBuilder("ascii"))).isFalse();
+            assertThat(list.contains(null)).isFalse();
+        }
+    }
+
+    @Nested
+    class Export {
+        @Test
+        void writeToShouldExportRawBytes() throws IOException {
+            PackedStringList list = new PackedStringList(SAMPLES);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            long written = list.writeTo(Channels.newChannel(out), 1, 3);
+
+            assertThat(written).isEqualTo(list.byteOffset(3) - list.byteOffset(1));
+            assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("asciicaf\u00e9");
+        }
+
+        @Test
+        void invalidRangeShouldThrow() {
+            PackedStringList list = new PackedStringList(SAMPLES);
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                    .isThrownBy(() -> list.writeTo(Channels.newChannel(new ByteArrayOutputStream()), 3, 2));
+        }
+    }
+}
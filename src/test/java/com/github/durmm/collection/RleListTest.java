@@ -0,0 +1,118 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RleListTest extends ListContractTest {
+    @Override
+    <T> List<T> create() {
+        return new RleList<>();
+    }
+
+    @Override
+    Integer randomValue(Random random, int step) {
+        return random.nextInt(3);
+    }
+
+    private static RleList<String> timeline() {
+        RleList<String> list = new RleList<>();
+        list.addRun("idle", 1000);
+        list.addRun("busy", 500);
+        list.addRun("idle", 1000);
+        return list;
+    }
+
+    @Nested
+    class Runs {
+        @Test
+        void longRunsShouldTakeOneEntryEach() {
+            RleList<String> list = timeline();
+
+            assertThat(list).hasSize(2500);
+            assertThat(list.runCount()).isEqualTo(3);
+            assertThat(list.get(999)).isEqualTo("idle");
+            assertThat(list.get(1000)).isEqualTo("busy");
+            assertThat(list.get(1500)).isEqualTo("idle");
+            assertThat(list.indexOf("busy")).isEqualTo(1000);
+            assertThat(list.lastIndexOf("busy")).isEqualTo(1499);
+        }
+
+        @Test
+        void setInsideRunShouldSplitIt() {
+            RleList<String> list = timeline();
+
+            list.set(200, "busy");
+
+            assertThat(list.runCount()).isEqualTo(5);
+            assertThat(list.get(199)).isEqualTo("idle");
+            assertThat(list.get(200)).isEqualTo("busy");
+            assertThat(list.get(201)).isEqualTo("idle");
+            assertThat(list).hasSize(2500);
+        }
+
+        @Test
+        void setBackShouldMergeRuns() {
+            RleList<String> list = timeline();
+
+            list.set(200, "busy");
+            list.set(200, "idle");
+
+            assertThat(list.runCount()).isEqualTo(3);
+        }
+
+        @Test
+        void insertAtRunBoundaryShouldExtendEqualNeighbour() {
+            RleList<String> list = timeline();
+
+            list.add(1000, "idle");
+            list.add(1001, "busy");
+
+            assertThat(list.runCount()).isEqualTo(3);
+            assertThat(list).hasSize(2502);
+            assertThat(list.indexOf("busy")).isEqualTo(1001);
+        }
+
+        @Test
+        void removingWholeRunShouldMergeNeighbours() {
+            RleList<String> list = new RleList<>(Arrays.asList("a", "b", "a"));
+
+            assertThat(list.remove(1)).isEqualTo("b");
+
+            assertThat(list.runCount()).isEqualTo(1);
+            assertThat(list).containsExactly("a", "a");
+        }
+
+        @Test
+        void removeAllShouldDropWholeRuns() {
+            RleList<String> list = timeline();
+
+            assertThat(list.removeAll("busy")).isTrue();
+            assertThat(list.removeAll("busy")).isFalse();
+
+            assertThat(list).hasSize(2000).containsOnly("idle");
+            assertThat(list.runCount()).isEqualTo(1);
+        }
+
+        @Test
+        void forEachRunShouldReportLengths() {
+            List<String> runs = new ArrayList<>();
+
+            timeline().forEachRun((value, length) -> runs.add(value + "x" + length));
+
+            assertThat(runs).containsExactly("idlex1000", "busyx500", "idlex1000");
+        }
+
+        @Test
+        void negativeRunLengthShouldThrow() {
+            assertThatIllegalArgumentException().isThrownBy(() -> new RleList<>().addRun("a", -1));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class SparseListTest extends ListContractTest {
+    @Override
+    <T> List<T> create() {
+        return new SparseList<>();
+    }
+
+    @Override
+    Integer randomValue(Random random, int step) {
+        return random.nextInt(3) == 0 ? Integer.valueOf(step) : null;
+    }
+
+    @Nested
+    class SparseStorage {
+        private static final int SIZE = 10_000_000;
+
+        @Test
+        void hugeMostlyNullListShouldStaySparse() {
+            SparseList<String> list = new SparseList<>(SIZE);
+
+            for (int i = 0; i < SIZE; i += 1000)
+                list.set(i, "element-" + i);
+
+            assertThat(list.isDense()).isFalse();
+            assertThat(list.nonNullCount()).isEqualTo(SIZE / 1000);
+            assertThat(list.get(5_000_000)).isEqualTo("element-5000000");
+            assertThat(list.get(5_000_001)).isNull();
+            assertThat(list.indexOf("element-9999000")).isEqualTo(9_999_000);
+            assertThat(list.indexOf(null)).isEqualTo(1);
+        }
+
+        @Test
+        void insertAndRemoveShouldShiftLogicalIndices() {
+            SparseList<String> list = new SparseList<>(SIZE);
+            list.set(100, "a");
+            list.set(SIZE - 1, "b");
+
+            list.add(0, null);
+            list.add(50, "c");
+            list.remove(SIZE - 10);
+
+            assertThat(list).hasSize(SIZE + 1);
+            assertThat(list.get(50)).isEqualTo("c");
+            assertThat(list.get(102)).isEqualTo("a");
+            assertThat(list.get(SIZE)).isEqualTo("b");
+            assertThat(list.nonNullCount()).isEqualTo(3);
+        }
+
+        @Test
+        void forEachNonNullShouldVisitOnlyElements() {
+            SparseList<String> list = new SparseList<>(SIZE);
+            list.set(7, "a");
+            list.set(70, "b");
+            List<Integer> indexes = new ArrayList<>();
+
+            list.forEachNonNull((e, i) -> indexes.add(i));
+
+            assertThat(indexes).containsExactly(7, 70);
+        }
+
+        @Test
+        void settingNullShouldDropEntry() {
+            SparseList<String> list = new SparseList<>(10);
+            list.set(3, "a");
+
+            assertThat(list.set(3, null)).isEqualTo("a");
+
+            assertThat(list.nonNullCount()).isZero();
+            assertThat(list).containsOnlyNulls();
+        }
+
+        @Test
+        void invalidArgumentsShouldThrow() {
+            assertThatIllegalArgumentException().isThrownBy(() -> new SparseList<>(-1));
+            assertThatIllegalArgumentException().isThrownBy(() -> new SparseList<>(10, 0));
+        }
+    }
+
+    @Nested
+    class DensitySwitching {
+        @Test
+        void crossingThresholdShouldSwitchToDenseAndBack() {
+            SparseList<Integer> list = new SparseList<>(1000);
+
+            for (int i = 0; i < 300; i++)
+                list.set(i, i);
+            assertThat(list.isDense()).isTrue();
+
+            for (int i = 0; i < 290; i++)
+                list.set(i, null);
+            assertThat(list.isDense()).isFalse();
+            assertThat(list.get(295)).isEqualTo(295);
+            assertThat(list.nonNullCount()).isEqualTo(10);
+        }
+
+        @Test
+        void randomEditsShouldMatchArrayListAcrossSwitches() {
+            SparseList<Integer> list = new SparseList<>(0, 0.5);
+
+            List<Integer> expected = assertRandomEditsMatchArrayList(list, 11, 20_000, SparseListTest.this::randomValue);
+
+            assertThat(list.nonNullCount()).isEqualTo(expected.size() - Collections.frequency(expected, null));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.durmm.collection;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Compares {@link MyList} and {@link UnrolledLinkedList} on edits made
+ * through an iterator: filtering out every other element, inserting after
+ * every element, and a plain sequential scan for reference.
+ * <p>
+ * Not part of the test suite; run {@link #main(String[])}. The optional
+ * argument is the element count.
+ */
+public final class UnrolledLinkedListBenchmark {
+    private static final int ROUNDS = 5;
+
+    private UnrolledLinkedListBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        for (int warmUp = 0; warmUp < 2; warmUp++) {
+            run("MyList", MyList::new, count, warmUp == 1);
+            run("UnrolledLinkedList", UnrolledLinkedList::new, count, warmUp == 1);
+        }
+    }
+
+    private static void run(String name, Supplier<List<Integer>> factory, int count, boolean print) {
+        double remove = time(factory, count, list -> {
+            Iterator<Integer> it = list.iterator();
+            while (it.hasNext())
+                if ((it.next() & 1) == 0)
+                    it.remove();
+        });
+        double insert = time(factory, count, list -> {
+            ListIterator<Integer> it = list.listIterator();
+            while (it.hasNext())
+                it.add(-it.next());
+        });
+        double scan = time(factory, count, list -> {
+            long sum = 0;
+            for (Integer value : list)
+                sum += value;
+            if (sum == 42)
+                System.out.println();
+        });
+        if (print)
+            System.out.printf("%-20s %,d elements: remove every other %.1f ms, insert after each %.1f ms,"
+                    + " scan %.2f ms%n", name, count, remove, insert, scan);
+    }
+
+    /**
+     * Best wall time of {@link #ROUNDS} runs of {@code edit} on a freshly
+     * filled list.
+     */
+    private static double time(Supplier<List<Integer>> factory, int count, Consumer<List<Integer>> edit) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Integer> list = factory.get();
+            for (int i = 0; i < count; i++)
+                list.add(i);
+            long start = System.nanoTime();
+            edit.accept(list);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.durmm.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static com.github.durmm.collection.ComplexityAssertions.Complexity.LINEAR;
+import static com.github.durmm.collection.ComplexityAssertions.assertScalesAtMost;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cursor behaviour of {@link UnrolledLinkedList}; the list contract runs in
+ * {@link CustomListTest}.
+ */
+class UnrolledLinkedListTest {
+
+    private static UnrolledLinkedList<Integer> filled(int nodeCapacity, int size) {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(nodeCapacity);
+        for (int i = 0; i < size; i++)
+            list.add(i);
+        return list;
+    }
+
+    @Test
+    void tooSmallNodeCapacityShouldThrow() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new UnrolledLinkedList<>(3));
+    }
+
+    @Nested
+    class CursorEdits {
+        @Test
+        void randomCursorEditsShouldMatchArrayList() {
+            UnrolledLinkedList<Integer> list = filled(4, 100);
+            List<Integer> expected = new ArrayList<>(list);
+            Random random = new Random(3);
+
+            for (int round = 0; round < 200; round++) {
+                int start = random.nextInt(expected.size() + 1);
+                ListIterator<Integer> actualCursor = list.listIterator(start);
+                ListIterator<Integer> expectedCursor = expected.listIterator(start);
+                for (int step = 0; step < 20; step++) {
+                    int operation = random.nextInt(6);
+                    if (operation == 0 && expectedCursor.hasNext()) {
+                        assertThat(actualCursor.next()).isEqualTo(expectedCursor.next());
+                    } else if (operation == 1 && expectedCursor.hasPrevious()) {
+                        assertThat(actualCursor.previous()).isEqualTo(expectedCursor.previous());
+                    } else if (operation == 2 || operation == 3) {
+                        actualCursor.add(round * 100 + step);
+                        expectedCursor.add(round * 100 + step);
+                    } else if (operation == 4 && expectedCursor.hasNext()) {
+                        actualCursor.next();
+                        expectedCursor.next();
+                        actualCursor.remove();
+                        expectedCursor.remove();
+                    } else if (operation == 5 && expectedCursor.hasPrevious()) {
+                        actualCursor.previous();
+                        expectedCursor.previous();
+                        actualCursor.set(-step);
+                        expectedCursor.set(-step);
+                    }
+                    assertThat(actualCursor.nextIndex()).isEqualTo(expectedCursor.nextIndex());
+                }
+                assertThat(list).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        void removingEverythingThroughCursorShouldEmptyList() {
+            UnrolledLinkedList<Integer> list = filled(4, 50);
+
+            ListIterator<Integer> cursor = list.listIterator();
+            while (cursor.hasNext()) {
+                cursor.next();
+                cursor.remove();
+            }
+            cursor.add(7);
+
+            assertThat(list).containsExactly(7);
+        }
+
+        @Test
+        void positionalEditsShouldMatchArrayList() {
+            UnrolledLinkedList<Integer> list = filled(8, 1000);
+            List<Integer> expected = new ArrayList<>(list);
+            Random random = new Random(5);
+
+            for (int i = 0; i < 2000; i++) {
+                int index = random.nextInt(expected.size());
+                if (random.nextBoolean()) {
+                    list.add(index, i);
+                    expected.add(index, i);
+                } else {
+                    assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+                }
+            }
+
+            assertThat(list).isEqualTo(expected);
+            assertThat(list.get(expected.size() - 1)).isEqualTo(expected.get(expected.size() - 1));
+        }
+    }
+
+    @Nested
+    @Tag("scaling")
+    class Scaling {
+        @Test
+        void insertingAfterEveryElementThroughCursorShouldBeLinear() {
+            assertScalesAtMost(LINEAR, n -> {
+                UnrolledLinkedList<Integer> list = filled(UnrolledLinkedList.DEFAULT_NODE_CAPACITY, n);
+                return () -> {
+                    ListIterator<Integer> cursor = list.listIterator();
+                    while (cursor.hasNext())
+                        cursor.add(-cursor.next());
+                };
+            });
+        }
+    }
+}